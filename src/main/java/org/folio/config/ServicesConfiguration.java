@@ -8,6 +8,8 @@ import org.folio.services.budget.BudgetService;
 import org.folio.services.budget.RecalculateBudgetService;
 import org.folio.services.budget.CreateBudgetService;
 import org.folio.services.configuration.CommonSettingsService;
+import org.folio.services.financedata.FinanceDataExportService;
+import org.folio.services.financedata.FinanceDataPreviewCache;
 import org.folio.services.financedata.FinanceDataService;
 import org.folio.services.financedata.FinanceDataValidator;
 import org.folio.services.fiscalyear.FiscalYearApiService;
@@ -17,6 +19,7 @@ import org.folio.services.fund.FundDetailsService;
 import org.folio.services.fund.FundFiscalYearService;
 import org.folio.services.fund.FundService;
 import org.folio.services.fund.FundUpdateLogService;
+import org.folio.services.fund.FundUpdateLogWriter;
 import org.folio.services.group.GroupExpenseClassTotalsService;
 import org.folio.services.group.GroupFiscalYearTotalsService;
 import org.folio.services.group.GroupFundFiscalYearService;
@@ -25,7 +28,9 @@ import org.folio.services.ledger.LedgerDetailsService;
 import org.folio.services.ledger.LedgerRolloverBudgetsService;
 import org.folio.services.ledger.LedgerRolloverErrorsService;
 import org.folio.services.ledger.LedgerRolloverLogsService;
+import org.folio.services.ledger.LedgerRolloverPreviewService;
 import org.folio.services.ledger.LedgerRolloverProgressService;
+import org.folio.services.ledger.LedgerRolloverProgressStreamService;
 import org.folio.services.ledger.LedgerRolloverService;
 import org.folio.services.ledger.LedgerService;
 import org.folio.services.ledger.LedgerTotalsService;
@@ -33,8 +38,10 @@ import org.folio.services.protection.AcqUnitMembershipsService;
 import org.folio.services.protection.AcqUnitsService;
 import org.folio.services.protection.ProtectionService;
 import org.folio.services.transactions.TransactionApiService;
+import org.folio.services.transactions.TransactionQueryCache;
 import org.folio.services.transactions.TransactionService;
 import org.folio.services.transactions.TransactionTotalService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 
 import java.net.http.HttpClient;
@@ -57,13 +64,23 @@ public class ServicesConfiguration {
   }
 
   @Bean
-  TransactionApiService transactionApiService(TransactionService transactionService, FundService fundService) {
-    return new TransactionApiService(transactionService, fundService);
+  TransactionApiService transactionApiService(TransactionService transactionService, FundService fundService,
+                                              @Value("${finance.encumbrances.status-update.batch-size:100}") int encumbrancesBatchSize,
+                                              @Value("${finance.encumbrances.status-update.max-concurrent-batches:5}") int maxConcurrentBatches) {
+    return new TransactionApiService(transactionService, fundService, encumbrancesBatchSize, maxConcurrentBatches);
   }
 
   @Bean
-  TransactionService transactionService(RestClient restClient, FiscalYearService fiscalYearService) {
-    return new TransactionService(restClient, fiscalYearService);
+  TransactionService transactionService(RestClient restClient, FiscalYearService fiscalYearService,
+                                        TransactionQueryCache transactionQueryCache) {
+    return new TransactionService(restClient, fiscalYearService, transactionQueryCache);
+  }
+
+  @Bean
+  TransactionQueryCache transactionQueryCache(@Value("${finance.cache.transactions.enabled:false}") boolean enabled,
+                                              @Value("${finance.cache.transactions.expiration.time.seconds:30}") long cacheExpirationTime,
+                                              @Value("${finance.cache.transactions.max-transactions:100000}") long maxCachedTransactions) {
+    return new TransactionQueryCache(enabled, cacheExpirationTime, maxCachedTransactions);
   }
 
   @Bean
@@ -128,11 +145,30 @@ public class ServicesConfiguration {
     return new LedgerRolloverProgressService(restClient);
   }
 
+  @Bean
+  LedgerRolloverProgressStreamService ledgerRolloverProgressStreamService(LedgerRolloverProgressService ledgerRolloverProgressService,
+                                                                          @Value("${finance.ledger-rollovers-progress.stream.poll-interval.millis:3000}") long pollIntervalMillis) {
+    return new LedgerRolloverProgressStreamService(ledgerRolloverProgressService, pollIntervalMillis);
+  }
+
   @Bean
   LedgerRolloverLogsService ledgerRolloverLogsService(RestClient restClient) {
     return new LedgerRolloverLogsService(restClient);
   }
 
+  @Bean
+  LedgerRolloverPreviewService ledgerRolloverPreviewService(LedgerRolloverService ledgerRolloverService,
+                                                            LedgerRolloverProgressService ledgerRolloverProgressService,
+                                                            LedgerRolloverBudgetsService ledgerRolloverBudgetsService,
+                                                            LedgerRolloverErrorsService ledgerRolloverErrorsService,
+                                                            @Value("${finance.cache.rollover-preview.enabled:true}") boolean enabled,
+                                                            @Value("${finance.cache.rollover-preview.expiration.time.seconds:1800}") long cacheExpirationTime,
+                                                            @Value("${finance.cache.rollover-preview.max-records:100000}") long maxCachedRecords,
+                                                            @Value("${finance.ledger-rollovers-progress.stream.poll-interval.millis:3000}") long runningCheckIntervalMillis) {
+    return new LedgerRolloverPreviewService(ledgerRolloverService, ledgerRolloverProgressService, ledgerRolloverBudgetsService,
+      ledgerRolloverErrorsService, enabled, cacheExpirationTime, maxCachedRecords, runningCheckIntervalMillis);
+  }
+
   @Bean
   LedgerRolloverBudgetsService ledgerRolloverBudgetsService(RestClient restClient, CommonSettingsService commonSettingsService) {
     return new LedgerRolloverBudgetsService(restClient, commonSettingsService);
@@ -186,8 +222,9 @@ public class ServicesConfiguration {
   }
 
   @Bean
-  CommonSettingsService configurationService(RestClient restClient) {
-    return new CommonSettingsService(restClient);
+  CommonSettingsService configurationService(RestClient restClient,
+                                             @Value("${finance.cache.locale-settings.expiration.time.seconds:3600}") long cacheExpirationTime) {
+    return new CommonSettingsService(restClient, cacheExpirationTime);
   }
 
   @Bean
@@ -214,9 +251,10 @@ public class ServicesConfiguration {
   FundCodeExpenseClassesService fundCodeExpenseClassesService(BudgetService budgetService, BudgetExpenseClassService budgetExpenseClassService,
                                                               FundService fundService, LedgerService ledgerService,
                                                               FiscalYearService fiscalYearService, LedgerDetailsService ledgerDetailsService,
-                                                              ExpenseClassService expenseClassService) {
+                                                              ExpenseClassService expenseClassService,
+                                                              @Value("${finance.cache.fund-code-expense-classes.expiration.time.seconds:600}") long cacheExpirationTime) {
     return new FundCodeExpenseClassesService(budgetService, budgetExpenseClassService,
-      fundService, ledgerService, fiscalYearService, ledgerDetailsService, expenseClassService);
+      fundService, ledgerService, fiscalYearService, ledgerDetailsService, expenseClassService, cacheExpirationTime);
   }
 
   @Bean
@@ -226,13 +264,36 @@ public class ServicesConfiguration {
 
   @Bean
   FinanceDataService financeDataService(RestClient restClient, LedgerService ledgerService, AcqUnitsService acqUnitsService,
-                                        FundUpdateLogService fundUpdateLogService, FinanceDataValidator financeDataValidator) {
-    return new FinanceDataService(restClient, ledgerService, acqUnitsService, fundUpdateLogService, financeDataValidator);
+                                        FundUpdateLogService fundUpdateLogService, FinanceDataValidator financeDataValidator,
+                                        FundUpdateLogWriter fundUpdateLogWriter) {
+    return new FinanceDataService(restClient, ledgerService, acqUnitsService, fundUpdateLogService, financeDataValidator,
+      fundUpdateLogWriter);
+  }
+
+  @Bean
+  FinanceDataExportService financeDataExportService(RestClient restClient, AcqUnitsService acqUnitsService,
+                                                    @Value("${finance.finance-data.export.page-size:1000}") int pageSize) {
+    return new FinanceDataExportService(restClient, acqUnitsService, pageSize);
+  }
+
+  @Bean
+  FundUpdateLogWriter fundUpdateLogWriter(FundUpdateLogService fundUpdateLogService,
+                                          @Value("${finance.fund-update-logs.write.max-retries:3}") int maxRetries,
+                                          @Value("${finance.fund-update-logs.write.initial-backoff.millis:500}") long initialBackoffMillis) {
+    return new FundUpdateLogWriter(fundUpdateLogService, maxRetries, initialBackoffMillis);
+  }
+
+  @Bean
+  FinanceDataValidator financeDataValidator(FundService fundService, BudgetService budgetService,
+                                            FinanceDataPreviewCache financeDataPreviewCache) {
+    return new FinanceDataValidator(fundService, budgetService, financeDataPreviewCache);
   }
 
   @Bean
-  FinanceDataValidator financeDataValidator(FundService fundService, BudgetService budgetService) {
-    return new FinanceDataValidator(fundService, budgetService);
+  FinanceDataPreviewCache financeDataPreviewCache(@Value("${finance.cache.finance-data-preview.enabled:true}") boolean enabled,
+                                                  @Value("${finance.cache.finance-data-preview.expiration.time.seconds:300}") long cacheExpirationTime,
+                                                  @Value("${finance.cache.finance-data-preview.max-rows:100000}") long maxCachedRows) {
+    return new FinanceDataPreviewCache(enabled, cacheExpirationTime, maxCachedRows);
   }
 
   @Bean
@@ -11,12 +11,14 @@ public class BudgetExpenseClassHolder {
   private final List<BudgetExpenseClass> createList;
   private final List<BudgetExpenseClass> updateList;
   private final List<BudgetExpenseClass> deleteList;
+  private final List<BudgetExpenseClass> statesBeforeUpdate;
 
 
   public BudgetExpenseClassHolder() {
     this.createList = new ArrayList<>();
     this.updateList = new ArrayList<>();
     this.deleteList = new ArrayList<>();
+    this.statesBeforeUpdate = new ArrayList<>();
   }
 
 
@@ -36,6 +38,14 @@ public class BudgetExpenseClassHolder {
     this.updateList.add(item);
   }
 
+  public List<BudgetExpenseClass> getStatesBeforeUpdate() {
+    return statesBeforeUpdate;
+  }
+
+  public void addToStatesBeforeUpdate(BudgetExpenseClass item) {
+    this.statesBeforeUpdate.add(item);
+  }
+
   public List<BudgetExpenseClass> getDeleteList() {
     return deleteList;
   }
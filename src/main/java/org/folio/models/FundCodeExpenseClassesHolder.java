@@ -4,11 +4,9 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
 import org.folio.rest.jaxrs.model.Budget;
 import org.folio.rest.jaxrs.model.BudgetExpenseClass;
-import org.folio.rest.jaxrs.model.BudgetsCollection;
 import org.folio.rest.jaxrs.model.ExpenseClass;
 import org.folio.rest.jaxrs.model.FiscalYear;
 import org.folio.rest.jaxrs.model.Fund;
@@ -16,154 +14,131 @@ import org.folio.rest.jaxrs.model.FundCodeExpenseClassesCollection;
 import org.folio.rest.jaxrs.model.FundCodeVsExpClassesType;
 import org.folio.rest.jaxrs.model.Ledger;
 
+import one.util.streamex.StreamEx;
 
+/**
+ * Immutable snapshot of the data needed to build fund code vs expense classes combinations for a single fiscal year.
+ * Every {@code with*} method returns a new holder, so pipelines running for different fiscal years never share state.
+ */
 public class FundCodeExpenseClassesHolder {
 
-  private List<Fund> fundList = new ArrayList<>();
-  private List<Ledger> ledgerList = new ArrayList<>();
-  private List<BudgetExpenseClass> budgetExpenseClassList = new ArrayList<>();
-  private List<FundCodeVsExpClassesType> fundCodeVsExpenseClassesTypeList = new ArrayList<>();
-  private List<String> budgetIds = new ArrayList<>();
-  private BudgetsCollection budgetsCollection;
-  private List<ExpenseClass> expenseClassList = new ArrayList<>();
-  private FiscalYear fiscalYear;
+  private final FiscalYear fiscalYear;
+  private final List<Budget> budgets;
+  private final List<Fund> funds;
+  private final List<Ledger> ledgers;
+  private final List<BudgetExpenseClass> budgetExpenseClasses;
+  private final List<ExpenseClass> expenseClasses;
 
-  public FundCodeExpenseClassesHolder withExpenseClassList(List<ExpenseClass> expenseClassList) {
-    this.expenseClassList = expenseClassList;
-    return this;
+  public FundCodeExpenseClassesHolder(FiscalYear fiscalYear) {
+    this(fiscalYear, List.of(), List.of(), List.of(), List.of(), List.of());
   }
 
-  public List<ExpenseClass> getExpenseClassList() {
-    return expenseClassList;
+  private FundCodeExpenseClassesHolder(FiscalYear fiscalYear, List<Budget> budgets, List<Fund> funds, List<Ledger> ledgers,
+                                       List<BudgetExpenseClass> budgetExpenseClasses, List<ExpenseClass> expenseClasses) {
+    this.fiscalYear = fiscalYear;
+    this.budgets = budgets;
+    this.funds = funds;
+    this.ledgers = ledgers;
+    this.budgetExpenseClasses = budgetExpenseClasses;
+    this.expenseClasses = expenseClasses;
   }
 
-  public FundCodeExpenseClassesHolder withBudgetIds(List<String> budgetIds) {
-    this.budgetIds = budgetIds;
-    return this;
+  public FundCodeExpenseClassesHolder withBudgets(List<Budget> budgets) {
+    return new FundCodeExpenseClassesHolder(fiscalYear, List.copyOf(budgets), funds, ledgers, budgetExpenseClasses, expenseClasses);
   }
 
-  public List<String> getBudgetIds() {
-    return budgetIds;
+  public FundCodeExpenseClassesHolder withFunds(List<Fund> funds) {
+    return new FundCodeExpenseClassesHolder(fiscalYear, budgets, List.copyOf(funds), ledgers, budgetExpenseClasses, expenseClasses);
   }
 
-  public List<BudgetExpenseClass> getBudgetExpenseClassList() {
-    return budgetExpenseClassList;
+  public FundCodeExpenseClassesHolder withLedgers(List<Ledger> ledgers) {
+    return new FundCodeExpenseClassesHolder(fiscalYear, budgets, funds, List.copyOf(ledgers), budgetExpenseClasses, expenseClasses);
   }
 
-  public FundCodeExpenseClassesHolder withBudgetExpenseClassList(List<BudgetExpenseClass> budgetExpenseClassList) {
-    this.budgetExpenseClassList = budgetExpenseClassList;
-    return this;
+  public FundCodeExpenseClassesHolder withBudgetExpenseClasses(List<BudgetExpenseClass> budgetExpenseClasses) {
+    return new FundCodeExpenseClassesHolder(fiscalYear, budgets, funds, ledgers, List.copyOf(budgetExpenseClasses), expenseClasses);
   }
 
-  public void addBudgetExpenseClass(BudgetExpenseClass budgetExpenseClass) {
-    budgetExpenseClassList.add(budgetExpenseClass);
+  public FundCodeExpenseClassesHolder withExpenseClasses(List<ExpenseClass> expenseClasses) {
+    return new FundCodeExpenseClassesHolder(fiscalYear, budgets, funds, ledgers, budgetExpenseClasses, List.copyOf(expenseClasses));
   }
 
-  public FundCodeExpenseClassesHolder withBudgetCollectionList(BudgetsCollection budgetCollection) {
-    this.budgetsCollection = budgetCollection;
-    return this;
+  public FiscalYear getFiscalYear() {
+    return fiscalYear;
   }
 
-  public BudgetsCollection getBudgetCollection() {
-    return budgetsCollection;
+  public List<Budget> getBudgets() {
+    return budgets;
   }
 
-  public List<Fund> getFundList() {
-    return fundList;
+  public List<Fund> getFunds() {
+    return funds;
   }
 
-  public FundCodeExpenseClassesHolder withFundList(List<Fund> fundList) {
-    this.fundList = fundList;
-    return this;
+  public List<Ledger> getLedgers() {
+    return ledgers;
   }
 
-  public List<Ledger> getLedgerList() {
-    return ledgerList;
+  public List<BudgetExpenseClass> getBudgetExpenseClasses() {
+    return budgetExpenseClasses;
   }
 
-  public FundCodeExpenseClassesHolder withLedgerList(List<Ledger> ledgerList) {
-    this.ledgerList = ledgerList;
-    return this;
+  public List<ExpenseClass> getExpenseClasses() {
+    return expenseClasses;
   }
 
-  public FundCodeExpenseClassesHolder setFundCodeVsExpenseClassesTypeList(List<FundCodeVsExpClassesType> fundCodeVsExpenseClassesTypeList) {
-    this.fundCodeVsExpenseClassesTypeList = fundCodeVsExpenseClassesTypeList;
-    return this;
+  public List<String> getBudgetIds() {
+    return StreamEx.of(budgets).map(Budget::getId).toList();
   }
 
-  public BudgetsCollection getBudgetsCollection() {
-    return budgetsCollection;
+  public List<String> getFundIds() {
+    return StreamEx.of(budgets).map(Budget::getFundId).distinct().toList();
   }
 
-  public FundCodeExpenseClassesHolder withBudgetsCollection(BudgetsCollection budgetsCollection) {
-    this.budgetsCollection = budgetsCollection;
-    return this;
+  public List<String> getLedgerIds() {
+    return StreamEx.of(funds).map(Fund::getLedgerId).distinct().toList();
   }
 
   public FundCodeExpenseClassesCollection buildFundCodeVsExpenseClassesTypeCollection() {
-    Map<String, Ledger> ledgerIdVsLedgerMap = new HashMap<>();
-    for (Ledger ledger : ledgerList) {
-      ledgerIdVsLedgerMap.put(ledger.getId(), ledger);
-    }
-    for (Ledger ledger : ledgerList) {
-      for (Fund fund : fundList) {
-        if (Objects.equals(ledger.getId(), fund.getLedgerId())) {
-          FundCodeVsExpClassesType fundCodeVsExpenseClassesType = new FundCodeVsExpClassesType();
-          fundCodeVsExpenseClassesType.setFundCode(fund.getCode());
-          fundCodeVsExpenseClassesType.setLedgerCode(ledgerIdVsLedgerMap.get(fund.getLedgerId()).getCode());
-          fundCodeVsExpenseClassesType.setActiveFundCodeVsExpClasses(getActiveStatusBudgetExpenseClass(fund));
-          fundCodeVsExpenseClassesType.setInactiveFundCodeVsExpClasses(getInActiveStatusBudgetExpenseClass(fund));
-          fundCodeVsExpenseClassesTypeList.add(fundCodeVsExpenseClassesType);
-        }
-      }
+    // Indexes are built once per build, so the join below is linear in the number of funds and links
+    Map<String, List<Fund>> fundsByLedgerId = StreamEx.of(funds).groupingBy(Fund::getLedgerId);
+    Map<String, List<Budget>> budgetsByFundId = StreamEx.of(budgets).groupingBy(Budget::getFundId);
+    Map<String, List<BudgetExpenseClass>> budgetExpenseClassesByBudgetId = StreamEx.of(budgetExpenseClasses)
+      .groupingBy(BudgetExpenseClass::getBudgetId);
+    Map<String, ExpenseClass> expenseClassesById = new HashMap<>(expenseClasses.size() * 2);
+    for (ExpenseClass expenseClass : expenseClasses) {
+      expenseClassesById.putIfAbsent(expenseClass.getId(), expenseClass);
     }
-    return getFundCodeVsExpenseClassesTypeCollection(fundCodeVsExpenseClassesTypeList);
-  }
 
-  private List<String> getActiveStatusBudgetExpenseClass(Fund fund) {
-    List<String> activeStatus = new ArrayList<>();
-    List<Budget> budgetListByFundId = new ArrayList<>();
-    for (Budget budget : budgetsCollection.getBudgets()) {
-      if (budget.getFundId().equals(fund.getId())) {
-        budgetListByFundId.add(budget);
-      }
-    }
-    for (Budget budget : budgetListByFundId) {
-      for (BudgetExpenseClass budgetExpenseClass : budgetExpenseClassList) {
-        if (budget.getId().equals(budgetExpenseClass.getBudgetId()) && (budgetExpenseClass.getStatus() == BudgetExpenseClass.Status.ACTIVE)) {
-            activeStatus.add(addFundCodeAndExpanseClassCode(budgetExpenseClass, fund));
+    List<FundCodeVsExpClassesType> fundCodeVsExpenseClassesTypeList = new ArrayList<>(funds.size());
+    for (Ledger ledger : ledgers) {
+      for (Fund fund : fundsByLedgerId.getOrDefault(ledger.getId(), List.of())) {
+        List<String> activeStatus = new ArrayList<>();
+        List<String> inActiveStatus = new ArrayList<>();
+        for (Budget budget : budgetsByFundId.getOrDefault(fund.getId(), List.of())) {
+          for (BudgetExpenseClass budgetExpenseClass : budgetExpenseClassesByBudgetId.getOrDefault(budget.getId(), List.of())) {
+            if (budgetExpenseClass.getStatus() == BudgetExpenseClass.Status.ACTIVE) {
+              activeStatus.add(addFundCodeAndExpanseClassCode(budgetExpenseClass, fund, expenseClassesById));
+            } else if (budgetExpenseClass.getStatus() == BudgetExpenseClass.Status.INACTIVE) {
+              inActiveStatus.add(addFundCodeAndExpanseClassCode(budgetExpenseClass, fund, expenseClassesById));
+            }
+          }
         }
+        FundCodeVsExpClassesType fundCodeVsExpenseClassesType = new FundCodeVsExpClassesType();
+        fundCodeVsExpenseClassesType.setFundCode(fund.getCode());
+        fundCodeVsExpenseClassesType.setLedgerCode(ledger.getCode());
+        fundCodeVsExpenseClassesType.setActiveFundCodeVsExpClasses(activeStatus);
+        fundCodeVsExpenseClassesType.setInactiveFundCodeVsExpClasses(inActiveStatus);
+        fundCodeVsExpenseClassesTypeList.add(fundCodeVsExpenseClassesType);
       }
     }
-    return activeStatus;
-  }
-
-  private String addFundCodeAndExpanseClassCode(BudgetExpenseClass budgetExpenseClass, Fund fund) {
-    for (ExpenseClass expenseClass : getExpenseClassList()) {
-      if (Objects.equals(budgetExpenseClass.getExpenseClassId(), expenseClass.getId())) {
-        return fund.getCode() + ":" + expenseClass.getCode();
-      }
-    }
-    return null;
+    return getFundCodeVsExpenseClassesTypeCollection(fundCodeVsExpenseClassesTypeList);
   }
 
-  private List<String> getInActiveStatusBudgetExpenseClass(Fund fund) {
-    List<Budget> budgetList = getBudgetCollection().getBudgets();
-    List<String> inActiveStatus = new ArrayList<>();
-    List<Budget> budgetListByFundId = new ArrayList<>();
-    for (Budget budget : budgetList) {
-      if (budget.getFundId().equals(fund.getId())) {
-        budgetListByFundId.add(budget);
-      }
-    }
-    for (Budget budget : budgetListByFundId) {
-      for (BudgetExpenseClass budgetExpenseClass : budgetExpenseClassList) {
-        if (budget.getId().equals(budgetExpenseClass.getBudgetId()) && (budgetExpenseClass.getStatus() == BudgetExpenseClass.Status.INACTIVE)) {
-          inActiveStatus.add(addFundCodeAndExpanseClassCode(budgetExpenseClass, fund));
-        }
-      }
-    }
-    return inActiveStatus;
+  private String addFundCodeAndExpanseClassCode(BudgetExpenseClass budgetExpenseClass, Fund fund,
+                                                Map<String, ExpenseClass> expenseClassesById) {
+    ExpenseClass expenseClass = expenseClassesById.get(budgetExpenseClass.getExpenseClassId());
+    return expenseClass == null ? null : fund.getCode() + ":" + expenseClass.getCode();
   }
 
   private FundCodeExpenseClassesCollection getFundCodeVsExpenseClassesTypeCollection(List<FundCodeVsExpClassesType> fundCodeVsExpenseClassesTypeList) {
@@ -172,13 +147,4 @@ public class FundCodeExpenseClassesHolder {
     fundCodeVsExpenseClassesTypeCollection.setFundCodeVsExpClassesTypes(fundCodeVsExpenseClassesTypeList);
     return fundCodeVsExpenseClassesTypeCollection;
   }
-
-  public FiscalYear getFiscalYear() {
-    return fiscalYear;
-  }
-
-  public FundCodeExpenseClassesHolder setFiscalYear(FiscalYear fiscalYear) {
-    this.fiscalYear = fiscalYear;
-    return this;
-  }
 }
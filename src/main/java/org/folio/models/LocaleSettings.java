@@ -0,0 +1,31 @@
+package org.folio.models;
+
+import static org.folio.services.configuration.CommonSettingsService.CURRENCY_SETTING;
+import static org.folio.services.configuration.CommonSettingsService.DEFAULT_CURRENCY;
+import static org.folio.services.configuration.CommonSettingsService.DEFAULT_TIMEZONE;
+import static org.folio.services.configuration.CommonSettingsService.TIMEZONE_SETTING;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Immutable snapshot of the tenant locale settings returned by {@code GET /locale}
+ */
+public record LocaleSettings(String timeZone, String currency) {
+
+  public static final LocaleSettings DEFAULT = new LocaleSettings(DEFAULT_TIMEZONE, DEFAULT_CURRENCY);
+
+  public static LocaleSettings fromJson(JsonObject jsonObject) {
+    if (jsonObject == null) {
+      return DEFAULT;
+    }
+    return new LocaleSettings(getOrDefault(jsonObject, TIMEZONE_SETTING, DEFAULT_TIMEZONE),
+      getOrDefault(jsonObject, CURRENCY_SETTING, DEFAULT_CURRENCY));
+  }
+
+  private static String getOrDefault(JsonObject jsonObject, String settingName, String defaultValue) {
+    var value = jsonObject.getString(settingName);
+    return StringUtils.isNotBlank(value) ? value : defaultValue;
+  }
+}
@@ -5,6 +5,10 @@ public final class RestConstants {
   public static final String SEARCH_ENDPOINT = "%s?limit=%s&offset=%s%s";
   public static final String SEARCH_PARAMS = "?limit=%s&offset=%s%s";
   public static final int MAX_IDS_FOR_GET_RQ = 15;
+  public static final int MAX_IDS_FOR_BATCH_RQ = 500;
+  public static final int MAX_CONCURRENT_CHUNK_REQUESTS = 5;
+  public static final int MAX_CONCURRENT_WRITE_REQUESTS = 10;
+  public static final int FINANCE_DATA_CHUNK_SIZE = 500;
   public static final int BAD_REQUEST = 400;
   public static final int ACCESS_DENIED = 401;
   public static final int FORBIDDEN = 403;
@@ -18,8 +18,11 @@ import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpResponseExpectation;
+import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
@@ -30,6 +33,7 @@ import lombok.extern.log4j.Log4j2;
 public class RestClient {
 
   public static final String REQUEST_MESSAGE_LOG_INFO = "Calling {} {}";
+  public static final String REQUEST_WITH_BODY_MESSAGE_LOG_INFO = "Calling {} {}, request body size: {} bytes";
 
   public <T> Future<T> post(String endpoint, T entity, Class<T> responseType, RequestContext requestContext) {
     log.info(REQUEST_MESSAGE_LOG_INFO, HttpMethod.POST, endpoint);
@@ -44,13 +48,27 @@ public class RestClient {
       .onFailure(log::error);
   }
 
+  /**
+   * Posts the entity and ignores the response body. The entity is encoded once, straight into the request buffer
+   * (as {@code sendJson} does), and not streamed: the storage reads the whole body before parsing it, so streaming
+   * would not lower the memory of the operation, and the buffer gives the body size for the request-size log.
+   * Callers sending large batches bound them instead (e.g. the encumbrances batch size).
+   */
   public <T> Future<Void> postEmptyResponse(String endpoint, T entity, RequestContext requestContext) {
-    log.info(REQUEST_MESSAGE_LOG_INFO, HttpMethod.POST, endpoint);
+    Buffer body;
+    try {
+      body = Json.encodeToBuffer(entity);
+    } catch (Exception e) {
+      log.error("postEmptyResponse:: Failed to encode the request body for {}", endpoint, e);
+      return Future.failedFuture(e);
+    }
+    log.info(REQUEST_WITH_BODY_MESSAGE_LOG_INFO, HttpMethod.POST, endpoint, body.length());
     var caseInsensitiveHeader = convertToCaseInsensitiveMap(requestContext.headers());
     return getVertxWebClient(requestContext.context())
       .postAbs(buildAbsEndpoint(caseInsensitiveHeader, endpoint))
       .putHeaders(caseInsensitiveHeader)
-      .sendJson(entity)
+      .putHeader(HttpHeaders.CONTENT_TYPE.toString(), APPLICATION_JSON)
+      .sendBuffer(body)
       .compose(RestClient::convertHttpResponse)
       .onFailure(log::error)
       .mapEmpty();
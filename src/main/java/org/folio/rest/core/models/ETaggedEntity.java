@@ -0,0 +1,28 @@
+package org.folio.rest.core.models;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Response entity with a strong ETag computed from its JSON representation.
+ */
+public record ETaggedEntity<T>(T entity, String etag) {
+
+  public static <T> ETaggedEntity<T> of(T entity) {
+    return new ETaggedEntity<>(entity, computeETag(entity));
+  }
+
+  private static String computeETag(Object entity) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256")
+        .digest(JsonObject.mapFrom(entity).encode().getBytes(StandardCharsets.UTF_8));
+      return '"' + HexFormat.of().formatHex(digest) + '"';
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -2,6 +2,8 @@ package org.folio.rest.helper;
 
 import static io.vertx.core.Future.succeededFuture;
 import static java.util.stream.Collectors.toSet;
+import static org.folio.rest.RestConstants.MAX_CONCURRENT_WRITE_REQUESTS;
+import static org.folio.rest.util.ChunkedFetchUtils.runWithConcurrencyLimit;
 import static org.folio.rest.util.ErrorCodes.FISCAL_YEARS_NOT_FOUND;
 import static org.folio.rest.util.ErrorCodes.GROUP_NOT_FOUND;
 import static org.folio.rest.util.HelperUtils.convertIdsToCqlQuery;
@@ -15,6 +17,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -25,10 +28,13 @@ import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.exception.HttpException;
 import org.folio.rest.jaxrs.model.Budget;
 import org.folio.rest.jaxrs.model.CompositeFund;
+import org.folio.rest.jaxrs.model.FiscalYear;
 import org.folio.rest.jaxrs.model.Fund;
 import org.folio.rest.jaxrs.model.FundType;
 import org.folio.rest.jaxrs.model.FundTypesCollection;
+import org.folio.rest.jaxrs.model.Group;
 import org.folio.rest.jaxrs.model.GroupFundFiscalYear;
+import org.folio.rest.util.RollbackUtils;
 import org.folio.services.budget.BudgetService;
 import org.folio.services.fund.FundService;
 import org.folio.services.group.GroupFundFiscalYearService;
@@ -86,7 +92,7 @@ public class FundsHelper extends AbstractHelper {
 
   public Future<CompositeFund> createFund(CompositeFund compositeFund, RequestContext requestContext) {
     if (CollectionUtils.isNotEmpty(compositeFund.getGroupIds())) {
-      return ledgerDetailsService.getCurrentFiscalYear(compositeFund.getFund().getLedgerId(), new RequestContext(ctx, okapiHeaders))
+      return getCurrentFiscalYear(compositeFund.getFund().getLedgerId())
         .compose(fiscalYear -> {
           if (Objects.isNull(fiscalYear)) {
             log.error("createFund:: fiscalYear is not found for compositeFund with ledgerId={}", compositeFund.getFund().getLedgerId());
@@ -136,27 +142,20 @@ public class FundsHelper extends AbstractHelper {
   public Future<CompositeFund> getCompositeFund(String id, RequestContext requestContext) {
     return fundService.getFundById(id, requestContext)
       .map(fund -> new CompositeFund().withFund(fund))
-      .compose(compositeFund -> ledgerDetailsService.getCurrentFiscalYear(compositeFund.getFund().getLedgerId(), new RequestContext(ctx, okapiHeaders))
+      .compose(compositeFund -> getCurrentFiscalYear(compositeFund.getFund().getLedgerId())
         .compose(currentFY -> Objects.isNull(currentFY) ? succeededFuture(null)
           : getGroupIdsThatFundBelongs(id, currentFY.getId()))
         .map(compositeFund::withGroupIds));
   }
 
   private Future<Void> assignFundToGroups(List<GroupFundFiscalYear> groupFundFiscalYears) {
-    var futures = groupFundFiscalYears.stream()
-      .map(groupFundFiscalYear -> groupFundFiscalYearService.createGroupFundFiscalYear(groupFundFiscalYear, new RequestContext(ctx, okapiHeaders)))
-      .collect(Collectors.toList());
-
-    return Future.join(futures)
-      .mapEmpty();
+    return runWithConcurrencyLimit(groupFundFiscalYears, MAX_CONCURRENT_WRITE_REQUESTS,
+      groupFundFiscalYear -> groupFundFiscalYearService.createGroupFundFiscalYear(groupFundFiscalYear, new RequestContext(ctx, okapiHeaders)));
   }
 
   private Future<Void> unassignGroupsForFund(Collection<String> groupFundFiscalYearIds) {
-    var futures = groupFundFiscalYearIds.stream()
-      .map(id -> groupFundFiscalYearService.deleteGroupFundFiscalYear(id, new RequestContext(ctx, okapiHeaders)))
-      .collect(Collectors.toList());
-    return Future.join(futures)
-      .mapEmpty();
+    return runWithConcurrencyLimit(groupFundFiscalYearIds, MAX_CONCURRENT_WRITE_REQUESTS,
+      id -> groupFundFiscalYearService.deleteGroupFundFiscalYear(id, new RequestContext(ctx, okapiHeaders)));
   }
 
   private Future<List<String>> getGroupIdsThatFundBelongs(String fundId, String currentFYId) {
@@ -181,89 +180,105 @@ public class FundsHelper extends AbstractHelper {
       .collect(Collectors.toList());
   }
 
-  private Future<Void> createGroupFundFiscalYears(CompositeFund compositeFund, String currentFiscalYearId, List<String> groupIdsForCreation, RequestContext requestContext) {
-    log.debug("createGroupFundFiscalYears:: Creating group fiscal year for currentFiscalYearId={}", currentFiscalYearId);
-    if(CollectionUtils.isNotEmpty(groupIdsForCreation)) {
-      return groupService.getGroups(0, 0, convertIdsToCqlQuery(groupIdsForCreation), requestContext)
-        .compose(groupsCollection -> {
-          if(groupsCollection.getTotalRecords() == groupIdsForCreation.size()) {
-            String query = getBudgetsCollectionQuery(currentFiscalYearId, compositeFund.getFund().getId());
-            log.info("createGroupFundFiscalYears:: Retrieving budget by using the query={}", query);
-            return budgetService.getBudgets(query, 0, 1, new RequestContext(ctx, okapiHeaders))
-                .compose(budgetsCollection -> {
-                  List<Budget> budgets = budgetsCollection.getBudgets();
-                  String budgetId = null;
-                  if(!budgets.isEmpty()) {
-                    budgetId = budgets.get(0).getId();
-                  }
-                  log.info("createGroupFundFiscalYears:: assigning fund to groups with budgetId={}, currentFiscalYearId={}", budgetId, currentFiscalYearId);
-                  return assignFundToGroups(buildGroupFundFiscalYears(compositeFund, budgetId, currentFiscalYearId, groupIdsForCreation));
-                });
-          } else {
-            log.error("createGroupFundFiscalYears:: groupsCollection size={} is not equal with groupsIdsForCreating size={}", groupsCollection.getTotalRecords(), groupIdsForCreation.size());
-            throw new HttpException(422, GROUP_NOT_FOUND);
-          }
-        });
-    } else {
-      log.warn("createGroupFundFiscalYears:: groupIdsForCreation is empty for compositeFund '{}'", compositeFund.getFund().getId());
-      return succeededFuture(null);
-    }
+  private Future<Set<String>> getExistingGroupIds(List<String> groupIds, RequestContext requestContext) {
+    return groupService.getGroups(0, groupIds.size(), convertIdsToCqlQuery(groupIds), requestContext)
+      .map(groupCollection -> StreamEx.of(groupCollection.getGroups()).map(Group::getId).toSet());
   }
 
-  private Future<Void> deleteGroupFundFiscalYears(List<String> groupFundFiscalYearForDeletionIds) {
-    if(CollectionUtils.isNotEmpty(groupFundFiscalYearForDeletionIds)) {
-      return unassignGroupsForFund(groupFundFiscalYearForDeletionIds);
-    } else {
-      return succeededFuture(null);
-    }
+  private Future<String> getCurrentBudgetId(String fundId, String currentFiscalYearId) {
+    String query = getBudgetsCollectionQuery(currentFiscalYearId, fundId);
+    log.info("getCurrentBudgetId:: Retrieving budget by using the query={}", query);
+    return budgetService.getBudgets(query, 0, 1, new RequestContext(ctx, okapiHeaders))
+      .map(budgetsCollection -> StreamEx.of(budgetsCollection.getBudgets()).findFirst().map(Budget::getId).orElse(null));
+  }
+
+  private Future<FiscalYear> getCurrentFiscalYear(String ledgerId) {
+    return ledgerDetailsService.getCurrentFiscalYear(ledgerId, new RequestContext(ctx, okapiHeaders));
   }
 
+  /**
+   * Updates the fund and its group assignments. The lookups of the group assignments (current fiscal year, group fund
+   * fiscal years, then groups and budget) do not depend on the fund PUT, so they run alongside it. The assignments
+   * are written once both succeeded; if either fails, the fund is rolled back after the other one is settled.
+   */
   public Future<Void> updateFund(CompositeFund compositeFund, RequestContext requestContext) {
     return fundService.getFundById(compositeFund.getFund().getId(), requestContext)
-      .compose(fundFromStorage -> fundService.updateFund(compositeFund.getFund(), requestContext)
-        .compose(v1 -> updateFundGroups(compositeFund, requestContext))
-        .recover(t -> rollbackFundPutIfNeeded(fundFromStorage, t, requestContext)))
+      .compose(fundFromStorage -> {
+        var fundUpdate = fundService.updateFund(compositeFund.getFund(), requestContext);
+        var fundGroupsUpdate = prepareFundGroupsUpdate(compositeFund, requestContext);
+        return Future.join(fundUpdate, fundGroupsUpdate)
+          .compose(cf -> fundGroupsUpdate.result().get())
+          .recover(t -> rollbackFundPutIfNeeded(fundFromStorage, t, requestContext));
+      })
       .mapEmpty();
 
   }
 
-  private Future<Void> updateFundGroups(CompositeFund compositeFund, RequestContext requestContext) {
+  private Future<Supplier<Future<Void>>> prepareFundGroupsUpdate(CompositeFund compositeFund, RequestContext requestContext) {
     Fund fund = compositeFund.getFund();
     Set<String> groupIds = new HashSet<>(compositeFund.getGroupIds());
-    log.debug("updateFundGroups:: Updating fund groups for compositeFund with id={}", fund.getId());
+    log.debug("prepareFundGroupsUpdate:: Preparing update of fund groups for compositeFund with id={}", fund.getId());
 
-    return ledgerDetailsService.getCurrentFiscalYear(fund.getLedgerId(), new RequestContext(ctx, okapiHeaders))
+    return getCurrentFiscalYear(fund.getLedgerId())
       .compose(currentFiscalYear-> {
         if(Objects.nonNull(currentFiscalYear)) {
           String currentFiscalYearId = currentFiscalYear.getId();
-          log.info("updateFundGroups:: Retrieving group fund fiscal years for fundId={}, currentFiscalYearId={}", fund.getId(), currentFiscalYearId);
+          log.info("prepareFundGroupsUpdate:: Retrieving group fund fiscal years for fundId={}, currentFiscalYearId={}", fund.getId(), currentFiscalYearId);
           return getGroupFundFiscalYearsThatFundBelongs(fund.getId(), currentFiscalYearId)
-            .compose(groupFundFiscalYearCollection -> {
-              List<String> groupIdsFromStorage = StreamEx.of(groupFundFiscalYearCollection).map(GroupFundFiscalYear::getGroupId).collect(Collectors.toList());
-              log.info("updateFundGroups:: Creating group fund fiscal years for new groups for compositeFund '{}'", fund.getId());
-              return createGroupFundFiscalYears(compositeFund, currentFiscalYearId, getSetDifference(groupIdsFromStorage, groupIds), requestContext)
-                .compose(vVoid -> deleteGroupFundFiscalYears(groupFundFiscalYearIdsForDeletion(
-                  groupFundFiscalYearCollection, getSetDifference(groupIds, groupIdsFromStorage))));
-            });
+            .compose(groupFundFiscalYears -> prepareGroupFundFiscalYearsUpdate(compositeFund, currentFiscalYearId, groupIds,
+              groupFundFiscalYears, requestContext));
         } else if(groupIds.isEmpty()) {
-          log.warn("updateFundGroups:: GroupIds is empty in compositeFund '{}'", fund.getId());
-          return succeededFuture(null);
+          log.warn("prepareFundGroupsUpdate:: GroupIds is empty in compositeFund '{}'", fund.getId());
+          return succeededFuture(() -> succeededFuture(null));
         } else {
-          log.error("updateFundGroups:: No fiscal years found and groups exist for update in compositeFund '{}'", fund.getId());
+          log.error("prepareFundGroupsUpdate:: No fiscal years found and groups exist for update in compositeFund '{}'", fund.getId());
           throw new HttpException(422, FISCAL_YEARS_NOT_FOUND);
         }
       });
   }
 
+  private Future<Supplier<Future<Void>>> prepareGroupFundFiscalYearsUpdate(CompositeFund compositeFund, String currentFiscalYearId,
+                                                                          Set<String> groupIds, List<GroupFundFiscalYear> groupFundFiscalYears,
+                                                                          RequestContext requestContext) {
+    String fundId = compositeFund.getFund().getId();
+    List<String> groupIdsFromStorage = StreamEx.of(groupFundFiscalYears).map(GroupFundFiscalYear::getGroupId).toList();
+    List<String> groupIdsForCreation = getSetDifference(groupIdsFromStorage, groupIds);
+    List<String> groupFundFiscalYearIdsForDeletion = groupFundFiscalYearIdsForDeletion(groupFundFiscalYears,
+      getSetDifference(groupIds, groupIdsFromStorage));
+    if (groupIdsForCreation.isEmpty()) {
+      return succeededFuture(() -> {
+        log.info("prepareGroupFundFiscalYearsUpdate:: Unassigning fund '{}' from {} group(s)", fundId, groupFundFiscalYearIdsForDeletion.size());
+        return unassignGroupsForFund(groupFundFiscalYearIdsForDeletion);
+      });
+    }
+    log.info("prepareGroupFundFiscalYearsUpdate:: Retrieving groups and budget to assign fund '{}' to {} group(s), currentFiscalYearId={}",
+      fundId, groupIdsForCreation.size(), currentFiscalYearId);
+    // the groups check and the budget lookup are only needed for new assignments, they run concurrently
+    var existingGroupIdsFuture = getExistingGroupIds(groupIdsForCreation, requestContext);
+    var budgetIdFuture = getCurrentBudgetId(fundId, currentFiscalYearId);
+    return Future.all(existingGroupIdsFuture, budgetIdFuture)
+      .map(cf -> {
+        if (!existingGroupIdsFuture.result().containsAll(groupIdsForCreation)) {
+          log.error("prepareGroupFundFiscalYearsUpdate:: Some of the groups {} to assign the fund '{}' to are not found", groupIdsForCreation, fundId);
+          throw new HttpException(422, GROUP_NOT_FOUND);
+        }
+        String budgetId = budgetIdFuture.result();
+        return () -> {
+          log.info("prepareGroupFundFiscalYearsUpdate:: Assigning fund '{}' to {} group(s) and unassigning it from {} group(s), budgetId={}",
+            fundId, groupIdsForCreation.size(), groupFundFiscalYearIdsForDeletion.size(), budgetId);
+          return Future.join(
+              assignFundToGroups(buildGroupFundFiscalYears(compositeFund, budgetId, currentFiscalYearId, groupIdsForCreation)),
+              unassignGroupsForFund(groupFundFiscalYearIdsForDeletion))
+            .mapEmpty();
+        };
+      });
+  }
+
   private Future<Void> rollbackFundPutIfNeeded(Fund fundFromStorage, Throwable t, RequestContext requestContext) {
     if (t == null) {
       return succeededFuture(null);
     }
-    return fundService.getFundById(fundFromStorage.getId(), requestContext)
-      .map(latestFund -> fundFromStorage.withVersion(latestFund.getVersion()))
-      .compose(v -> restClient.put(resourceByIdPath(FUNDS_STORAGE, fundFromStorage.getId()), fundFromStorage, requestContext))
-      .recover(v -> Future.failedFuture(t))
-      .compose(v -> Future.failedFuture(t));
+    return RollbackUtils.rollbackUpdate(restClient, resourceByIdPath(FUNDS_STORAGE, fundFromStorage.getId()), fundFromStorage, t, requestContext);
   }
 
   private String getBudgetsCollectionQuery(String currentFiscalYearId, String fundId) {
@@ -2,6 +2,7 @@ package org.folio.rest.impl;
 
 import static io.vertx.core.Future.succeededFuture;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static javax.ws.rs.core.HttpHeaders.ETAG;
 import static javax.ws.rs.core.HttpHeaders.LOCATION;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static org.folio.rest.util.HelperUtils.convertToErrors;
@@ -13,8 +14,10 @@ import java.net.URISyntaxException;
 
 import javax.ws.rs.core.Response;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.rest.core.models.ETaggedEntity;
 import org.folio.rest.jaxrs.model.Errors;
 
 import io.vertx.core.AsyncResult;
@@ -28,6 +31,33 @@ public class BaseApi {
       .build();
   }
 
+  /**
+   * @param taggedEntity entity with its ETag
+   * @param ifNoneMatch  value of the If-None-Match request header, may be empty
+   * @return 304 without a body if one of the ETags in If-None-Match matches the entity, 200 with the entity otherwise
+   */
+  public Response buildOkResponse(ETaggedEntity<?> taggedEntity, String ifNoneMatch) {
+    if (StringUtils.isNotEmpty(ifNoneMatch) && matchesETag(ifNoneMatch, taggedEntity.etag())) {
+      return Response.notModified()
+        .header(ETAG, taggedEntity.etag())
+        .build();
+    }
+    return Response.ok(taggedEntity.entity(), APPLICATION_JSON)
+      .header(ETAG, taggedEntity.etag())
+      .build();
+  }
+
+  private boolean matchesETag(String ifNoneMatch, String etag) {
+    for (String candidate : ifNoneMatch.split(",")) {
+      // weak comparison as defined for If-None-Match
+      String value = StringUtils.removeStart(candidate.trim(), "W/");
+      if (value.equals("*") || value.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public Response buildNoContentResponse() {
     return Response.noContent()
       .build();
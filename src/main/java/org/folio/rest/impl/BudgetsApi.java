@@ -19,6 +19,7 @@ import org.folio.services.budget.BudgetExpenseClassTotalsService;
 import org.folio.services.budget.BudgetService;
 import org.folio.services.budget.CreateBudgetService;
 import org.folio.services.budget.RecalculateBudgetService;
+import org.folio.services.fund.FundCodeExpenseClassesService;
 import org.folio.spring.SpringContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -39,6 +40,8 @@ public class BudgetsApi extends BaseApi implements FinanceBudgets {
   private CreateBudgetService createBudgetService;
   @Autowired
   private RecalculateBudgetService recalculateBudgetService;
+  @Autowired
+  private FundCodeExpenseClassesService fundCodeExpenseClassesService;
 
   public BudgetsApi() {
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
@@ -51,6 +54,7 @@ public class BudgetsApi extends BaseApi implements FinanceBudgets {
     RequestContext requestContext = new RequestContext(ctx, headers);
     createBudgetService.createBudget(budget, requestContext)
       .onSuccess(createdBudget -> {
+        fundCodeExpenseClassesService.invalidateCache(requestContext);
         String format = String.format(BUDGETS_LOCATION_PREFIX, createdBudget.getId());
         handler.handle(succeededFuture(buildResponseWithLocation(headers.get(OKAPI_URL), format, createdBudget)));
       })
@@ -77,8 +81,12 @@ public class BudgetsApi extends BaseApi implements FinanceBudgets {
       handler.handle(succeededFuture(buildErrorResponse(new HttpException(422, MISMATCH_BETWEEN_ID_IN_PATH_AND_BODY))));
       return;
     }
-    budgetService.updateBudget(budget, new RequestContext(ctx, headers))
-      .onSuccess(v -> handler.handle(succeededFuture(buildNoContentResponse())))
+    RequestContext requestContext = new RequestContext(ctx, headers);
+    budgetService.updateBudget(budget, requestContext)
+      .onSuccess(v -> {
+        fundCodeExpenseClassesService.invalidateCache(requestContext);
+        handler.handle(succeededFuture(buildNoContentResponse()));
+      })
       .onFailure(fail -> handleErrorResponse(handler, fail));
   }
 
@@ -95,8 +103,12 @@ public class BudgetsApi extends BaseApi implements FinanceBudgets {
   @Override
   public void deleteFinanceBudgetsById(String id, Map<String, String> headers, Handler<AsyncResult<Response>> handler,
       Context ctx) {
-    budgetService.deleteBudget(id, new RequestContext(ctx, headers))
-      .onSuccess(v -> handler.handle(succeededFuture(buildNoContentResponse())))
+    RequestContext requestContext = new RequestContext(ctx, headers);
+    budgetService.deleteBudget(id, requestContext)
+      .onSuccess(v -> {
+        fundCodeExpenseClassesService.invalidateCache(requestContext);
+        handler.handle(succeededFuture(buildNoContentResponse()));
+      })
       .onFailure(fail -> handleErrorResponse(handler, fail));
   }
 
@@ -8,6 +8,8 @@ import javax.ws.rs.core.Response;
 
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.model.EncumbrancesStatusUpdate;
+import org.folio.rest.jaxrs.resource.FinanceEncumbrances;
 import org.folio.rest.jaxrs.resource.FinanceReleaseEncumbranceId;
 import org.folio.rest.jaxrs.resource.FinanceUnreleaseEncumbranceId;
 import org.folio.services.transactions.TransactionApiService;
@@ -19,7 +21,8 @@ import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 
-public class EncumbranceApi extends BaseApi implements FinanceReleaseEncumbranceId, FinanceUnreleaseEncumbranceId {
+public class EncumbranceApi extends BaseApi implements FinanceReleaseEncumbranceId, FinanceUnreleaseEncumbranceId,
+    FinanceEncumbrances {
 
   @Autowired
   private TransactionApiService transactionApiService;
@@ -45,4 +48,22 @@ public class EncumbranceApi extends BaseApi implements FinanceReleaseEncumbrance
       .onSuccess(v -> asyncResultHandler.handle(succeededFuture(buildNoContentResponse())))
       .onFailure(fail -> handleErrorResponse(asyncResultHandler, fail));
   }
+
+  @Override
+  @Validate
+  public void postFinanceEncumbrancesRelease(EncumbrancesStatusUpdate entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    transactionApiService.releaseEncumbrances(entity, new RequestContext(vertxContext, okapiHeaders))
+      .onSuccess(result -> asyncResultHandler.handle(succeededFuture(buildOkResponse(result))))
+      .onFailure(fail -> handleErrorResponse(asyncResultHandler, fail));
+  }
+
+  @Override
+  @Validate
+  public void postFinanceEncumbrancesUnrelease(EncumbrancesStatusUpdate entity, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    transactionApiService.unreleaseEncumbrances(entity, new RequestContext(vertxContext, okapiHeaders))
+      .onSuccess(result -> asyncResultHandler.handle(succeededFuture(buildOkResponse(result))))
+      .onFailure(fail -> handleErrorResponse(asyncResultHandler, fail));
+  }
 }
@@ -17,6 +17,7 @@ import org.folio.rest.exception.HttpException;
 import org.folio.rest.jaxrs.model.ExpenseClass;
 import org.folio.rest.jaxrs.resource.FinanceExpenseClasses;
 import org.folio.services.ExpenseClassService;
+import org.folio.services.fund.FundCodeExpenseClassesService;
 import org.folio.spring.SpringContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -28,6 +29,8 @@ import io.vertx.core.Vertx;
 public class ExpenseClassesApi extends BaseApi implements FinanceExpenseClasses {
   @Autowired
   private ExpenseClassService expenseClassService;
+  @Autowired
+  private FundCodeExpenseClassesService fundCodeExpenseClassesService;
 
   public ExpenseClassesApi() {
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
@@ -58,8 +61,12 @@ public class ExpenseClassesApi extends BaseApi implements FinanceExpenseClasses
       asyncResultHandler.handle(succeededFuture(buildErrorResponse(new HttpException(422, MISMATCH_BETWEEN_ID_IN_PATH_AND_BODY))));
       return;
     }
-    expenseClassService.updateExpenseClass(id, entity, new RequestContext(vertxContext, okapiHeaders))
-      .onSuccess(v -> asyncResultHandler.handle(succeededFuture(buildNoContentResponse())))
+    RequestContext requestContext = new RequestContext(vertxContext, okapiHeaders);
+    expenseClassService.updateExpenseClass(id, entity, requestContext)
+      .onSuccess(v -> {
+        fundCodeExpenseClassesService.invalidateCache(requestContext);
+        asyncResultHandler.handle(succeededFuture(buildNoContentResponse()));
+      })
       .onFailure(fail -> handleErrorResponse(asyncResultHandler, fail));
   }
 
@@ -74,8 +81,12 @@ public class ExpenseClassesApi extends BaseApi implements FinanceExpenseClasses
   @Override
   @Validate
   public void deleteFinanceExpenseClassesById(String id, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    expenseClassService.deleteExpenseClass(id, new RequestContext(vertxContext, okapiHeaders))
-      .onSuccess(v -> asyncResultHandler.handle(succeededFuture(buildNoContentResponse())))
+    RequestContext requestContext = new RequestContext(vertxContext, okapiHeaders);
+    expenseClassService.deleteExpenseClass(id, requestContext)
+      .onSuccess(v -> {
+        fundCodeExpenseClassesService.invalidateCache(requestContext);
+        asyncResultHandler.handle(succeededFuture(buildNoContentResponse()));
+      })
       .onFailure(fail -> handleErrorResponse(asyncResultHandler, fail));
   }
 }
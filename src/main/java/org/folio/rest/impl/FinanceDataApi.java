@@ -1,27 +1,44 @@
 package org.folio.rest.impl;
 
 import static io.vertx.core.Future.succeededFuture;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static javax.ws.rs.core.HttpHeaders.LOCATION;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static org.folio.rest.util.HelperUtils.getEndpoint;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.ext.web.RoutingContext;
 
 import java.util.Map;
 import javax.ws.rs.core.Response;
 
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.model.FundUpdateLog;
 import org.folio.rest.jaxrs.model.FyFinanceDataCollection;
 import org.folio.rest.jaxrs.resource.FinanceFinanceData;
+import org.folio.rest.jaxrs.resource.FinanceFundUpdateLogs;
+import org.folio.services.financedata.FinanceDataExportFormat;
+import org.folio.services.financedata.FinanceDataExportService;
 import org.folio.services.financedata.FinanceDataService;
 import org.folio.spring.SpringContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 
 public class FinanceDataApi extends BaseApi implements FinanceFinanceData {
 
+  private static final String RESPOND_ASYNC = "respond-async";
+  private static final String PREFERENCE_APPLIED = "Preference-Applied";
+  private static final String FUND_UPDATE_LOG_LOCATION_PREFIX = getEndpoint(FinanceFundUpdateLogs.class) + "/%s";
+
   @Autowired
   private FinanceDataService financeDataService;
+  @Autowired
+  private FinanceDataExportService financeDataExportService;
 
   public FinanceDataApi() {
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
@@ -40,9 +57,69 @@ public class FinanceDataApi extends BaseApi implements FinanceFinanceData {
 
   @Override
   @Validate
-  public void putFinanceFinanceData(FyFinanceDataCollection entity, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    financeDataService.putFinanceData(entity, new RequestContext(vertxContext, okapiHeaders))
+  public void getFinanceFinanceDataExport(String query, String format, RoutingContext routingContext,
+                                          Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+                                          Context vertxContext) {
+    FinanceDataExportFormat exportFormat;
+    try {
+      exportFormat = FinanceDataExportFormat.fromValue(format);
+    } catch (Exception e) {
+      handleErrorResponse(asyncResultHandler, e);
+      return;
+    }
+    // rows are written to the response as they are read, so the response is not built by RMB
+    var response = routingContext.response()
+      .setChunked(true)
+      .putHeader(CONTENT_TYPE, exportFormat.getContentType());
+    financeDataExportService.exportFinanceData(query, exportFormat, response, new RequestContext(vertxContext, okapiHeaders))
+      .onSuccess(v -> response.end())
+      .onFailure(fail -> {
+        if (response.headWritten()) {
+          // the status is already sent, the client must not take the truncated export for a complete one
+          response.reset();
+        } else {
+          handleErrorResponse(asyncResultHandler, fail);
+        }
+      });
+  }
+
+  @Override
+  @Validate
+  public void putFinanceFinanceData(String prefer, FyFinanceDataCollection entity, Map<String, String> okapiHeaders,
+                                    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    var requestContext = new RequestContext(vertxContext, okapiHeaders);
+    if (isAsyncUpdate(prefer, entity)) {
+      financeDataService.putFinanceDataAsync(entity, requestContext)
+        .onSuccess(fundUpdateLog -> asyncResultHandler.handle(succeededFuture(buildAcceptedResponse(fundUpdateLog))))
+        .onFailure(fail -> handleErrorResponse(asyncResultHandler, fail));
+      return;
+    }
+    financeDataService.putFinanceData(entity, requestContext)
       .onSuccess(financeDataCollection -> asyncResultHandler.handle(succeededFuture(buildOkResponse(financeDataCollection))))
       .onFailure(fail -> handleErrorResponse(asyncResultHandler, fail));
   }
+
+  private boolean isAsyncUpdate(String prefer, FyFinanceDataCollection entity) {
+    // preview and empty updates have nothing to run in the background
+    return StringUtils.containsIgnoreCase(prefer, RESPOND_ASYNC)
+      && entity.getUpdateType() == FyFinanceDataCollection.UpdateType.COMMIT
+      && CollectionUtils.isNotEmpty(entity.getFyFinanceData());
+  }
+
+  private Response buildAcceptedResponse(FundUpdateLog fundUpdateLog) {
+    // job details hold the whole finance data collection, they are read from the log by its location when needed
+    var acceptedLog = new FundUpdateLog()
+      .withId(fundUpdateLog.getId())
+      .withJobName(fundUpdateLog.getJobName())
+      .withJobNumber(fundUpdateLog.getJobNumber())
+      .withStatus(fundUpdateLog.getStatus())
+      .withRecordsCount(fundUpdateLog.getRecordsCount())
+      .withLedgerId(fundUpdateLog.getLedgerId())
+      .withAcqUnitIds(fundUpdateLog.getAcqUnitIds());
+    return Response.accepted(acceptedLog)
+      .type(APPLICATION_JSON)
+      .header(LOCATION, String.format(FUND_UPDATE_LOG_LOCATION_PREFIX, fundUpdateLog.getId()))
+      .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+      .build();
+  }
 }
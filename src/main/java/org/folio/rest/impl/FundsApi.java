@@ -17,6 +17,7 @@ import org.folio.rest.jaxrs.model.FundType;
 import org.folio.rest.jaxrs.resource.FinanceFundTypes;
 import org.folio.rest.jaxrs.resource.FinanceFunds;
 import org.folio.rest.util.HelperUtils;
+import org.folio.services.fund.FundCodeExpenseClassesService;
 import org.folio.services.fund.FundDetailsService;
 import org.folio.services.fund.FundService;
 import org.folio.spring.SpringContextUtil;
@@ -36,6 +37,8 @@ public class FundsApi extends BaseApi implements FinanceFunds, FinanceFundTypes{
   private FundDetailsService fundDetailsService;
   @Autowired
   private FundService fundService;
+  @Autowired
+  private FundCodeExpenseClassesService fundCodeExpenseClassesService;
 
   public FundsApi() {
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
@@ -46,9 +49,13 @@ public class FundsApi extends BaseApi implements FinanceFunds, FinanceFundTypes{
   public void postFinanceFunds(CompositeFund compositeFund, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     FundsHelper helper = new FundsHelper(okapiHeaders, vertxContext);
 
-    helper.createFund(compositeFund, new RequestContext(vertxContext, okapiHeaders))
-      .onSuccess(fund -> asyncResultHandler
-        .handle(succeededFuture(helper.buildResponseWithLocation(String.format(FUNDS_LOCATION_PREFIX, fund.getFund().getId()), fund))))
+    RequestContext requestContext = new RequestContext(vertxContext, okapiHeaders);
+    helper.createFund(compositeFund, requestContext)
+      .onSuccess(fund -> {
+        fundCodeExpenseClassesService.invalidateCache(requestContext);
+        asyncResultHandler
+          .handle(succeededFuture(helper.buildResponseWithLocation(String.format(FUNDS_LOCATION_PREFIX, fund.getFund().getId()), fund)));
+      })
       .onFailure(fail -> HelperUtils.handleErrorResponse(asyncResultHandler, helper, fail));
   }
 
@@ -78,8 +85,12 @@ public class FundsApi extends BaseApi implements FinanceFunds, FinanceFundTypes{
       return;
     }
 
-    helper.updateFund(compositeFund, new RequestContext(vertxContext, okapiHeaders))
-      .onSuccess(types -> asyncResultHandler.handle(succeededFuture(helper.buildNoContentResponse())))
+    RequestContext requestContext = new RequestContext(vertxContext, okapiHeaders);
+    helper.updateFund(compositeFund, requestContext)
+      .onSuccess(types -> {
+        fundCodeExpenseClassesService.invalidateCache(requestContext);
+        asyncResultHandler.handle(succeededFuture(helper.buildNoContentResponse()));
+      })
       .onFailure(fail -> HelperUtils.handleErrorResponse(asyncResultHandler, helper, fail));
   }
 
@@ -102,8 +113,12 @@ public class FundsApi extends BaseApi implements FinanceFunds, FinanceFundTypes{
 
     FundsHelper helper = new FundsHelper(headers, ctx);
 
-    helper.deleteFund(id, new RequestContext(ctx, headers))
-      .onSuccess(types -> handler.handle(succeededFuture(helper.buildNoContentResponse())))
+    RequestContext requestContext = new RequestContext(ctx, headers);
+    helper.deleteFund(id, requestContext)
+      .onSuccess(types -> {
+        fundCodeExpenseClassesService.invalidateCache(requestContext);
+        handler.handle(succeededFuture(helper.buildNoContentResponse()));
+      })
       .onFailure(fail -> HelperUtils.handleErrorResponse(handler, helper, fail));
   }
 
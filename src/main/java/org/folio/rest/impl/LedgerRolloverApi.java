@@ -12,6 +12,7 @@ import org.folio.rest.annotations.Validate;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.LedgerFiscalYearRollover;
 import org.folio.rest.jaxrs.resource.FinanceLedgerRollovers;
+import org.folio.services.ledger.LedgerRolloverPreviewService;
 import org.folio.services.ledger.LedgerRolloverService;
 import org.folio.spring.SpringContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +28,8 @@ public class LedgerRolloverApi extends BaseApi implements FinanceLedgerRollovers
 
   @Autowired
   private LedgerRolloverService ledgerRolloverService;
+  @Autowired
+  private LedgerRolloverPreviewService ledgerRolloverPreviewService;
 
   public LedgerRolloverApi() {
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
@@ -59,4 +62,13 @@ public class LedgerRolloverApi extends BaseApi implements FinanceLedgerRollovers
       .onSuccess(rollover -> asyncResultHandler.handle(succeededFuture(buildOkResponse(rollover))))
       .onFailure(fail -> handleErrorResponse(asyncResultHandler, fail));
   }
+
+  @Override
+  @Validate
+  public void getFinanceLedgerRolloversBudgetsDiffById(String id, String baseRolloverId, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    ledgerRolloverPreviewService.getLedgerRolloverBudgetsDiff(id, baseRolloverId, new RequestContext(vertxContext, okapiHeaders))
+      .onSuccess(diff -> asyncResultHandler.handle(succeededFuture(buildOkResponse(diff))))
+      .onFailure(fail -> handleErrorResponse(asyncResultHandler, fail));
+  }
 }
@@ -9,6 +9,7 @@ import javax.ws.rs.core.Response;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.resource.FinanceLedgerRolloversBudgets;
 import org.folio.services.ledger.LedgerRolloverBudgetsService;
+import org.folio.services.ledger.LedgerRolloverPreviewService;
 import org.folio.spring.SpringContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -21,16 +22,19 @@ public class LedgerRolloverBudgetsApi extends BaseApi implements FinanceLedgerRo
 
   @Autowired
   private LedgerRolloverBudgetsService ledgerRolloverBudgetsService;
+  @Autowired
+  private LedgerRolloverPreviewService ledgerRolloverPreviewService;
 
   public LedgerRolloverBudgetsApi() {
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
   }
 
   @Override
-  public void getFinanceLedgerRolloversBudgets(String query, String totalRecords, int offset, int limit, Map<String, String> okapiHeaders,
+  public void getFinanceLedgerRolloversBudgets(String query, String totalRecords, int offset, int limit, String ifNoneMatch,
+                                               Map<String, String> okapiHeaders,
                                                Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
-    ledgerRolloverBudgetsService.retrieveLedgerRolloverBudgets(query, offset, limit, new RequestContext(vertxContext, okapiHeaders))
-      .onSuccess(ledgerRolloverBudgets -> asyncResultHandler.handle(succeededFuture(buildOkResponse(ledgerRolloverBudgets))))
+    ledgerRolloverPreviewService.getLedgerRolloverBudgets(query, offset, limit, new RequestContext(vertxContext, okapiHeaders))
+      .onSuccess(ledgerRolloverBudgets -> asyncResultHandler.handle(succeededFuture(buildOkResponse(ledgerRolloverBudgets, ifNoneMatch))))
       .onFailure(fail -> handleErrorResponse(asyncResultHandler, fail));
   }
 
@@ -1,9 +1,12 @@
 package org.folio.rest.impl;
 
 import static io.vertx.core.Future.succeededFuture;
+import static javax.ws.rs.core.HttpHeaders.CACHE_CONTROL;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
 import static org.apache.logging.log4j.util.Strings.isEmpty;
 import static org.folio.rest.RestConstants.OKAPI_URL;
 import static org.folio.rest.util.ErrorCodes.MISMATCH_BETWEEN_ID_IN_PATH_AND_BODY;
+import static org.folio.rest.util.HelperUtils.convertToErrors;
 import static org.folio.rest.util.HelperUtils.getEndpoint;
 
 import java.util.Map;
@@ -16,6 +19,7 @@ import org.folio.rest.exception.HttpException;
 import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverProgress;
 import org.folio.rest.jaxrs.resource.FinanceLedgerRolloversProgress;
 import org.folio.services.ledger.LedgerRolloverProgressService;
+import org.folio.services.ledger.LedgerRolloverProgressStreamService;
 import org.folio.spring.SpringContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -23,13 +27,22 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
 
 public class LedgerRolloverProgressApi extends BaseApi implements FinanceLedgerRolloversProgress {
 
   private static final String LEDGER_ROLLOVER_PROGRESS_LOCATION_PREFIX = getEndpoint(FinanceLedgerRolloversProgress.class) + "/%s";
+  private static final String TEXT_EVENT_STREAM = "text/event-stream";
+  private static final String PROGRESS_EVENT = "event: progress\ndata: %s\n\n";
+  private static final String ERROR_EVENT = "event: error\ndata: %s\n\n";
+  private static final String KEEPALIVE_COMMENT = ":keepalive\n\n";
 
   @Autowired
   private LedgerRolloverProgressService ledgerRolloverProgressService;
+  @Autowired
+  private LedgerRolloverProgressStreamService ledgerRolloverProgressStreamService;
 
   public LedgerRolloverProgressApi() {
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
@@ -61,6 +74,43 @@ public class LedgerRolloverProgressApi extends BaseApi implements FinanceLedgerR
       .onFailure(fail -> handleErrorResponse(asyncResultHandler, fail));
   }
 
+  @Override
+  @Validate
+  public void getFinanceLedgerRolloversProgressStreamById(String id, RoutingContext routingContext, Map<String, String> okapiHeaders,
+    Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    // progress events are written to the response as they are read, so the response is not built by RMB;
+    // the head is sent right away, so the client and the proxies in between see the stream open before the first event
+    var response = routingContext.response()
+      .setChunked(true)
+      .putHeader(CONTENT_TYPE, TEXT_EVENT_STREAM)
+      .putHeader(CACHE_CONTROL, "no-cache");
+    response.writeHead();
+    var subscription = ledgerRolloverProgressStreamService.subscribe(id,
+      progress -> write(response, String.format(PROGRESS_EVENT, JsonObject.mapFrom(progress).encode())),
+      v -> write(response, KEEPALIVE_COMMENT),
+      new RequestContext(vertxContext, okapiHeaders));
+    response.closeHandler(v -> subscription.cancel());
+    subscription.future()
+      .onSuccess(v -> endStream(response))
+      .onFailure(fail -> {
+        // the status is already sent, the client must not take the interrupted stream for a finished rollover
+        write(response, String.format(ERROR_EVENT, JsonObject.mapFrom(convertToErrors(fail)).encode()));
+        endStream(response);
+      });
+  }
+
+  private void write(HttpServerResponse response, String chunk) {
+    if (!response.closed() && !response.ended()) {
+      response.write(chunk);
+    }
+  }
+
+  private void endStream(HttpServerResponse response) {
+    if (!response.closed() && !response.ended()) {
+      response.end();
+    }
+  }
+
   @Override
   @Validate
   public void putFinanceLedgerRolloversProgressById(String id, LedgerFiscalYearRolloverProgress entity, Map<String, String> okapiHeaders,
@@ -14,6 +14,7 @@ import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverError;
 import org.folio.rest.jaxrs.resource.FinanceLedgerRolloversErrors;
 import org.folio.services.ledger.LedgerRolloverErrorsService;
+import org.folio.services.ledger.LedgerRolloverPreviewService;
 import org.folio.spring.SpringContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -26,6 +27,8 @@ public class LedgerRolloversErrorsApi extends BaseApi implements FinanceLedgerRo
 
   @Autowired
   private LedgerRolloverErrorsService ledgerRolloverErrorsService;
+  @Autowired
+  private LedgerRolloverPreviewService ledgerRolloverPreviewService;
 
   public LedgerRolloversErrorsApi() {
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
@@ -34,10 +37,10 @@ public class LedgerRolloversErrorsApi extends BaseApi implements FinanceLedgerRo
   @Override
   @Validate
   public void getFinanceLedgerRolloversErrors(String query, String totalRecords, int offset, int limit, String accept,
-      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+      String ifNoneMatch, Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     RequestContext requestContext = new RequestContext(vertxContext, okapiHeaders);
-    ledgerRolloverErrorsService.getLedgerRolloverErrors(query, offset, limit, accept, requestContext)
-      .onSuccess(rolloverErrors -> asyncResultHandler.handle(succeededFuture(buildOkResponse(rolloverErrors))))
+    ledgerRolloverPreviewService.getLedgerRolloverErrors(query, offset, limit, accept, requestContext)
+      .onSuccess(rolloverErrors -> asyncResultHandler.handle(succeededFuture(buildOkResponse(rolloverErrors, ifNoneMatch))))
       .onFailure(fail -> handleErrorResponse(asyncResultHandler, fail));
   }
 
@@ -47,6 +50,7 @@ public class LedgerRolloversErrorsApi extends BaseApi implements FinanceLedgerRo
       Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     RequestContext requestContext = new RequestContext(vertxContext, okapiHeaders);
     ledgerRolloverErrorsService.createLedgerRolloverError(entity, requestContext)
+      .onSuccess(rolloverError -> ledgerRolloverPreviewService.invalidateLedgerRolloverErrors(requestContext))
       .onSuccess(rolloverError -> asyncResultHandler.handle(succeededFuture(buildResponseWithLocation(
         okapiHeaders.get(OKAPI_URL), resourceByIdPath(LEDGER_ROLLOVERS_ERRORS_STORAGE, rolloverError.getId()),
         rolloverError))))
@@ -59,6 +63,7 @@ public class LedgerRolloversErrorsApi extends BaseApi implements FinanceLedgerRo
       Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     RequestContext requestContext = new RequestContext(vertxContext, okapiHeaders);
     ledgerRolloverErrorsService.deleteLedgerRolloverError(id, requestContext)
+      .onSuccess(v -> ledgerRolloverPreviewService.invalidateLedgerRolloverErrors(requestContext))
       .onSuccess(rolloverError -> asyncResultHandler.handle(succeededFuture(buildNoContentResponse())))
       .onFailure(fail -> handleErrorResponse(asyncResultHandler, fail));
   }
@@ -18,6 +18,7 @@ import org.folio.rest.exception.HttpException;
 import org.folio.rest.jaxrs.model.Ledger;
 import org.folio.rest.jaxrs.resource.FinanceLedgers;
 import org.folio.rest.util.ErrorCodes;
+import org.folio.services.fund.FundCodeExpenseClassesService;
 import org.folio.services.ledger.LedgerDetailsService;
 import org.folio.services.ledger.LedgerService;
 import org.folio.spring.SpringContextUtil;
@@ -36,6 +37,8 @@ public class LedgersApi extends BaseApi implements FinanceLedgers {
   private LedgerDetailsService ledgerDetailsService;
   @Autowired
   private LedgerService ledgerService;
+  @Autowired
+  private FundCodeExpenseClassesService fundCodeExpenseClassesService;
 
   public LedgersApi() {
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
@@ -74,8 +77,12 @@ public class LedgersApi extends BaseApi implements FinanceLedgers {
       return;
     }
 
-    ledgerService.updateLedger(entity, new RequestContext(ctx, headers))
-      .onSuccess(types -> handler.handle(succeededFuture(buildNoContentResponse())))
+    RequestContext requestContext = new RequestContext(ctx, headers);
+    ledgerService.updateLedger(entity, requestContext)
+      .onSuccess(types -> {
+        fundCodeExpenseClassesService.invalidateCache(requestContext);
+        handler.handle(succeededFuture(buildNoContentResponse()));
+      })
       .onFailure(fail -> handleErrorResponse(handler, fail));
   }
 
@@ -94,8 +101,12 @@ public class LedgersApi extends BaseApi implements FinanceLedgers {
   public void deleteFinanceLedgersById(String id, Map<String, String> headers, Handler<AsyncResult<Response>> handler,
       Context ctx) {
 
-    ledgerService.deleteLedger(id, new RequestContext(ctx, headers))
-      .onSuccess(types -> handler.handle(succeededFuture(buildNoContentResponse())))
+    RequestContext requestContext = new RequestContext(ctx, headers);
+    ledgerService.deleteLedger(id, requestContext)
+      .onSuccess(types -> {
+        fundCodeExpenseClassesService.invalidateCache(requestContext);
+        handler.handle(succeededFuture(buildNoContentResponse()));
+      })
       .onFailure(fail -> handleErrorResponse(handler, fail));
   }
 
@@ -18,6 +18,9 @@ public final class BudgetUtils {
 
   public static final List<Transaction.TransactionType> TRANSFER_TRANSACTION_TYPES = List.of(Transaction.TransactionType.TRANSFER, Transaction.TransactionType.ROLLOVER_TRANSFER);
   public static final List<TransactionType> TRANSFER_TRANSACTION_TOTAL_TYPES = List.of(TransactionType.TRANSFER, TransactionType.ROLLOVER_TRANSFER);
+  // Only these transaction types contribute to expense class totals
+  public static final List<Transaction.TransactionType> EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES = List.of(Transaction.TransactionType.ENCUMBRANCE,
+    Transaction.TransactionType.PENDING_PAYMENT, Transaction.TransactionType.PAYMENT, Transaction.TransactionType.CREDIT);
 
   public static SharedBudget buildSharedBudget(Budget budget, List<BudgetExpenseClass> budgetExpenseClasses) {
     List<StatusExpenseClass> statusExpenseClasses = budgetExpenseClasses.stream()
@@ -16,6 +16,12 @@ public class CacheUtils {
     return buildCache(task -> context.runOnContext(v -> task.run()), cacheExpirationTime);
   }
 
+  public static <K, V> Cache<K, V> buildCache(long cacheExpirationTime) {
+    return Caffeine.newBuilder()
+      .expireAfterWrite(cacheExpirationTime, TimeUnit.SECONDS)
+      .build();
+  }
+
   private static <K, V> Cache<K, V> buildCache(Executor executor, long cacheExpirationTime) {
     return Caffeine.newBuilder()
       .expireAfterWrite(cacheExpirationTime, TimeUnit.SECONDS)
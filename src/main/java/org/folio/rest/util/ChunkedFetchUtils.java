@@ -0,0 +1,134 @@
+package org.folio.rest.util;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.RestConstants.MAX_CONCURRENT_CHUNK_REQUESTS;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import lombok.experimental.UtilityClass;
+import one.util.streamex.StreamEx;
+
+@UtilityClass
+public class ChunkedFetchUtils {
+
+  /**
+   * Split values into chunks and fetch them with at most {@link org.folio.rest.RestConstants#MAX_CONCURRENT_CHUNK_REQUESTS}
+   * chunk requests in flight.
+   *
+   * @see #fetchInChunks(Collection, int, int, Function)
+   */
+  public static <T, R> Future<List<R>> fetchInChunks(Collection<T> values, int chunkSize,
+                                                     Function<List<T>, Future<List<R>>> chunkFetcher) {
+    return fetchInChunks(values, chunkSize, MAX_CONCURRENT_CHUNK_REQUESTS, chunkFetcher);
+  }
+
+  /**
+   * Split values into chunks of {@code chunkSize} and fetch them keeping no more than {@code maxInFlight} chunk requests
+   * running at the same time. The next chunk is requested as soon as one of the running requests completes.
+   *
+   * @param values       values (usually ids) to fetch records by
+   * @param chunkSize    max number of values in one chunk request
+   * @param maxInFlight  max number of chunk requests running concurrently
+   * @param chunkFetcher function fetching records for a single chunk
+   * @return future with the records of all chunks in the chunks order, failed with the first chunk failure once the requests
+   * already running are settled; no new chunks are requested after a failure
+   */
+  public static <T, R> Future<List<R>> fetchInChunks(Collection<T> values, int chunkSize, int maxInFlight,
+                                                     Function<List<T>, Future<List<R>>> chunkFetcher) {
+    List<List<T>> chunks = StreamEx.ofSubLists(new ArrayList<>(values), chunkSize).toList();
+    if (chunks.isEmpty()) {
+      return succeededFuture(List.of());
+    }
+    return new ChunkedFetch<>(chunks, chunkFetcher).start(Math.min(Math.max(maxInFlight, 1), chunks.size()));
+  }
+
+  /**
+   * Run {@code action} for every value keeping no more than {@code maxInFlight} actions running at the same time,
+   * e.g. to create or delete many records without flooding the storage.
+   *
+   * @param values      values (usually records) to run the action for
+   * @param maxInFlight max number of actions running concurrently
+   * @param action      action to run for a single value
+   * @return future completed when all actions succeeded, failed with the first failure once the actions already running
+   * are settled, so no action is still in flight when the failure is reported; no new actions are started after it
+   */
+  public static <T> Future<Void> runWithConcurrencyLimit(Collection<T> values, int maxInFlight, Function<T, Future<?>> action) {
+    return fetchInChunks(values, 1, maxInFlight, chunk -> action.apply(chunk.getFirst()).map(result -> List.of()))
+      .mapEmpty();
+  }
+
+  private static final class ChunkedFetch<T, R> {
+    private final List<List<T>> chunks;
+    private final Function<List<T>, Future<List<R>>> chunkFetcher;
+    private final AtomicReferenceArray<List<R>> results;
+    private final AtomicInteger nextChunk = new AtomicInteger();
+    private final AtomicInteger runningChunks = new AtomicInteger();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final Promise<List<R>> promise = Promise.promise();
+
+    private ChunkedFetch(List<List<T>> chunks, Function<List<T>, Future<List<R>>> chunkFetcher) {
+      this.chunks = chunks;
+      this.chunkFetcher = chunkFetcher;
+      this.results = new AtomicReferenceArray<>(chunks.size());
+    }
+
+    private Future<List<R>> start(int workers) {
+      for (int i = 0; i < workers; i++) {
+        fetchNextChunk();
+      }
+      return promise.future();
+    }
+
+    private void fetchNextChunk() {
+      // after a failure no new chunk is requested, the running ones are awaited
+      int index = failure.get() == null ? nextChunk.getAndIncrement() : chunks.size();
+      if (index >= chunks.size()) {
+        completeIfSettled();
+        return;
+      }
+      runningChunks.incrementAndGet();
+      succeededFuture(chunks.get(index))
+        .compose(chunkFetcher)
+        .onComplete(ar -> {
+          runningChunks.decrementAndGet();
+          if (ar.failed()) {
+            failure.compareAndSet(null, ar.cause());
+          } else {
+            results.set(index, ar.result());
+          }
+          fetchNextChunk();
+        });
+    }
+
+    private void completeIfSettled() {
+      if (runningChunks.get() > 0 || promise.future().isComplete()) {
+        return;
+      }
+      Throwable cause = failure.get();
+      if (cause != null) {
+        promise.tryFail(cause);
+      } else {
+        promise.tryComplete(collectResults());
+      }
+    }
+
+    private List<R> collectResults() {
+      List<R> records = new ArrayList<>();
+      for (int i = 0; i < results.length(); i++) {
+        List<R> chunkRecords = results.get(i);
+        if (chunkRecords != null) {
+          records.addAll(chunkRecords);
+        }
+      }
+      return records;
+    }
+  }
+}
@@ -38,12 +38,15 @@ public enum ErrorCodes {
   TRANSACTION_NOT_RELEASED("transactionNotReleased", "Encumbrance should be released before deletion"),
   UPDATE_PAYMENT_TO_CANCEL_INVOICE("updatePaymentToCancelInvoice", "A payment can only be updated to cancel an invoice"),
   UPDATE_CREDIT_TO_CANCEL_INVOICE("updateCreditToCancelInvoice", "A credit can only be updated to cancel an invoice"),
+  INVALID_ENCUMBRANCES_SELECTION("invalidEncumbrancesSelection", "Either ids or query must be provided to select encumbrances"),
+  ENCUMBRANCE_NOT_FOUND("encumbranceNotFound", "Encumbrance not found"),
   CONFLICT("conflict", "Conflict when updating a record"),
   BUDGET_STATUS_INCORRECT("budgetStatusIncorrect", "Budget status is incorrect"),
   FUND_STATUS_INCORRECT("fundStatusIncorrect", "Fund status is incorrect"),
   NEGATIVE_ALLOCATION("negativeBudgetAllocation", "A negative budget allocation is not allowed"),
   UNSUPPORTED_EXCHANGE_RATE_FROM_CURRENCY("unsupportedExchangeRateFromCurrency", "Unsupported exchange rate from currency - Treasury.gov handler does not support using other 'from' currencies apart from USD"),
-  CANNOT_CONVERT_AMOUNT_INVALID_CURRENCY("cannotConvertAmountInvalidCurrency", "Cannot convert amount, rate provider does not support either 'from' or 'to' currency in the request");
+  CANNOT_CONVERT_AMOUNT_INVALID_CURRENCY("cannotConvertAmountInvalidCurrency", "Cannot convert amount, rate provider does not support either 'from' or 'to' currency in the request"),
+  UNSUPPORTED_FINANCE_DATA_EXPORT_FORMAT("unsupportedFinanceDataExportFormat", "Unsupported finance data export format, supported formats are csv and ndjson");
 
   private final String code;
   private final String description;
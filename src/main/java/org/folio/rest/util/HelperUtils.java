@@ -46,6 +46,7 @@ public final class HelperUtils {
   public static final String ID = "id";
   public static final String OKAPI_URL = "X-Okapi-Url";
   private static final String ERROR_CAUSE = "cause";
+  private static final int UUID_LENGTH = 36;
   private static final Pattern CQL_SORT_BY_PATTERN = Pattern.compile("(.*)(\\ssortBy\\s.*)", Pattern.CASE_INSENSITIVE);
 
   private HelperUtils() {
@@ -208,6 +209,18 @@ public final class HelperUtils {
       .joining(") " + operator + " (", "(", ")") + sorting;
   }
 
+  /**
+   * @param query CQL query, may be empty
+   * @return the query without its sortBy clause
+   */
+  public static String removeCqlSorting(String query) {
+    if (StringUtils.isEmpty(query)) {
+      return query;
+    }
+    Matcher matcher = CQL_SORT_BY_PATTERN.matcher(query);
+    return matcher.find() ? matcher.group(1) : query;
+  }
+
   public static void removeInitialAllocationByFunds(List<Transaction> allocationToList) {
     Map<String, List<Transaction>> fundToTransactions = allocationToList.stream()
       .filter(transaction -> Objects.isNull(transaction.getFromFundId()))
@@ -220,6 +233,29 @@ public final class HelperUtils {
     });
   }
 
+  /**
+   * Checks that the value is a UUID in the canonical 8-4-4-4-12 hex digits form, without parsing it
+   * and without throwing for invalid values.
+   *
+   * @param value value to check
+   * @return true if the value is a canonical UUID
+   */
+  public static boolean isValidUuid(String value) {
+    if (value == null || value.length() != UUID_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < UUID_LENGTH; i++) {
+      char c = value.charAt(i);
+      boolean valid = (i == 8 || i == 13 || i == 18 || i == 23)
+        ? c == '-'
+        : Character.digit(c, 16) >= 0;
+      if (!valid) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public static String errorsAsString(Errors errors) {
     return Optional.ofNullable(JsonObject.mapFrom(errors).encode()).orElse(ErrorCodes.GENERIC_ERROR_CODE.getDescription());
   }
@@ -0,0 +1,64 @@
+package org.folio.rest.util;
+
+import static io.vertx.core.Future.failedFuture;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.core.RestClient;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.exception.HttpException;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class RollbackUtils {
+
+  private static final Logger log = LogManager.getLogger();
+
+  private static final String VERSION = "_version";
+
+  /**
+   * Puts the previous state of a record back after it was successfully updated and a subsequent step of the same operation
+   * failed. The storage increments {@code _version} on every update, so the record is restored with the version following
+   * the one of {@code previousState}, without reading it again. Only if this conflicts (the record was changed
+   * in the meantime), the latest version is read and the restore is retried once.
+   *
+   * @param restClient     rest client
+   * @param endpoint       endpoint of the record
+   * @param previousState  record state read from the storage before the update
+   * @param cause          failure of the operation, the returned future always fails with it
+   * @param requestContext request context
+   * @return future failed with {@code cause}
+   */
+  public static <T> Future<Void> rollbackUpdate(RestClient restClient, String endpoint, T previousState, Throwable cause,
+                                                RequestContext requestContext) {
+    JsonObject previousJson = JsonObject.mapFrom(previousState);
+    Integer previousVersion = previousJson.getInteger(VERSION);
+    // records without version are not under optimistic locking, so they are restored as they were
+    Future<Void> restore = previousVersion == null
+      ? restClient.put(endpoint, previousJson.getMap(), requestContext)
+      : restClient.put(endpoint, previousJson.copy().put(VERSION, previousVersion + 1).getMap(), requestContext);
+    return restore
+      .recover(t -> isConflict(t)
+        ? restClient.getAsJsonObject(endpoint, requestContext)
+            .compose(latest -> restClient.put(endpoint, withVersionOf(previousJson, latest).getMap(), requestContext))
+        : failedFuture(t))
+      .onSuccess(v -> log.info("rollbackUpdate:: Rolled back {}, outcome=restored, cause={}", endpoint, cause.getMessage()))
+      .onFailure(t -> log.error("rollbackUpdate:: Failed to roll back {}, outcome=failed, cause={}", endpoint, cause.getMessage(), t))
+      .transform(ar -> failedFuture(cause));
+  }
+
+  private static JsonObject withVersionOf(JsonObject previousJson, JsonObject latest) {
+    JsonObject restored = previousJson.copy();
+    if (latest.containsKey(VERSION)) {
+      restored.put(VERSION, latest.getValue(VERSION));
+    }
+    return restored;
+  }
+
+  private static boolean isConflict(Throwable t) {
+    return t instanceof HttpException httpException && httpException.getCode() == 409;
+  }
+}
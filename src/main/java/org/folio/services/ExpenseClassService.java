@@ -1,13 +1,12 @@
 package org.folio.services;
 
 import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
-import static org.folio.rest.util.HelperUtils.collectResultsOnSuccess;
+import static org.folio.rest.util.ChunkedFetchUtils.fetchInChunks;
 import static org.folio.rest.util.HelperUtils.convertIdsToCqlQuery;
 import static org.folio.rest.util.ResourcePathResolver.EXPENSE_CLASSES_STORAGE_URL;
 import static org.folio.rest.util.ResourcePathResolver.resourceByIdPath;
 import static org.folio.rest.util.ResourcePathResolver.resourcesPath;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,7 +17,6 @@ import org.folio.rest.jaxrs.model.ExpenseClass;
 import org.folio.rest.jaxrs.model.ExpenseClassCollection;
 
 import io.vertx.core.Future;
-import one.util.streamex.StreamEx;
 
 public class ExpenseClassService {
 
@@ -63,13 +61,13 @@ public class ExpenseClassService {
       .map(ExpenseClassCollection::getExpenseClasses);
   }
 
+  public Future<List<ExpenseClass>> getExpenseClassesByIds(List<String> ids, RequestContext requestContext) {
+    return fetchInChunks(ids, MAX_IDS_FOR_GET_RQ, idsChunk -> getExpenseClasses(convertIdsToCqlQuery(idsChunk), 0, Integer.MAX_VALUE, requestContext)
+      .map(ExpenseClassCollection::getExpenseClasses));
+  }
+
   public Future<List<ExpenseClass>> getExpenseClassesByBudgetIds(List<String> budgetIds, RequestContext requestContext) {
-    List<Future<List<ExpenseClass>>> futures = StreamEx
-      .ofSubLists(budgetIds, MAX_IDS_FOR_GET_RQ)
-      .map(ids ->  getExpenseClassesChunk(ids, requestContext))
-      .collect(Collectors.toList());
-    return collectResultsOnSuccess(futures)
-      .map(listList -> listList.stream().flatMap(Collection::stream).collect(Collectors.toList()))
+    return fetchInChunks(budgetIds, MAX_IDS_FOR_GET_RQ, ids -> getExpenseClassesChunk(ids, requestContext))
       .map(expenseClasses -> expenseClasses.stream().distinct().collect(Collectors.toList()));
   }
 
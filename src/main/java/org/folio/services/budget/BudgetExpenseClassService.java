@@ -3,20 +3,18 @@ package org.folio.services.budget;
 import static io.vertx.core.Future.succeededFuture;
 import static java.lang.Integer.MAX_VALUE;
 import static java.util.function.UnaryOperator.identity;
-import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
-import static one.util.streamex.StreamEx.ofSubLists;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
+import static org.folio.rest.RestConstants.MAX_CONCURRENT_WRITE_REQUESTS;
 import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
 import static org.folio.rest.util.ErrorCodes.TRANSACTION_IS_PRESENT_BUDGET_EXPENSE_CLASS_DELETE_ERROR;
-import static org.folio.rest.util.HelperUtils.collectResultsOnSuccess;
+import static org.folio.rest.util.ChunkedFetchUtils.fetchInChunks;
+import static org.folio.rest.util.ChunkedFetchUtils.runWithConcurrencyLimit;
 import static org.folio.rest.util.HelperUtils.convertIdsToCqlQuery;
 import static org.folio.rest.util.ResourcePathResolver.BUDGET_EXPENSE_CLASSES;
 import static org.folio.rest.util.ResourcePathResolver.resourceByIdPath;
 import static org.folio.rest.util.ResourcePathResolver.resourcesPath;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -33,9 +31,11 @@ import org.folio.rest.jaxrs.model.BudgetExpenseClass;
 import org.folio.rest.jaxrs.model.BudgetExpenseClassCollection;
 import org.folio.rest.jaxrs.model.SharedBudget;
 import org.folio.rest.jaxrs.model.StatusExpenseClass;
+import org.folio.rest.util.RollbackUtils;
 import org.folio.services.transactions.TransactionService;
 
 import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
 
 public class BudgetExpenseClassService {
 
@@ -76,7 +76,21 @@ public class BudgetExpenseClassService {
       .map(budgetExpenseClasses -> mapBudgetExpenseClassesByOperation(budgetExpenseClasses, sharedBudget))
       .compose(budgetExpenseClassHolder -> createBudgetExpenseClasses(budgetExpenseClassHolder.getCreateList(), requestContext)
         .compose(aVoid -> updateBudgetExpenseClasses(budgetExpenseClassHolder.getUpdateList(), requestContext))
-        .compose(aVoid -> deleteBudgetExpenseClasses(budgetExpenseClassHolder.getDeleteList(), sharedBudget, requestContext)));
+        .compose(aVoid -> deleteBudgetExpenseClasses(budgetExpenseClassHolder.getDeleteList(), sharedBudget, requestContext)
+          .recover(t -> rollbackBudgetExpenseClassesUpdates(budgetExpenseClassHolder.getStatesBeforeUpdate(), t, requestContext))));
+  }
+
+  private Future<Void> rollbackBudgetExpenseClassesUpdates(List<BudgetExpenseClass> statesBeforeUpdate, Throwable t,
+                                                           RequestContext requestContext) {
+    if (statesBeforeUpdate.isEmpty()) {
+      return Future.failedFuture(t);
+    }
+    var futures = statesBeforeUpdate.stream()
+      .map(budgetExpenseClass -> RollbackUtils.rollbackUpdate(restClient, resourceByIdPath(BUDGET_EXPENSE_CLASSES, budgetExpenseClass.getId()),
+        budgetExpenseClass, t, requestContext))
+      .toList();
+    return Future.join(futures)
+      .transform(ar -> Future.failedFuture(t));
   }
 
   private BudgetExpenseClassHolder mapBudgetExpenseClassesByOperation(List<BudgetExpenseClass> budgetExpenseClasses, SharedBudget sharedBudget) {
@@ -88,6 +102,7 @@ public class BudgetExpenseClassService {
       if (map.containsKey(statusExpenseClass.getExpenseClassId())) {
         BudgetExpenseClass budgetExpenseClass = map.get(statusExpenseClass.getExpenseClassId());
         if (isDifferentStatuses(statusExpenseClass, budgetExpenseClass)) {
+          holder.addToStatesBeforeUpdate(JsonObject.mapFrom(budgetExpenseClass).mapTo(BudgetExpenseClass.class));
           budgetExpenseClass.setStatus(BudgetExpenseClass.Status.fromValue(statusExpenseClass.getStatus().value()));
           holder.addToUpdateList(budgetExpenseClass);
         }
@@ -109,10 +124,9 @@ public class BudgetExpenseClassService {
       return succeededFuture(null);
     }
     return checkNoTransactionsAssigned(deleteList, budget, requestContext)
-      .compose(v -> Future.all(deleteList.stream()
-        .map(budgetExpenseClass -> restClient.delete(resourceByIdPath(BUDGET_EXPENSE_CLASSES, budgetExpenseClass.getId()), requestContext))
-        .collect(Collectors.toList())))
-      .mapEmpty();
+      .compose(v -> runWithConcurrencyLimit(deleteList, MAX_CONCURRENT_WRITE_REQUESTS,
+        budgetExpenseClass -> restClient.delete(resourceByIdPath(BUDGET_EXPENSE_CLASSES, budgetExpenseClass.getId()), requestContext)))
+      .onSuccess(v -> log.info("deleteBudgetExpenseClasses:: {} budget expense class(es) deleted for budget '{}'", deleteList.size(), budget.getId()));
   }
 
   private Future<Void> checkNoTransactionsAssigned(List<BudgetExpenseClass> deleteList, SharedBudget budget, RequestContext requestContext) {
@@ -132,20 +146,18 @@ public class BudgetExpenseClassService {
     if (updateList.isEmpty()) {
       return succeededFuture(null);
     }
-    return Future.all(updateList.stream()
-        .map(budgetExpenseClass -> restClient.put(resourceByIdPath(BUDGET_EXPENSE_CLASSES, budgetExpenseClass.getId()), budgetExpenseClass, requestContext))
-        .collect(Collectors.toList()))
-      .mapEmpty();
+    return runWithConcurrencyLimit(updateList, MAX_CONCURRENT_WRITE_REQUESTS,
+      budgetExpenseClass -> restClient.put(resourceByIdPath(BUDGET_EXPENSE_CLASSES, budgetExpenseClass.getId()), budgetExpenseClass, requestContext))
+      .onSuccess(v -> log.info("updateBudgetExpenseClasses:: {} budget expense class(es) updated", updateList.size()));
   }
 
   private Future<Void> createBudgetExpenseClasses(List<BudgetExpenseClass> createList, RequestContext requestContext) {
     if (createList.isEmpty()) {
       return succeededFuture(null);
     }
-    var futures = createList.stream()
-      .map(budgetExpenseClass -> restClient.post(resourcesPath(BUDGET_EXPENSE_CLASSES), budgetExpenseClass, BudgetExpenseClass.class, requestContext))
-      .collect(Collectors.toList());
-    return Future.join(futures).mapEmpty();
+    return runWithConcurrencyLimit(createList, MAX_CONCURRENT_WRITE_REQUESTS,
+        budgetExpenseClass -> restClient.post(resourcesPath(BUDGET_EXPENSE_CLASSES), budgetExpenseClass, BudgetExpenseClass.class, requestContext))
+      .onSuccess(v -> log.info("createBudgetExpenseClasses:: {} budget expense class(es) created", createList.size()));
   }
 
   private boolean isDifferentStatuses(StatusExpenseClass statusExpenseClass, BudgetExpenseClass budgetExpenseClass) {
@@ -160,10 +172,7 @@ public class BudgetExpenseClassService {
   }
 
   public Future<List<BudgetExpenseClass>> getBudgetExpenseClasses(List<String> budgetsIds, RequestContext requestContext) {
-    return collectResultsOnSuccess(ofSubLists(new ArrayList<>(budgetsIds), MAX_IDS_FOR_GET_RQ).map(ids -> getBudgetExpenseClassesByIds(ids, requestContext)).collect(Collectors.toList()))
-      .map(lists -> lists.stream()
-        .flatMap(Collection::stream)
-        .collect(toList()));
+    return fetchInChunks(budgetsIds, MAX_IDS_FOR_GET_RQ, ids -> getBudgetExpenseClassesByIds(ids, requestContext));
   }
 
   public Future<List<BudgetExpenseClass>> getBudgetExpenseClassesByIds(List<String> ids, RequestContext requestContext) {
@@ -172,7 +181,7 @@ public class BudgetExpenseClassService {
     var requestEntry = new RequestEntry(resourcesPath(BUDGET_EXPENSE_CLASSES))
       .withQuery(query)
       .withOffset(0)
-      .withLimit(MAX_IDS_FOR_GET_RQ);
+      .withLimit(MAX_VALUE);
     return restClient.get(requestEntry.buildEndpoint(), BudgetExpenseClassCollection.class, requestContext)
       .map(BudgetExpenseClassCollection::getBudgetExpenseClasses);
   }
@@ -1,24 +1,16 @@
 package org.folio.services.budget;
 
-import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toMap;
 import static org.folio.models.ExpenseClassUnassigned.getExpenseClassName;
-import static org.folio.rest.util.MoneyUtils.calculateCreditedPercentage;
-import static org.folio.rest.util.MoneyUtils.calculateExpendedPercentage;
+import static org.folio.rest.util.BudgetUtils.EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES;
 import static org.folio.rest.util.ResourcePathResolver.BUDGETS_STORAGE;
 import static org.folio.rest.util.ResourcePathResolver.resourceByIdPath;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import javax.money.CurrencyUnit;
-import javax.money.Monetary;
-
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.folio.models.ExpenseClassUnassigned;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
@@ -27,13 +19,12 @@ import org.folio.rest.jaxrs.model.BudgetExpenseClass;
 import org.folio.rest.jaxrs.model.BudgetExpenseClassTotal;
 import org.folio.rest.jaxrs.model.BudgetExpenseClassTotalsCollection;
 import org.folio.rest.jaxrs.model.ExpenseClass;
-import org.folio.rest.jaxrs.model.SharedBudget;
 import org.folio.rest.jaxrs.model.Transaction;
 import org.folio.services.ExpenseClassService;
+import org.folio.services.budget.ExpenseClassTotalsBuilder.ExpenseClassTotals;
 import org.folio.services.transactions.TransactionService;
 
 import io.vertx.core.Future;
-import org.javamoney.moneta.Money;
 
 public class BudgetExpenseClassTotalsService {
 
@@ -53,19 +44,31 @@ public class BudgetExpenseClassTotalsService {
   }
 
   public Future<BudgetExpenseClassTotalsCollection> getExpenseClassTotals(String budgetId, RequestContext requestContext) {
-    return restClient.get(resourceByIdPath(BUDGETS_STORAGE, budgetId), Budget.class, requestContext)
-      .compose(budget -> getExpenseClasses(budgetId, requestContext)
-        .compose(expenseClasses -> transactionService.getBudgetTransactions(budget, requestContext)
-          .map(transactions -> buildBudgetExpenseClassesTotals(expenseClasses, transactions, budget))))
-      .compose(budgetExpenseClassTotalsCollection -> budgetExpenseClassService.getBudgetExpenseClasses(budgetId, requestContext)
-        .map(budgetExpenseClasses -> updateExpenseClassStatus(budgetExpenseClassTotalsCollection, budgetExpenseClasses)));
+    // Only the transactions depend on the budget, the expense classes are looked up by the budget expense classes
+    var budgetFuture = restClient.get(resourceByIdPath(BUDGETS_STORAGE, budgetId), Budget.class, requestContext);
+    var transactionsFuture = budgetFuture
+      .compose(budget -> transactionService.getBudgetTransactions(budget, EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES, requestContext));
+    var budgetExpenseClassesFuture = budgetExpenseClassService.getBudgetExpenseClasses(budgetId, requestContext);
+    var expenseClassesFuture = budgetExpenseClassesFuture
+      .compose(budgetExpenseClasses -> getExpenseClasses(budgetExpenseClasses, requestContext));
+    return Future.all(transactionsFuture, expenseClassesFuture)
+      .map(cf -> buildBudgetExpenseClassesTotals(expenseClassesFuture.result(), transactionsFuture.result(), budgetFuture.result()))
+      .map(budgetExpenseClassTotalsCollection -> updateExpenseClassStatus(budgetExpenseClassTotalsCollection, budgetExpenseClassesFuture.result()));
   }
 
-  private Future<List<ExpenseClass>> getExpenseClasses(String budgetId, RequestContext requestContext) {
-    return expenseClassService.getExpenseClassesByBudgetId(budgetId, requestContext)
+  private Future<List<ExpenseClass>> getExpenseClasses(List<BudgetExpenseClass> budgetExpenseClasses, RequestContext requestContext) {
+    List<String> expenseClassIds = budgetExpenseClasses.stream()
+      .map(BudgetExpenseClass::getExpenseClassId)
+      .distinct()
+      .toList();
+    Future<List<ExpenseClass>> expenseClassesFuture = expenseClassIds.isEmpty()
+      ? Future.succeededFuture(List.of())
+      : expenseClassService.getExpenseClassesByIds(expenseClassIds, requestContext);
+    return expenseClassesFuture
       .map(expenseClasses -> {
-        expenseClasses.add(new ExpenseClass().withId(ExpenseClassUnassigned.ID.getValue()));
-        return expenseClasses;
+        List<ExpenseClass> result = new ArrayList<>(expenseClasses);
+        result.add(new ExpenseClass().withId(ExpenseClassUnassigned.ID.getValue()));
+        return result;
       });
   }
 
@@ -73,65 +76,27 @@ public class BudgetExpenseClassTotalsService {
     double totalExpended = budget.getExpenditures();
     double totalCredited = budget.getCredits();
 
-    Map<String, List<Transaction>> groupedByExpenseClassId = transactions.stream()
-      .map(transaction -> {
-        if (StringUtils.isEmpty(transaction.getExpenseClassId())) {
-          return transaction.withExpenseClassId(ExpenseClassUnassigned.ID.getValue());
-        }
-        return transaction;
-      })
-      .collect(groupingBy(Transaction::getExpenseClassId));
-
-    Map<ExpenseClass, List<Transaction>> groupedByExpenseClass = expenseClasses.stream()
-      .collect(toMap(Function.identity(), expenseClass -> groupedByExpenseClassId.getOrDefault(expenseClass.getId(), Collections.emptyList())));
-
-    List<BudgetExpenseClassTotal> budgetExpenseClassTotals = buildBudgetExpenseClassesTotals(groupedByExpenseClass, totalExpended, totalCredited);
+    ExpenseClassTotalsBuilder totalsBuilder = new ExpenseClassTotalsBuilder(expenseClasses).withTransactions(transactions);
+    List<BudgetExpenseClassTotal> budgetExpenseClassTotals = expenseClasses.stream()
+      .map(expenseClass -> buildBudgetExpenseClassTotals(expenseClass, totalsBuilder.build(expenseClass.getId(), totalExpended, totalCredited)))
+      .collect(Collectors.toList());
 
     return new BudgetExpenseClassTotalsCollection()
       .withBudgetExpenseClassTotals(budgetExpenseClassTotals)
       .withTotalRecords(budgetExpenseClassTotals.size());
   }
 
-  private List<BudgetExpenseClassTotal> buildBudgetExpenseClassesTotals(Map<ExpenseClass, List<Transaction>> groupedByExpenseClass,
-                                                                        double totalExpended, double totalCredited) {
-    return groupedByExpenseClass.entrySet().stream()
-      .map(entry -> buildBudgetExpenseClassTotals(entry.getKey(), entry.getValue(), totalExpended, totalCredited))
-      .collect(Collectors.toList());
-  }
-
-  private BudgetExpenseClassTotal buildBudgetExpenseClassTotals(ExpenseClass expenseClass, List<Transaction> transactions,
-                                                                double totalExpended, double totalCredited) {
-    double credited = 0d;
-    double expended = 0d;
-    double encumbered = 0d;
-    double awaitingPayment = 0d;
-    Double expendedPercentage = 0d;
-    Double creditedPercentage = 0d;
-
-    if (CollectionUtils.isNotEmpty(transactions)) {
-      RecalculatedBudgetBuilder budgetBuilder = new RecalculatedBudgetBuilder(transactions);
-      SharedBudget recalculatedBudget = budgetBuilder.withEncumbered().withAwaitingPayment().withExpended().withCredited().build();
-
-      expended = recalculatedBudget.getExpenditures();
-      credited = recalculatedBudget.getCredits();
-      encumbered = recalculatedBudget.getEncumbered();
-      awaitingPayment = recalculatedBudget.getAwaitingPayment();
-
-      CurrencyUnit currency = Monetary.getCurrency(transactions.getFirst().getCurrency());
-      expendedPercentage = totalExpended == 0 ? null : calculateExpendedPercentage(Money.of(recalculatedBudget.getExpenditures(), currency), totalExpended);
-      creditedPercentage = totalCredited == 0 ? null : calculateCreditedPercentage(Money.of(recalculatedBudget.getCredits(), currency), totalCredited);
-    }
-
+  private BudgetExpenseClassTotal buildBudgetExpenseClassTotals(ExpenseClass expenseClass, ExpenseClassTotals totals) {
     String expenseClassName = getExpenseClassName(expenseClass);
     return new BudgetExpenseClassTotal()
       .withId(expenseClass.getId())
       .withExpenseClassName(expenseClassName)
-      .withEncumbered(encumbered)
-      .withAwaitingPayment(awaitingPayment)
-      .withExpended(expended)
-      .withPercentageExpended(expendedPercentage)
-      .withCredited(credited)
-      .withPercentageCredited(creditedPercentage);
+      .withEncumbered(totals.encumbered())
+      .withAwaitingPayment(totals.awaitingPayment())
+      .withExpended(totals.expended())
+      .withPercentageExpended(totals.expendedPercentage())
+      .withCredited(totals.credited())
+      .withPercentageCredited(totals.creditedPercentage());
   }
 
   private BudgetExpenseClassTotalsCollection updateExpenseClassStatus(BudgetExpenseClassTotalsCollection budgetExpenseClassTotalsCollection,
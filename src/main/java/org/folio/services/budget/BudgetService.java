@@ -1,6 +1,8 @@
 package org.folio.services.budget;
 
 import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.RestConstants.MAX_IDS_FOR_BATCH_RQ;
+import static org.folio.rest.util.ChunkedFetchUtils.fetchInChunks;
 import static org.folio.rest.util.ErrorCodes.ALLOWABLE_ENCUMBRANCE_LIMIT_EXCEEDED;
 import static org.folio.rest.util.ErrorCodes.ALLOWABLE_EXPENDITURE_LIMIT_EXCEEDED;
 import static org.folio.rest.util.ResourcePathResolver.BUDGETS_BATCH_STORAGE;
@@ -28,6 +30,7 @@ import org.folio.rest.jaxrs.model.Error;
 import org.folio.rest.jaxrs.model.Errors;
 import org.folio.rest.jaxrs.model.SharedBudget;
 import org.folio.rest.util.BudgetUtils;
+import org.folio.rest.util.RollbackUtils;
 
 import io.vertx.core.Future;
 import one.util.streamex.StreamEx;
@@ -63,6 +66,11 @@ public class BudgetService {
     return restClient.postBatch(resourcesPath(BUDGETS_BATCH_STORAGE), batchIdCollection, BudgetsCollection.class, requestContext);
   }
 
+  public Future<List<Budget>> getBudgetsByIds(List<String> budgetIds, RequestContext requestContext) {
+    return fetchInChunks(budgetIds, MAX_IDS_FOR_BATCH_RQ,
+      ids -> getBudgetsBatch(ids, requestContext).map(BudgetsCollection::getBudgets));
+  }
+
   public Future<Void> updateBudgetWithAmountFields(SharedBudget sharedBudget, RequestContext requestContext) {
     return restClient.put(resourceByIdPath(BUDGETS_STORAGE, sharedBudget.getId()), BudgetUtils.convertToBudget(sharedBudget), requestContext);
   }
@@ -103,14 +111,7 @@ public class BudgetService {
       log.info("rollbackBudgetPutIfNeeded:: There is no any throwable error for budget '{}'", budgetFromStorage.getId());
       return succeededFuture(null);
     }
-    return restClient.get(resourceByIdPath(BUDGETS_STORAGE, budgetFromStorage.getId()), Budget.class, requestContext)
-      .map(latestBudget -> {
-        budgetFromStorage.setVersion(latestBudget.getVersion());
-        return null;
-      })
-      .compose(v -> restClient.put(resourceByIdPath(BUDGETS_STORAGE, budgetFromStorage.getId()), budgetFromStorage, requestContext))
-      .recover(v -> Future.failedFuture(t))
-      .compose(v -> Future.failedFuture(t));
+    return RollbackUtils.rollbackUpdate(restClient, resourceByIdPath(BUDGETS_STORAGE, budgetFromStorage.getId()), budgetFromStorage, t, requestContext);
   }
 
   public Future<Void> deleteBudget(String id, RequestContext requestContext) {
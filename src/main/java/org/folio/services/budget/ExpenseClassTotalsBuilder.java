@@ -0,0 +1,142 @@
+package org.folio.services.budget;
+
+import static org.folio.rest.util.MoneyUtils.calculateCreditedPercentage;
+import static org.folio.rest.util.MoneyUtils.calculateExpendedPercentage;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+
+import org.apache.commons.lang3.StringUtils;
+import org.folio.models.ExpenseClassUnassigned;
+import org.folio.rest.jaxrs.model.ExpenseClass;
+import org.folio.rest.jaxrs.model.Transaction;
+import org.javamoney.moneta.Money;
+
+/**
+ * Accumulates encumbered, awaiting payment, expended and credited amounts per expense class in a single pass
+ * over the transactions. Amounts are summed in minor currency units (cents), so the totals are exact
+ * and no intermediate {@link Money} is created per transaction. Transactions without expense class are counted
+ * for {@link ExpenseClassUnassigned}. The grand totals of payments and credits include all transactions.
+ */
+public class ExpenseClassTotalsBuilder {
+
+  private static final int ENCUMBERED = 0;
+  private static final int AWAITING_PAYMENT = 1;
+  private static final int EXPENDED = 2;
+  private static final int CREDITED = 3;
+  private static final int TOTALS_COUNT = 4;
+
+  private final Map<String, Integer> expenseClassIndexes = new HashMap<>();
+  private final long[][] totals;
+  private final boolean[] hasTransactions;
+  private long expendedGrandTotal;
+  private long creditedGrandTotal;
+  private CurrencyUnit currency;
+  private int fractionDigits;
+
+  public ExpenseClassTotalsBuilder(List<ExpenseClass> expenseClasses) {
+    expenseClasses.forEach(expenseClass -> expenseClassIndexes.putIfAbsent(expenseClass.getId(), expenseClassIndexes.size()));
+    this.totals = new long[expenseClassIndexes.size()][TOTALS_COUNT];
+    this.hasTransactions = new boolean[expenseClassIndexes.size()];
+  }
+
+  public ExpenseClassTotalsBuilder withTransactions(List<Transaction> transactions) {
+    transactions.forEach(this::add);
+    return this;
+  }
+
+  public ExpenseClassTotalsBuilder add(Transaction transaction) {
+    if (currency == null) {
+      // same as RecalculatedBudgetBuilder, the currency of the first transaction is used
+      currency = Monetary.getCurrency(transaction.getCurrency());
+      fractionDigits = Math.max(currency.getDefaultFractionDigits(), 0);
+    }
+    int totalIndex = getTotalIndex(transaction.getTransactionType());
+    long amount = totalIndex < 0 ? 0 : toMinorUnits(transaction.getAmount());
+    if (totalIndex == EXPENDED) {
+      expendedGrandTotal += amount;
+    } else if (totalIndex == CREDITED) {
+      creditedGrandTotal += amount;
+    }
+    String expenseClassId = StringUtils.isEmpty(transaction.getExpenseClassId())
+      ? ExpenseClassUnassigned.ID.getValue()
+      : transaction.getExpenseClassId();
+    Integer expenseClassIndex = expenseClassIndexes.get(expenseClassId);
+    if (expenseClassIndex == null) {
+      return this;
+    }
+    hasTransactions[expenseClassIndex] = true;
+    if (totalIndex >= 0) {
+      totals[expenseClassIndex][totalIndex] += amount;
+    }
+    return this;
+  }
+
+  public double getExpendedGrandTotal() {
+    return fromMinorUnits(expendedGrandTotal);
+  }
+
+  public double getCreditedGrandTotal() {
+    return fromMinorUnits(creditedGrandTotal);
+  }
+
+  /**
+   * Builds the totals of the expense class. The percentages are calculated against the given totals and are
+   * {@code null} when the corresponding total is 0; an expense class without transactions has 0 everywhere.
+   *
+   * @param expenseClassId expense class id, one of the expense classes the builder was created with
+   * @param totalExpended  total expended amount the expended percentage is calculated against
+   * @param totalCredited  total credited amount the credited percentage is calculated against
+   * @return totals of the expense class
+   */
+  public ExpenseClassTotals build(String expenseClassId, double totalExpended, double totalCredited) {
+    Integer expenseClassIndex = expenseClassIndexes.get(expenseClassId);
+    if (expenseClassIndex == null || !hasTransactions[expenseClassIndex]) {
+      return new ExpenseClassTotals(0d, 0d, 0d, 0d, 0d, 0d);
+    }
+    long[] expenseClassTotals = totals[expenseClassIndex];
+    double expended = fromMinorUnits(expenseClassTotals[EXPENDED]);
+    double credited = fromMinorUnits(expenseClassTotals[CREDITED]);
+    Double expendedPercentage = totalExpended == 0 ? null : calculateExpendedPercentage(Money.of(expended, currency), totalExpended);
+    Double creditedPercentage = totalCredited == 0 ? null : calculateCreditedPercentage(Money.of(credited, currency), totalCredited);
+    return new ExpenseClassTotals(fromMinorUnits(expenseClassTotals[ENCUMBERED]), fromMinorUnits(expenseClassTotals[AWAITING_PAYMENT]),
+      expended, expendedPercentage, credited, creditedPercentage);
+  }
+
+  private static int getTotalIndex(Transaction.TransactionType transactionType) {
+    if (transactionType == null) {
+      return -1;
+    }
+    return switch (transactionType) {
+      case ENCUMBRANCE -> ENCUMBERED;
+      case PENDING_PAYMENT -> AWAITING_PAYMENT;
+      case PAYMENT -> EXPENDED;
+      case CREDIT -> CREDITED;
+      default -> -1;
+    };
+  }
+
+  private long toMinorUnits(Double amount) {
+    if (amount == null) {
+      return 0;
+    }
+    return BigDecimal.valueOf(amount)
+      .movePointRight(fractionDigits)
+      .setScale(0, RoundingMode.HALF_EVEN)
+      .longValueExact();
+  }
+
+  private double fromMinorUnits(long amount) {
+    return BigDecimal.valueOf(amount, fractionDigits).doubleValue();
+  }
+
+  public record ExpenseClassTotals(double encumbered, double awaitingPayment, double expended, Double expendedPercentage,
+                                   double credited, Double creditedPercentage) {
+  }
+}
@@ -21,7 +21,7 @@ public class RecalculateBudgetService {
 
   public Future<Void> recalculateBudget(String budgetId, RequestContext requestContext) {
     return budgetService.getBudgetById(budgetId, requestContext)
-      .compose(budget -> transactionService.getBudgetTransactions(BudgetUtils.convertToBudget(budget), requestContext)
+      .compose(budget -> transactionService.getBudgetTransactionsBypassingCache(BudgetUtils.convertToBudget(budget), requestContext)
         .map(transactions -> recalculateBudgetBasedOnTransactions(budget, transactions)))
       .compose(budget -> budgetService.updateBudgetWithAmountFields(budget, requestContext))
       .mapEmpty();
@@ -1,13 +1,19 @@
 package org.folio.services.configuration;
 
+import static org.folio.rest.util.CacheUtils.buildCache;
 import static org.folio.rest.util.ResourcePathResolver.LOCALE_SETTINGS;
 import static org.folio.rest.util.ResourcePathResolver.resourcesPath;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.HttpStatus;
+import org.folio.models.LocaleSettings;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.exception.HttpException;
+import org.folio.rest.tools.utils.TenantTool;
+
+import com.github.benmanes.caffeine.cache.Cache;
 
 import io.vertx.core.Future;
 
@@ -20,29 +26,46 @@ public class CommonSettingsService {
   public static final String TIMEZONE_SETTING = "timezone";
   public static final String DEFAULT_TIMEZONE = "UTC";
 
+  public static final long DEFAULT_CACHE_EXPIRATION_TIME = 3600;
+
   private final RestClient restClient;
+  // Holds one in-flight or completed load per tenant, so concurrent lookups share a single GET /locale call
+  private final Cache<String, Future<LocaleSettings>> localeSettingsCache;
 
   public CommonSettingsService(RestClient restClient) {
+    this(restClient, DEFAULT_CACHE_EXPIRATION_TIME);
+  }
+
+  public CommonSettingsService(RestClient restClient, long cacheExpirationTime) {
     this.restClient = restClient;
+    this.localeSettingsCache = buildCache(cacheExpirationTime);
   }
 
   public Future<String> getSystemTimeZone(RequestContext requestContext) {
-    return getLocaleSetting(TIMEZONE_SETTING, DEFAULT_TIMEZONE, requestContext);
+    return getLocaleSettings(requestContext).map(LocaleSettings::timeZone);
   }
 
   public Future<String> getSystemCurrency(RequestContext requestContext) {
-    return getLocaleSetting(CURRENCY_SETTING, DEFAULT_CURRENCY, requestContext);
+    return getLocaleSettings(requestContext).map(LocaleSettings::currency);
+  }
+
+  public Future<LocaleSettings> getLocaleSettings(RequestContext requestContext) {
+    var tenantId = TenantTool.tenantId(requestContext.headers());
+    var localeSettings = localeSettingsCache.get(tenantId, key -> loadLocaleSettings(key, requestContext));
+    // Failed loads must not stay in the cache, otherwise a transient storage error would be served until expiration
+    return localeSettings.onFailure(t -> localeSettingsCache.asMap().remove(tenantId, localeSettings));
   }
 
-  private Future<String> getLocaleSetting(String settingName, String defaultValue, RequestContext requestContext) {
-    log.debug("getSystemSetting:: Trying to load {} from locale settings", settingName);
+  private Future<LocaleSettings> loadLocaleSettings(String tenantId, RequestContext requestContext) {
+    log.debug("loadLocaleSettings:: Trying to load locale settings for tenant: {}", tenantId);
     return restClient.getAsJsonObject(resourcesPath(LOCALE_SETTINGS), requestContext)
-      .map(jsonObject -> {
-        if (jsonObject == null) {
-          return defaultValue;
+      .map(LocaleSettings::fromJson)
+      .recover(t -> {
+        if (t instanceof HttpException httpException && httpException.getCode() == HttpStatus.HTTP_NOT_FOUND.toInt()) {
+          log.warn("loadLocaleSettings:: Locale settings are not found for tenant: {}, using defaults", tenantId);
+          return Future.succeededFuture(LocaleSettings.DEFAULT);
         }
-        var value = jsonObject.getString(settingName);
-        return StringUtils.isNotBlank(value) ? value : defaultValue;
+        return Future.failedFuture(t);
       });
   }
 }
@@ -0,0 +1,113 @@
+package org.folio.services.financedata;
+
+import static org.folio.rest.util.ErrorCodes.UNSUPPORTED_FINANCE_DATA_EXPORT_FORMAT;
+
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.folio.rest.exception.HttpException;
+import org.folio.rest.jaxrs.model.FyFinanceData;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Formats of the finance data export, every row is written as soon as it is read.
+ */
+public enum FinanceDataExportFormat {
+
+  CSV("csv", "text/csv") {
+    @Override
+    public void appendHeader(Buffer buffer) {
+      appendCsvLine(buffer, CSV_COLUMNS);
+    }
+
+    @Override
+    public void appendRow(Buffer buffer, FyFinanceData financeData) {
+      var json = JsonObject.mapFrom(financeData);
+      appendCsvLine(buffer, CSV_COLUMNS.stream().map(column -> toCsvValue(json.getValue(column))).toList());
+    }
+  },
+
+  NDJSON("ndjson", "application/x-ndjson") {
+    @Override
+    public void appendHeader(Buffer buffer) {
+      // rows are self-describing
+    }
+
+    @Override
+    public void appendRow(Buffer buffer, FyFinanceData financeData) {
+      buffer.appendString(JsonObject.mapFrom(financeData).encode()).appendString(LINE_SEPARATOR);
+    }
+  };
+
+  static final List<String> CSV_COLUMNS = List.of("fiscalYearId", "fiscalYearCode", "ledgerId", "ledgerCode",
+    "fundId", "fundCode", "fundName", "fundDescription", "fundStatus", "fundTags", "budgetId", "budgetName", "budgetStatus",
+    "budgetInitialAllocation", "budgetCurrentAllocation", "budgetAllowableExpenditure", "budgetAllowableEncumbrance");
+
+  private static final String LINE_SEPARATOR = "\n";
+
+  private final String value;
+  private final String contentType;
+
+  FinanceDataExportFormat(String value, String contentType) {
+    this.value = value;
+    this.contentType = contentType;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public abstract void appendHeader(Buffer buffer);
+
+  public abstract void appendRow(Buffer buffer, FyFinanceData financeData);
+
+  /**
+   * @param format requested format, csv if empty
+   * @return the export format
+   * @throws HttpException with 400 code if the format is not supported
+   */
+  public static FinanceDataExportFormat fromValue(String format) {
+    if (StringUtils.isEmpty(format)) {
+      return CSV;
+    }
+    for (FinanceDataExportFormat exportFormat : values()) {
+      if (exportFormat.value.equalsIgnoreCase(format)) {
+        return exportFormat;
+      }
+    }
+    throw new HttpException(400, UNSUPPORTED_FINANCE_DATA_EXPORT_FORMAT);
+  }
+
+  private static String toCsvValue(Object value) {
+    if (value == null) {
+      return StringUtils.EMPTY;
+    }
+    if (value instanceof JsonObject jsonObject) {
+      return jsonObject.encode();
+    }
+    if (value instanceof JsonArray jsonArray) {
+      return jsonArray.encode();
+    }
+    return value.toString();
+  }
+
+  private static void appendCsvLine(Buffer buffer, List<String> values) {
+    for (int i = 0; i < values.size(); i++) {
+      if (i > 0) {
+        buffer.appendString(",");
+      }
+      buffer.appendString(escapeCsv(values.get(i)));
+    }
+    buffer.appendString(LINE_SEPARATOR);
+  }
+
+  private static String escapeCsv(String value) {
+    if (StringUtils.containsAny(value, ',', '"', '\n', '\r')) {
+      return '"' + value.replace("\"", "\"\"") + '"';
+    }
+    return value;
+  }
+}
@@ -0,0 +1,111 @@
+package org.folio.services.financedata;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.util.HelperUtils.combineCqlExpressions;
+import static org.folio.rest.util.HelperUtils.removeCqlSorting;
+import static org.folio.rest.util.ResourcePathResolver.FINANCE_DATA_STORAGE;
+import static org.folio.rest.util.ResourcePathResolver.resourcesPath;
+
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.folio.rest.core.RestClient;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.core.models.RequestEntry;
+import org.folio.rest.jaxrs.model.FyFinanceData;
+import org.folio.rest.jaxrs.model.FyFinanceDataCollection;
+import org.folio.services.protection.AcqUnitsService;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+import lombok.extern.log4j.Log4j2;
+
+@Log4j2
+public class FinanceDataExportService {
+
+  private static final String KEYSET_SORTING = " sortBy fundId/sort.ascending fiscalYearId/sort.ascending";
+  private static final String KEYSET_CONDITION = "fundId > \"%1$s\" or (fundId == \"%1$s\" and fiscalYearId > \"%2$s\")";
+
+  private final RestClient restClient;
+  private final AcqUnitsService acqUnitsService;
+  private final int pageSize;
+
+  public FinanceDataExportService(RestClient restClient, AcqUnitsService acqUnitsService, int pageSize) {
+    this.restClient = restClient;
+    this.acqUnitsService = acqUnitsService;
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * The method will write all finance data matching the query to the target, holding a single page in memory
+   * 1. Build cql clause for finance data with acq units once for the whole export
+   * 2. Read finance data page by page with keyset pagination on fundId and fiscalYearId, the sorting of the query is ignored
+   * 3. Write every page to the target, the header is written with the first page and the next page is read
+   * once the target can accept it
+   *
+   * @param query          query to filter finance data
+   * @param format         format of the written rows
+   * @param target         stream to write rows to, it is not ended by the method
+   * @param requestContext request context
+   * @return future completed when all rows are written, failed if reading or writing fails
+   */
+  public Future<Void> exportFinanceData(String query, FinanceDataExportFormat format, WriteStream<Buffer> target,
+                                        RequestContext requestContext) {
+    log.debug("exportFinanceData:: Trying to export finance data, query={}, format={}", query, format);
+    return acqUnitsService.buildAcqUnitsCqlClauseForFinanceData(requestContext)
+      .map(clause -> StringUtils.isEmpty(query) ? clause : combineCqlExpressions("and", clause, removeCqlSorting(query)))
+      .compose(baseQuery -> exportPages(baseQuery, null, format, target, requestContext))
+      .onSuccess(v -> log.info("exportFinanceData:: Finance data exported, format={}", format))
+      .onFailure(t -> log.warn("exportFinanceData:: Failed to export finance data, query={}", query, t));
+  }
+
+  private Future<Void> exportPages(String baseQuery, FyFinanceData lastRow, FinanceDataExportFormat format,
+                                   WriteStream<Buffer> target, RequestContext requestContext) {
+    return getPage(baseQuery, lastRow, requestContext)
+      .compose(financeData -> {
+        var page = Buffer.buffer();
+        if (lastRow == null) {
+          // nothing is written before the first page is read, so a failure to read it is still reported as an error response
+          format.appendHeader(page);
+        }
+        financeData.forEach(row -> format.appendRow(page, row));
+        if (page.length() == 0) {
+          return succeededFuture();
+        }
+        return write(target, page)
+          .compose(v -> financeData.size() < pageSize
+            ? succeededFuture()
+            : exportPages(baseQuery, financeData.getLast(), format, target, requestContext));
+      });
+  }
+
+  private Future<List<FyFinanceData>> getPage(String baseQuery, FyFinanceData lastRow, RequestContext requestContext) {
+    var query = lastRow == null
+      ? baseQuery
+      : combineCqlExpressions("and", baseQuery, String.format(KEYSET_CONDITION, lastRow.getFundId(), lastRow.getFiscalYearId()));
+    var requestEntry = new RequestEntry(resourcesPath(FINANCE_DATA_STORAGE))
+      .withOffset(0)
+      .withLimit(pageSize)
+      .withQueryParameter("totalRecords", "none")
+      .withQuery(query + KEYSET_SORTING);
+    return restClient.get(requestEntry.buildEndpoint(), FyFinanceDataCollection.class, requestContext)
+      .map(FyFinanceDataCollection::getFyFinanceData);
+  }
+
+  /**
+   * Writes the buffer and, if the write queue of the target is full, waits until it is drained,
+   * so rows are not read from the storage faster than the client consumes them.
+   */
+  private Future<Void> write(WriteStream<Buffer> target, Buffer buffer) {
+    var written = target.write(buffer);
+    if (!target.writeQueueFull()) {
+      return written.failed() ? written : succeededFuture();
+    }
+    Promise<Void> drained = Promise.promise();
+    target.drainHandler(v -> drained.tryComplete());
+    written.onFailure(drained::tryFail);
+    return drained.future();
+  }
+}
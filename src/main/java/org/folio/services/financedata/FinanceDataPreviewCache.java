@@ -0,0 +1,89 @@
+package org.folio.services.financedata;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.model.Error;
+import org.folio.rest.jaxrs.model.FyFinanceData;
+import org.folio.rest.tools.utils.TenantTool;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Short-living cache of finance data rows compared with existing funds and budgets in PREVIEW mode.
+ * Rows are keyed by tenant, fiscal year and a hash of their submitted content, so a repeated preview of an edited
+ * worksheet only compares the rows which changed since the previous preview. Funds and budgets changed in the meantime
+ * are only picked up after the entries expire; COMMIT updates never use the cache.
+ */
+public class FinanceDataPreviewCache {
+
+  private final boolean enabled;
+  private final Cache<PreviewRowKey, PreviewRow> cache;
+
+  public FinanceDataPreviewCache(boolean enabled, long cacheExpirationTime, long maxCachedRows) {
+    this.enabled = enabled;
+    this.cache = Caffeine.newBuilder()
+      .expireAfterWrite(cacheExpirationTime, TimeUnit.SECONDS)
+      .maximumSize(maxCachedRows)
+      .build();
+  }
+
+  public static FinanceDataPreviewCache disabled() {
+    return new FinanceDataPreviewCache(false, 0, 0);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Builds the key of a row as submitted, it must be called before the row is compared with existing data.
+   */
+  public PreviewRowKey buildKey(FyFinanceData financeData, RequestContext requestContext) {
+    return new PreviewRowKey(TenantTool.tenantId(requestContext.headers()), financeData.getFiscalYearId(),
+      hash(JsonObject.mapFrom(financeData).encode()));
+  }
+
+  public PreviewRow get(PreviewRowKey key) {
+    return cache.getIfPresent(key);
+  }
+
+  public void put(PreviewRowKey key, FyFinanceData comparedFinanceData, int index, List<Error> errors) {
+    cache.put(key, new PreviewRow(comparedFinanceData.getIsFundChanged(), comparedFinanceData.getIsBudgetChanged(),
+      comparedFinanceData.getBudgetInitialAllocation(), comparedFinanceData.getBudgetCurrentAllocation(), index, List.copyOf(errors)));
+  }
+
+  private static String hash(String content) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public record PreviewRowKey(String tenantId, String fiscalYearId, String contentHash) {
+  }
+
+  /**
+   * Result of the comparison of a row: the fields set from existing fund and budget and the errors found
+   * for the row at {@code index}.
+   */
+  public record PreviewRow(Boolean isFundChanged, Boolean isBudgetChanged, Double budgetInitialAllocation,
+                           Double budgetCurrentAllocation, int index, List<Error> errors) {
+
+    public void applyTo(FyFinanceData financeData) {
+      financeData.withIsFundChanged(isFundChanged)
+        .withIsBudgetChanged(isBudgetChanged)
+        .withBudgetInitialAllocation(budgetInitialAllocation)
+        .withBudgetCurrentAllocation(budgetCurrentAllocation);
+    }
+  }
+}
@@ -2,6 +2,7 @@ package org.folio.services.financedata;
 
 import static io.vertx.core.Future.succeededFuture;
 import static java.util.Objects.requireNonNullElse;
+import static org.folio.rest.RestConstants.FINANCE_DATA_CHUNK_SIZE;
 import static org.folio.rest.jaxrs.model.FundUpdateLog.Status.COMPLETED;
 import static org.folio.rest.jaxrs.model.FundUpdateLog.Status.ERROR;
 import static org.folio.rest.jaxrs.model.FundUpdateLog.Status.IN_PROGRESS;
@@ -12,8 +13,11 @@ import static org.folio.rest.util.ResourcePathResolver.resourcesPath;
 
 import java.math.BigDecimal;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import io.vertx.core.Future;
 import lombok.extern.log4j.Log4j2;
@@ -28,25 +32,32 @@ import org.folio.rest.jaxrs.model.JobDetails;
 import org.folio.rest.jaxrs.model.JobNumber;
 import org.folio.rest.jaxrs.model.Ledger;
 import org.folio.services.fund.FundUpdateLogService;
+import org.folio.services.fund.FundUpdateLogWriter;
 import org.folio.services.ledger.LedgerService;
 import org.folio.services.protection.AcqUnitsService;
 
 @Log4j2
 public class FinanceDataService {
 
+  private static final String FY_FINANCE_DATA = "fyFinanceData";
+  private static final String PROCESSED_RECORDS = "processedRecords";
+
   private final RestClient restClient;
   private final LedgerService ledgerService;
   private final AcqUnitsService acqUnitsService;
   private final FundUpdateLogService fundUpdateLogService;
   private final FinanceDataValidator financeDataValidator;
+  private final FundUpdateLogWriter fundUpdateLogWriter;
 
   public FinanceDataService(RestClient restClient, LedgerService ledgerService, AcqUnitsService acqUnitsService,
-                            FundUpdateLogService fundUpdateLogService, FinanceDataValidator financeDataValidator) {
+                            FundUpdateLogService fundUpdateLogService, FinanceDataValidator financeDataValidator,
+                            FundUpdateLogWriter fundUpdateLogWriter) {
     this.restClient = restClient;
     this.ledgerService = ledgerService;
     this.acqUnitsService = acqUnitsService;
     this.fundUpdateLogService = fundUpdateLogService;
     this.financeDataValidator = financeDataValidator;
+    this.fundUpdateLogWriter = fundUpdateLogWriter;
   }
 
   /**
@@ -78,11 +89,15 @@ public class FinanceDataService {
   }
 
   /**
-   * The method will update finance data collection in one operation.
+   * The method will update finance data collection.
    * 1. Validate finance data collection, if it fails validation exception will be thrown
-   * 2. Create allocation transactions, if it fails process will stop
-   * 3. Update finance data by invoking storage API
+   * 2. Compare it with existing funds and budgets window by window, if it fails nothing is updated
+   * 3. Update finance data by invoking storage API chunk by chunk, reporting progress to the fund update log
    * 4. Save logs of the operation with COMPLETE or ERROR status
+   * <p>
+   * Each chunk is a separate storage transaction, so a failure leaves the previous chunks applied. The ERROR log keeps
+   * the number of leading rows applied in the {@code processedRecords} job detail, the update can be resumed
+   * by sending the rows after them again.
    *
    * @param financeDataCollection finance data collection to update
    * @param requestContext        request context
@@ -111,33 +126,114 @@ public class FinanceDataService {
     }
     var fundUpdateLogId = UUID.randomUUID().toString();
     return processLogs(fundUpdateLogId, fdCollection, requestContext)
-      .compose(log -> updateFinanceData(fdCollection, requestContext))
+      .compose(log -> updateFinanceDataAndLogs(fundUpdateLogId, fdCollection, true, requestContext));
+  }
+
+  /**
+   * The method will validate finance data collection and update it in the background.
+   * 1. Validate finance data collection and compare it with existing data, if it fails nothing is updated
+   * 2. Create fund update log with IN_PROGRESS status and return it
+   * 3. Update finance data chunk by chunk after the future is completed, the number of processed records is saved
+   * in the fund update log after every chunk and the final COMPLETE or ERROR status at the end
+   * <p>
+   * The rows returned by the storage are not kept, the log holds the submitted ones.
+   *
+   * @param financeDataCollection finance data collection to update, must not be empty
+   * @param requestContext        request context
+   * @return future with the fund update log of the started update
+   */
+  public Future<FundUpdateLog> putFinanceDataAsync(FyFinanceDataCollection financeDataCollection, RequestContext requestContext) {
+    log.debug("Trying to start update of finance data collection with size: {}", financeDataCollection.getTotalRecords());
+    financeDataValidator.validateFinanceDataCollection(financeDataCollection, getFiscalYearId(financeDataCollection));
+    calculateAfterAllocation(financeDataCollection);
+
+    var fundUpdateLogId = UUID.randomUUID().toString();
+    return financeDataValidator.compareWithExistingData(financeDataCollection, requestContext)
+      .compose(v -> processLogs(fundUpdateLogId, financeDataCollection, requestContext))
+      .onSuccess(fundUpdateLog -> {
+        log.info("putFinanceDataAsync:: Update of finance data collection started, fundUpdateLogId={}", fundUpdateLogId);
+        updateFinanceDataAndLogs(fundUpdateLogId, financeDataCollection, false, requestContext);
+      })
+      .onFailure(t -> log.warn("putFinanceDataAsync:: Failed to start update of finance data collection", t));
+  }
+
+  private Future<FyFinanceDataCollection> updateFinanceDataAndLogs(String fundUpdateLogId, FyFinanceDataCollection fdCollection,
+                                                                   boolean keepUpdatedData, RequestContext requestContext) {
+    List<FyFinanceData> updatedFinanceData = new ArrayList<>();
+    Consumer<List<FyFinanceData>> updatedChunkConsumer = keepUpdatedData ? updatedFinanceData::addAll : updatedChunk -> {};
+    return updateChunks(fundUpdateLogId, fdCollection, 0, updatedChunkConsumer, requestContext)
+      .map(v -> keepUpdatedData ? copyWithFinanceData(fdCollection, updatedFinanceData) : null)
       .onSuccess(updatedFdCollection -> updateLogs(fundUpdateLogId, COMPLETED, updatedFdCollection, requestContext))
-      .onFailure(asyncResult -> updateLogs(fundUpdateLogId, ERROR, null, requestContext));
+      .onFailure(t -> {
+        log.warn("updateFinanceDataAndLogs:: Failed to update finance data, fundUpdateLogId={}", fundUpdateLogId, t);
+        updateLogs(fundUpdateLogId, ERROR, null, requestContext);
+      });
   }
 
   private String getFiscalYearId(FyFinanceDataCollection fyFinanceDataCollection) {
     return fyFinanceDataCollection.getFyFinanceData().getFirst().getFiscalYearId();
   }
 
+  /**
+   * Updates finance data by chunks of {@link org.folio.rest.RestConstants#FINANCE_DATA_CHUNK_SIZE} rows, one chunk at a time,
+   * so only one chunk is sent and received at once. After every chunk the number of applied rows is saved to the fund update log,
+   * the writes are coalesced and do not hold back the next chunk.
+   */
+  private Future<Void> updateChunks(String fundUpdateLogId, FyFinanceDataCollection financeDataCollection, int from,
+                                    Consumer<List<FyFinanceData>> updatedChunkConsumer, RequestContext requestContext) {
+    var financeData = financeDataCollection.getFyFinanceData();
+    if (from >= financeData.size()) {
+      return succeededFuture();
+    }
+    int to = Math.min(from + FINANCE_DATA_CHUNK_SIZE, financeData.size());
+    return updateFinanceData(copyWithFinanceData(financeDataCollection, financeData.subList(from, to)), requestContext)
+      .compose(updatedChunk -> {
+        updatedChunkConsumer.accept(updatedChunk.getFyFinanceData());
+        updateLogProgress(fundUpdateLogId, to, requestContext);
+        return updateChunks(fundUpdateLogId, financeDataCollection, to, updatedChunkConsumer, requestContext);
+      });
+  }
+
+  private FyFinanceDataCollection copyWithFinanceData(FyFinanceDataCollection financeDataCollection, List<FyFinanceData> financeData) {
+    return new FyFinanceDataCollection()
+      .withFyFinanceData(financeData)
+      .withUpdateType(financeDataCollection.getUpdateType())
+      .withWorksheetName(financeDataCollection.getWorksheetName())
+      .withTotalRecords(financeData.size());
+  }
+
   private Future<FyFinanceDataCollection> updateFinanceData(FyFinanceDataCollection financeDataCollection,
                                                             RequestContext requestContext) {
     log.debug("updateFinanceData:: Trying to update finance data collection with size: {}", financeDataCollection.getTotalRecords());
     return restClient.put(resourcesPath(FINANCE_DATA_STORAGE), financeDataCollection, FyFinanceDataCollection.class, requestContext);
   }
 
+  private void updateLogProgress(String fundUpdateLogId, int processedRecords, RequestContext requestContext) {
+    log.info("updateLogProgress:: Fund update log {}: {} finance data records processed", fundUpdateLogId, processedRecords);
+    fundUpdateLogWriter.updateFundUpdateLog(fundUpdateLogId, fundUpdateLog -> setProcessedRecords(fundUpdateLog, processedRecords),
+        requestContext)
+      .onFailure(t -> log.warn("updateLogProgress:: Failed to save progress of fund update log {}", fundUpdateLogId, t));
+  }
+
+  private void setProcessedRecords(FundUpdateLog fundUpdateLog, int processedRecords) {
+    var jobDetails = requireNonNullElse(fundUpdateLog.getJobDetails(), new JobDetails());
+    fundUpdateLog.setJobDetails(jobDetails.withAdditionalProperty(PROCESSED_RECORDS, processedRecords));
+  }
+
   private Future<FundUpdateLog> processLogs(String fundUpdateLogId, FyFinanceDataCollection financeDataCollection,
                                             RequestContext requestContext) {
     var ledgerId = financeDataCollection.getFyFinanceData().getFirst().getLedgerId();
     return fundUpdateLogService.getJobNumber(requestContext)
       .compose(jobNumber -> ledgerService.retrieveLedgerById(ledgerId, requestContext)
         .map(ledger -> createFundUpdateLog(fundUpdateLogId, jobNumber, ledger, financeDataCollection))
-        .compose(fundUpdateLog -> fundUpdateLogService.createFundUpdateLog(fundUpdateLog, requestContext)));
+        .compose(fundUpdateLog -> fundUpdateLogWriter.createFundUpdateLog(fundUpdateLog, requestContext)));
   }
 
   private FundUpdateLog createFundUpdateLog(String fundUpdateLogId, JobNumber jobNumber, Ledger ledger,
                                             FyFinanceDataCollection financeDataCollection) {
-    var jobDetails = new JobDetails().withAdditionalProperty("fyFinanceData", financeDataCollection.getFyFinanceData());
+    var jobDetails = new JobDetails()
+      .withAdditionalProperty(FY_FINANCE_DATA, financeDataCollection.getFyFinanceData())
+      .withAdditionalProperty(PROCESSED_RECORDS, 0);
     var financeData = financeDataCollection.getFyFinanceData().getFirst();
     var worksheetName = financeDataCollection.getWorksheetName();
     var jobName = StringUtils.isNotEmpty(worksheetName)
@@ -171,15 +267,17 @@ public class FinanceDataService {
 
   private void updateLogs(String fundUpdateLogId, FundUpdateLog.Status status, FyFinanceDataCollection updateFdCollection,
                           RequestContext requestContext) {
-    fundUpdateLogService.getFundUpdateLogById(fundUpdateLogId, requestContext)
-      .compose(fundUpdateLog -> {
-        if (updateFdCollection != null) {
-          var jobDetails = new JobDetails().withAdditionalProperty("fyFinanceData", updateFdCollection.getFyFinanceData());
-          fundUpdateLog.setJobDetails(jobDetails);
-        }
-        fundUpdateLog.setStatus(status);
-        return fundUpdateLogService.updateFundUpdateLog(fundUpdateLog, requestContext);
-      });
+    fundUpdateLogWriter.updateFundUpdateLog(fundUpdateLogId, fundUpdateLog -> {
+      if (updateFdCollection != null) {
+        // other job details properties set while the update was running are kept
+        var jobDetails = requireNonNullElse(fundUpdateLog.getJobDetails(), new JobDetails())
+          .withAdditionalProperty(FY_FINANCE_DATA, updateFdCollection.getFyFinanceData());
+        fundUpdateLog.setJobDetails(jobDetails);
+      }
+      fundUpdateLog.setStatus(status);
+    }, requestContext)
+      .onSuccess(v -> log.info("updateLogs:: Fund update log {} saved with status {}", fundUpdateLogId, status))
+      .onFailure(t -> log.error("updateLogs:: Failed to save fund update log {} with status {}", fundUpdateLogId, status, t));
   }
 
   private void calculateAfterAllocation(FyFinanceDataCollection financeDataCollection) {
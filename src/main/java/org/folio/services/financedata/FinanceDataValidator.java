@@ -1,18 +1,20 @@
 package org.folio.services.financedata;
 
 import static java.util.Objects.requireNonNullElse;
+import static org.folio.rest.RestConstants.FINANCE_DATA_CHUNK_SIZE;
 import static org.folio.rest.util.ErrorCodes.BUDGET_STATUS_INCORRECT;
 import static org.folio.rest.util.ErrorCodes.FUND_STATUS_INCORRECT;
+import static org.folio.rest.util.HelperUtils.isValidUuid;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.Set;
 import java.util.stream.IntStream;
 
 import io.vertx.core.Future;
@@ -32,6 +34,7 @@ import org.folio.rest.jaxrs.model.Parameter;
 import org.folio.rest.jaxrs.model.SharedBudget;
 import org.folio.rest.jaxrs.model.Tags;
 import org.folio.services.budget.BudgetService;
+import org.folio.services.financedata.FinanceDataPreviewCache.PreviewRowKey;
 import org.folio.services.fund.FundService;
 
 import one.util.streamex.IntStreamEx;
@@ -40,14 +43,20 @@ import one.util.streamex.StreamEx;
 @Log4j2
 public class FinanceDataValidator {
 
-  private static final String ERROR_KEY_FORMAT = "financeData[%s].%s";
+  private static final String ERROR_KEY_PREFIX = "financeData[";
 
   private final FundService fundService;
   private final BudgetService budgetService;
+  private final FinanceDataPreviewCache previewCache;
 
   public FinanceDataValidator(FundService fundService, BudgetService budgetService) {
+    this(fundService, budgetService, FinanceDataPreviewCache.disabled());
+  }
+
+  public FinanceDataValidator(FundService fundService, BudgetService budgetService, FinanceDataPreviewCache previewCache) {
     this.fundService = fundService;
     this.budgetService = budgetService;
+    this.previewCache = previewCache;
   }
 
   public void validateFinanceDataCollection(FyFinanceDataCollection financeDataCollection, String fiscalYearId) {
@@ -64,24 +73,22 @@ public class FinanceDataValidator {
   }
 
   private void validateForDuplication(FyFinanceDataCollection financeDataCollection) {
-    var financeFundBudgetFiscalYearIds = financeDataCollection.getFyFinanceData()
-      .stream().collect(Collectors.groupingBy(
-        financeData -> financeData.getFundId() + financeData.getBudgetId() + financeData.getFiscalYearId()));
-
-    financeFundBudgetFiscalYearIds.values().forEach(duplicates -> {
-      if (duplicates.size() > 1) {
+    var financeData = financeDataCollection.getFyFinanceData();
+    Set<FinanceDataKey> financeDataKeys = HashSet.newHashSet(financeData.size());
+    for (var data : financeData) {
+      if (!financeDataKeys.add(new FinanceDataKey(data.getFundId(), data.getBudgetId(), data.getFiscalYearId()))) {
         var error = createError("Finance data collection contains duplicate fund, budget and fiscal year IDs", "financeData", "duplicate");
         log.warn("validateForDuplication:: Validation error: {}", error.getMessage());
         throw new HttpException(422, new Errors().withErrors(List.of(error)));
       }
-    });
+    }
   }
 
   private void validateFinanceDataFields(List<Error> combinedErrors, FyFinanceData financeData, int i, String fiscalYearId) {
     if (!financeData.getFiscalYearId().equals(fiscalYearId)) {
       combinedErrors.add(createError(
         String.format("Fiscal year ID must be the same as other fiscal year ID(s) '[%s]' in the request", fiscalYearId),
-        String.format("financeData[%s].fiscalYearId", i), financeData.getFiscalYearId())
+        errorKey(i, "fiscalYearId"), financeData.getFiscalYearId())
       );
     }
 
@@ -109,7 +116,7 @@ public class FinanceDataValidator {
       try {
         Fund.FundStatus.fromValue(fundStatus);
       } catch (IllegalArgumentException e) {
-        var param = new Parameter().withKey(String.format("financeData[%s].fundStatus", i)).withValue(fundStatus);
+        var param = new Parameter().withKey(errorKey(i, "fundStatus")).withValue(fundStatus);
         combinedErrors.add(FUND_STATUS_INCORRECT.toError().withParameters(List.of(param)));
       }
     }
@@ -120,7 +127,7 @@ public class FinanceDataValidator {
       try {
         SharedBudget.BudgetStatus.fromValue(budgetStatus);
       } catch (IllegalArgumentException e) {
-        var param = new Parameter().withKey(String.format("financeData[%s].budgetStatus", i)).withValue(budgetStatus);
+        var param = new Parameter().withKey(errorKey(i, "budgetStatus")).withValue(budgetStatus);
         combinedErrors.add(BUDGET_STATUS_INCORRECT.toError().withParameters(List.of(param)));
       }
     }
@@ -128,75 +135,133 @@ public class FinanceDataValidator {
 
   private void validateRequiredField(List<Error> combinedErrors, String fieldName, int index, Object fieldValue) {
     if (fieldValue == null) {
-      combinedErrors.add(createError(fieldName + " is required", String.format(ERROR_KEY_FORMAT, index, fieldName), "null"));
+      combinedErrors.add(createError(fieldName + " is required", errorKey(index, fieldName), "null"));
     }
   }
 
   private void validateUuid(List<Error> combinedErrors, String fieldName, int index, String fieldValue) {
-    try {
-      UUID.fromString(fieldValue);
-    } catch (Exception ex) {
-      combinedErrors.add(createError("Invalid UUID format", String.format(ERROR_KEY_FORMAT, index, fieldName), fieldValue));
+    if (!isValidUuid(fieldValue)) {
+      combinedErrors.add(createError("Invalid UUID format", errorKey(index, fieldName), fieldValue));
     }
   }
 
   private void validateNonNullAndNonNegative(List<Error> combinedErrors, String fieldName, int index, Double fieldValue) {
     if (fieldValue != null && fieldValue < 0) {
-      combinedErrors.add(createError(fieldName + " cannot be negative", String.format(ERROR_KEY_FORMAT, index, fieldName), fieldValue.toString()));
+      combinedErrors.add(createError(fieldName + " cannot be negative", errorKey(index, fieldName), fieldValue.toString()));
     }
   }
 
+  /**
+   * Compares finance data with the existing funds and budgets window by window: funds and budgets are fetched
+   * for {@link org.folio.rest.RestConstants#FINANCE_DATA_CHUNK_SIZE} rows at a time and released before the next window,
+   * so the number of records held in memory does not grow with the size of the collection.
+   * Errors of all windows are collected and reported together.
+   * In PREVIEW mode rows already compared by a recent preview are taken from {@link FinanceDataPreviewCache},
+   * only new or edited rows are compared with existing data.
+   *
+   * @param financeDataCollection finance data collection to compare
+   * @param requestContext        request context
+   * @return future failed with 422 if any row does not match existing data
+   */
   public Future<Void> compareWithExistingData(FyFinanceDataCollection financeDataCollection, RequestContext requestContext) {
-    return fetchFundsAndBudgetsForFinanceData(financeDataCollection, requestContext)
-      .compose(comparisonHolderMap -> {
-        List<Error> errors = new ArrayList<>();
+    var financeData = financeDataCollection.getFyFinanceData();
+    List<Error> errors = new ArrayList<>();
+    PreviewRowKey[] previewKeys = null;
+    int[] rows;
+    if (financeDataCollection.getUpdateType() == FyFinanceDataCollection.UpdateType.PREVIEW && previewCache.isEnabled()) {
+      previewKeys = new PreviewRowKey[financeData.size()];
+      rows = applyCachedPreviewRows(financeData, previewKeys, errors, requestContext);
+    } else {
+      rows = IntStream.range(0, financeData.size()).toArray();
+    }
+    return compareChunks(financeData, rows, 0, previewKeys, errors, requestContext)
+      .compose(v -> !errors.isEmpty()
+        ? Future.failedFuture(new HttpException(422, new Errors().withErrors(errors).withTotalRecords(errors.size())))
+        : Future.succeededFuture());
+  }
 
-        comparisonHolderMap.forEach((index, holder) -> {
-          compareFund(holder.fund(), holder.financeData(), index, errors);
-          compareBudget(holder.budget(), holder.financeData(), index, errors);
-        });
+  private int[] applyCachedPreviewRows(List<FyFinanceData> financeData, PreviewRowKey[] previewKeys, List<Error> errors,
+                                       RequestContext requestContext) {
+    int[] rowsToCompare = new int[financeData.size()];
+    int rowsToCompareCount = 0;
+    for (int i = 0; i < financeData.size(); i++) {
+      previewKeys[i] = previewCache.buildKey(financeData.get(i), requestContext);
+      var previewRow = previewCache.get(previewKeys[i]);
+      if (previewRow == null) {
+        rowsToCompare[rowsToCompareCount++] = i;
+        continue;
+      }
+      previewRow.applyTo(financeData.get(i));
+      for (Error error : previewRow.errors()) {
+        errors.add(previewRow.index() == i ? error : reindexError(error, previewRow.index(), i));
+      }
+    }
+    log.info("applyCachedPreviewRows:: {} of {} finance data rows taken from previous previews",
+      financeData.size() - rowsToCompareCount, financeData.size());
+    return Arrays.copyOf(rowsToCompare, rowsToCompareCount);
+  }
 
-        IntStreamEx.range(financeDataCollection.getFyFinanceData().size()).forEach(i ->
-          verifyAllocationChange(errors, financeDataCollection.getFyFinanceData().get(i), i));
+  private Future<Void> compareChunks(List<FyFinanceData> financeData, int[] rows, int from, PreviewRowKey[] previewKeys,
+                                     List<Error> errors, RequestContext requestContext) {
+    if (from >= rows.length) {
+      return Future.succeededFuture();
+    }
+    int to = Math.min(from + FINANCE_DATA_CHUNK_SIZE, rows.length);
+    return compareChunk(financeData, Arrays.copyOfRange(rows, from, to), previewKeys, errors, requestContext)
+      .compose(v -> compareChunks(financeData, rows, to, previewKeys, errors, requestContext));
+  }
 
-        return !errors.isEmpty()
-          ? Future.failedFuture(new HttpException(422, new Errors().withErrors(errors).withTotalRecords(errors.size())))
-          : Future.succeededFuture();
+  private Future<Void> compareChunk(List<FyFinanceData> financeData, int[] chunkRows, PreviewRowKey[] previewKeys,
+                                    List<Error> errors, RequestContext requestContext) {
+    log.debug("compareChunk:: Comparing {} finance data rows starting from row {} with existing data", chunkRows.length, chunkRows[0]);
+    var fundIds = IntStreamEx.of(chunkRows).mapToObj(i -> financeData.get(i).getFundId()).filter(StringUtils::isNotBlank).distinct().toList();
+    var budgetIds = IntStreamEx.of(chunkRows).mapToObj(i -> financeData.get(i).getBudgetId()).filter(StringUtils::isNotBlank).distinct().toList();
+    var fundsFuture = fundService.getFundsByIds(fundIds, requestContext);
+    var budgetsFuture = budgetService.getBudgetsByIds(budgetIds, requestContext);
+    return Future.all(fundsFuture, budgetsFuture)
+      .map(v -> {
+        var fundMap = StreamEx.of(fundsFuture.result()).valuesToMap(Fund::getId);
+        var budgetMap = StreamEx.of(budgetsFuture.result()).valuesToMap(Budget::getId);
+        for (int index : chunkRows) {
+          var data = financeData.get(index);
+          int rowErrorsStart = errors.size();
+          compareFund(fundMap.get(data.getFundId()), data, index, errors);
+          compareBudget(budgetMap.get(data.getBudgetId()), data, index, errors);
+          verifyAllocationChange(errors, data, index);
+          if (previewKeys != null) {
+            previewCache.put(previewKeys[index], data, index, errors.subList(rowErrorsStart, errors.size()));
+          }
+        }
+        return null;
       });
   }
 
-  private Future<Map<Integer, FinanceDataComparisonHolder>> fetchFundsAndBudgetsForFinanceData(FyFinanceDataCollection financeDataCollection, RequestContext requestContext) {
-    var fundIds = StreamEx.of(financeDataCollection.getFyFinanceData()).map(FyFinanceData::getFundId).toSet();
-    var budgetIds = StreamEx.of(financeDataCollection.getFyFinanceData()).map(FyFinanceData::getBudgetId).toSet();
-    return fundService.getFundsBatch(fundIds, requestContext)
-      .compose(funds -> budgetService.getBudgetsBatch(budgetIds, requestContext)
-        .map(budgets -> {
-          var fundMap = StreamEx.of(funds.getFunds()).valuesToMap(Fund::getId);
-          var budgetMap = StreamEx.of(budgets.getBudgets()).valuesToMap(Budget::getId);
-
-          return IntStreamEx.range(financeDataCollection.getFyFinanceData().size()).boxed()
-            .toMap(i -> new FinanceDataComparisonHolder(financeDataCollection.getFyFinanceData().get(i),
-              fundMap.getOrDefault(financeDataCollection.getFyFinanceData().get(i).getFundId(), null),
-              budgetMap.getOrDefault(financeDataCollection.getFyFinanceData().get(i).getBudgetId(), null)));
-        }));
+  private Error reindexError(Error error, int previousIndex, int index) {
+    var previousPrefix = errorKey(previousIndex, "");
+    var parameters = StreamEx.of(error.getParameters())
+      .map(param -> param.getKey() != null && param.getKey().startsWith(previousPrefix)
+        ? new Parameter().withKey(errorKey(index, param.getKey().substring(previousPrefix.length()))).withValue(param.getValue())
+        : param)
+      .toList();
+    return new Error().withMessage(error.getMessage()).withCode(error.getCode()).withType(error.getType()).withParameters(parameters);
   }
 
   private void compareFund(Fund fund, FyFinanceData financeData, int index, List<Error> errors) {
     if (fund == null) {
-      errors.add(createError("Fund ID not found", String.format("financeData[%s].fundId", index), financeData.getFundId()));
+      errors.add(createError("Fund ID not found", errorKey(index, "fundId"), financeData.getFundId()));
       return;
     }
     if (!Objects.equals(fund.getCode(), financeData.getFundCode())) {
       errors.add(createError("fundCode must be the same as existing fund code",
-        String.format("financeData[%s].fundCode", index), financeData.getFundCode()));
+        errorKey(index, "fundCode"), financeData.getFundCode()));
     }
     if (!Objects.equals(fund.getName(), financeData.getFundName())) {
       errors.add(createError("fundName must be the same as existing fund name",
-        String.format("financeData[%s].fundName", index), financeData.getFundName()));
+        errorKey(index, "fundName"), financeData.getFundName()));
     }
     if (financeData.getLedgerId() != null && !Objects.equals(fund.getLedgerId(), financeData.getLedgerId())) {
       errors.add(createError("Fund ledger ID must be the same as ledger ID",
-        String.format("financeData[%s].fundId", index), financeData.getFundId()));
+        errorKey(index, "fundId"), financeData.getFundId()));
     }
 
     financeData.setIsFundChanged(isFundChanged(financeData, fund));
@@ -242,16 +307,16 @@ public class FinanceDataValidator {
     }
 
     if (budget == null) {
-      errors.add(createError("Budget ID not found", String.format("financeData[%s].budgetId", index), financeData.getBudgetId()));
+      errors.add(createError("Budget ID not found", errorKey(index, "budgetId"), financeData.getBudgetId()));
       return;
     }
     if (!Objects.equals(budget.getName(), financeData.getBudgetName())) {
       errors.add(createError("budgetName must be the same as existing budget name",
-        String.format("financeData[%s].budgetName", index), financeData.getBudgetName()));
+        errorKey(index, "budgetName"), financeData.getBudgetName()));
     }
     if (!Objects.equals(budget.getFundId(), financeData.getFundId())) {
       errors.add(createError("Budget fund ID must be the same as fund ID",
-        String.format("financeData[%s].budgetId", index), financeData.getBudgetId()));
+        errorKey(index, "budgetId"), financeData.getBudgetId()));
     }
 
     financeData.withIsBudgetChanged(isBudgetChanged(financeData, budget))
@@ -293,18 +358,24 @@ public class FinanceDataValidator {
 
       if (allocationChange.compareTo(BigDecimal.ZERO) < 0 && allocationChange.abs().compareTo(currentAllocation) > 0) {
         errors.add(createError("New total allocation cannot be negative",
-          String.format("financeData[%s].budgetAllocationChange", i), String.valueOf(financeData.getBudgetAllocationChange())));
+          errorKey(i, "budgetAllocationChange"), String.valueOf(financeData.getBudgetAllocationChange())));
       }
     }
   }
 
+  /**
+   * Builds the key of an error parameter, only called once the error is found.
+   */
+  private static String errorKey(int index, String fieldName) {
+    return ERROR_KEY_PREFIX + index + "]." + fieldName;
+  }
+
   private Error createError(String message, String key, String value) {
     log.warn("Validation error: {}", message);
     var param = new Parameter().withKey(key).withValue(value);
     return new Error().withMessage(message).withParameters(List.of(param));
   }
 
-  private record FinanceDataComparisonHolder(FyFinanceData financeData, Fund fund, Budget budget) { }
+  private record FinanceDataKey(String fundId, String budgetId, String fiscalYearId) { }
 
 }
-
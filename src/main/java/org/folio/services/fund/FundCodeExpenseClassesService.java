@@ -1,20 +1,22 @@
 package org.folio.services.fund;
 
+import static org.folio.rest.util.CacheUtils.buildCache;
 import static org.folio.rest.util.HelperUtils.collectResultsOnSuccess;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.folio.models.FundCodeExpenseClassesHolder;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.Budget;
 import org.folio.rest.jaxrs.model.BudgetsCollection;
 import org.folio.rest.jaxrs.model.FiscalYear;
-import org.folio.rest.jaxrs.model.Fund;
 import org.folio.rest.jaxrs.model.FundCodeExpenseClassesCollection;
 import org.folio.rest.jaxrs.model.FundCodeVsExpClassesType;
 import org.folio.rest.jaxrs.model.Ledger;
+import org.folio.rest.tools.utils.TenantTool;
 import org.folio.services.ExpenseClassService;
 import org.folio.services.budget.BudgetExpenseClassService;
 import org.folio.services.budget.BudgetService;
@@ -22,11 +24,16 @@ import org.folio.services.fiscalyear.FiscalYearService;
 import org.folio.services.ledger.LedgerDetailsService;
 import org.folio.services.ledger.LedgerService;
 
+import com.github.benmanes.caffeine.cache.Cache;
+
 import io.vertx.core.Future;
+import one.util.streamex.StreamEx;
 
 
 public class FundCodeExpenseClassesService {
 
+  private static final Logger log = LogManager.getLogger();
+
   private final BudgetService budgetService;
   private final BudgetExpenseClassService budgetExpenseClassService;
   private final FundService fundService;
@@ -34,11 +41,12 @@ public class FundCodeExpenseClassesService {
   private final FiscalYearService fiscalYearService;
   private final LedgerDetailsService ledgerDetailsService;
   private final ExpenseClassService expenseClassService;
+  private final Cache<FundCodeExpenseClassesKey, Future<FundCodeExpenseClassesCollection>> fundCodeExpenseClassesCache;
 
   public FundCodeExpenseClassesService(BudgetService budgetService, BudgetExpenseClassService budgetExpenseClassService,
                                        FundService fundService, LedgerService ledgerService,
                                        FiscalYearService fiscalYearService, LedgerDetailsService ledgerDetailsService,
-                                       ExpenseClassService expenseClassService) {
+                                       ExpenseClassService expenseClassService, long cacheExpirationTime) {
     this.budgetService = budgetService;
     this.budgetExpenseClassService = budgetExpenseClassService;
     this.fundService = fundService;
@@ -46,83 +54,103 @@ public class FundCodeExpenseClassesService {
     this.fiscalYearService = fiscalYearService;
     this.ledgerDetailsService = ledgerDetailsService;
     this.expenseClassService = expenseClassService;
+    // the expiration is a safety net for changes made directly in storage (e.g. by rollover), which this module can not observe
+    this.fundCodeExpenseClassesCache = buildCache(cacheExpirationTime);
   }
 
+  /**
+   * Returns the fund code vs expense classes combinations of the fiscal year, or of the current fiscal years of all ledgers
+   * if the code is null. The result is cached per tenant and shared by all callers, so it must not be modified.
+   *
+   * @param fiscalYearCode fiscal year code, can be null
+   * @param requestContext request context
+   * @return future with the cached, read-only collection
+   */
   public Future<FundCodeExpenseClassesCollection> retrieveCombinationFundCodeExpClasses(String fiscalYearCode,
                                                                                         RequestContext requestContext) {
-    FundCodeExpenseClassesHolder fundCodeExpenseClassesHolder = new FundCodeExpenseClassesHolder();
+    var key = new FundCodeExpenseClassesKey(TenantTool.tenantId(requestContext.headers()), fiscalYearCode);
+    var fundCodeExpenseClasses = fundCodeExpenseClassesCache.get(key,
+      k -> buildCombinationFundCodeExpClasses(fiscalYearCode, requestContext));
+    return fundCodeExpenseClasses
+      .onFailure(t -> fundCodeExpenseClassesCache.asMap().remove(key, fundCodeExpenseClasses));
+  }
+
+  /**
+   * Drops all cached fund code vs expense classes combinations of the tenant. Must be called after any change
+   * of funds, ledgers, budgets, budget expense classes or expense classes made through this module.
+   *
+   * @param requestContext request context holding the tenant headers
+   */
+  public void invalidateCache(RequestContext requestContext) {
+    var tenantId = TenantTool.tenantId(requestContext.headers());
+    log.debug("invalidateCache:: Invalidating fund code vs expense classes combinations for tenant: {}", tenantId);
+    fundCodeExpenseClassesCache.asMap().keySet().removeIf(key -> key.tenantId().equals(tenantId));
+  }
+
+  private Future<FundCodeExpenseClassesCollection> buildCombinationFundCodeExpClasses(String fiscalYearCode,
+                                                                                     RequestContext requestContext) {
     if (fiscalYearCode != null) {
-      FiscalYear fiscalYearUnit = new FiscalYear();
-      fiscalYearUnit.setCode(fiscalYearCode);
-      return getFundCodeVsExpenseClassesWithFiscalYear(fiscalYearUnit, fundCodeExpenseClassesHolder, requestContext);
+      return fiscalYearService.getFiscalYearByFiscalYearCode(fiscalYearCode, requestContext)
+        .compose(fiscalYear -> getFundCodeVsExpenseClassesWithFiscalYear(fiscalYear, requestContext));
     } else {
       return ledgerService.retrieveLedgers(StringUtils.EMPTY, 0, Integer.MAX_VALUE, requestContext)
         // LedgersCollection
         .compose(ledgersCollection -> getFiscalYearList(ledgersCollection.getLedgers(), requestContext))
-        .compose(fiscalYearList -> buildFundCodeExpenseClassesCollection(fiscalYearList, fundCodeExpenseClassesHolder, requestContext))
+        .compose(fiscalYearList -> buildFundCodeExpenseClassesCollection(fiscalYearList, requestContext))
         .map(this::buildCollection);
     }
   }
 
   public Future<List<FiscalYear>> getFiscalYearList(List<Ledger> ledgerList, RequestContext requestContext) {
-    List<Future<FiscalYear>> fiscalYearsList = ledgerList.stream()
+    // Ledgers sharing the same first fiscal year belong to the same series, so their current fiscal year is resolved once
+    List<Future<FiscalYear>> fiscalYearsList = StreamEx.of(ledgerList)
+      .distinct(Ledger::getFiscalYearOneId)
       .map(ledger -> ledgerDetailsService.getCurrentFiscalYear(ledger.getId(), requestContext))
-      .collect(Collectors.toList());
+      .toList();
     return collectResultsOnSuccess(fiscalYearsList);
   }
 
   public Future<List<FundCodeExpenseClassesCollection>> buildFundCodeExpenseClassesCollection(List<FiscalYear> fiscalYearList,
-                                                                                              FundCodeExpenseClassesHolder fundCodeExpenseClassesHolder,
                                                                                               RequestContext requestContext) {
-    List<FiscalYear> separatedFiscalYears = fiscalYearList.stream().distinct().collect(Collectors.toList());
-    List<Future<FundCodeExpenseClassesCollection>> completeFutures = separatedFiscalYears.stream()
-      .map(fiscalYr -> getFundCodeVsExpenseClassesWithFiscalYear(fiscalYr, fundCodeExpenseClassesHolder, requestContext))
-      .collect(Collectors.toList());
+    // Every fiscal year is processed by an independent pipeline, the results are merged once all of them complete
+    List<Future<FundCodeExpenseClassesCollection>> completeFutures = StreamEx.of(fiscalYearList)
+      .nonNull()
+      .distinct(FiscalYear::getId)
+      .map(fiscalYear -> getFundCodeVsExpenseClassesWithFiscalYear(fiscalYear, requestContext))
+      .toList();
     return collectResultsOnSuccess(completeFutures);
   }
 
   public FundCodeExpenseClassesCollection buildCollection(List<FundCodeExpenseClassesCollection> fundCodeExpenseClassesCollectionList) {
-    FundCodeExpenseClassesCollection fundCodeExpenseClassesCollectionObject = new FundCodeExpenseClassesCollection();
-    fundCodeExpenseClassesCollectionObject.setDelimiter(":");
-    for (FundCodeExpenseClassesCollection fundCodeExpenseClasses : fundCodeExpenseClassesCollectionList) {
-      List<FundCodeVsExpClassesType> fundCodeVsExpClassesTypesObject = fundCodeExpenseClassesCollectionObject.getFundCodeVsExpClassesTypes();
-      List<FundCodeVsExpClassesType> fundCodeVsExpClassesTypes = fundCodeExpenseClasses.getFundCodeVsExpClassesTypes();
-      fundCodeVsExpClassesTypesObject.addAll(fundCodeVsExpClassesTypes);
-      fundCodeExpenseClassesCollectionObject.setFundCodeVsExpClassesTypes(fundCodeVsExpClassesTypesObject);
-    }
-    return fundCodeExpenseClassesCollectionObject;
+    List<FundCodeVsExpClassesType> fundCodeVsExpClassesTypes = StreamEx.of(fundCodeExpenseClassesCollectionList)
+      .flatCollection(FundCodeExpenseClassesCollection::getFundCodeVsExpClassesTypes)
+      .toList();
+    return new FundCodeExpenseClassesCollection()
+      .withDelimiter(":")
+      .withFundCodeVsExpClassesTypes(fundCodeVsExpClassesTypes);
   }
 
-  public Future<FundCodeExpenseClassesCollection> getFundCodeVsExpenseClassesWithFiscalYear(FiscalYear fiscalYearUnit,
-                                                                                            FundCodeExpenseClassesHolder fundCodeExpenseClassesHolder,
+  public Future<FundCodeExpenseClassesCollection> getFundCodeVsExpenseClassesWithFiscalYear(FiscalYear fiscalYear,
                                                                                             RequestContext requestContext) {
-    String fiscalYearCode = fiscalYearUnit.getCode();
-    return fiscalYearService.getFiscalYearByFiscalYearCode(fiscalYearCode, requestContext)
-      .map(fundCodeExpenseClassesHolder::setFiscalYear)
-      .compose(fcecHolder -> getActiveBudgetsByFiscalYear(fcecHolder.getFiscalYear(), requestContext))
-      .map(fundCodeExpenseClassesHolder::withBudgetCollectionList)
-      .map(holder -> holder.getBudgetCollection().getBudgets().stream().map(Budget::getFundId).distinct().collect(Collectors.toList()))
-      .compose(fundsId -> fundService.getFundsByIds(fundsId, requestContext))
-      .map(fundCodeExpenseClassesHolder::withFundList)
-      .map(fcecHolder -> fcecHolder.getFundList().stream().map(Fund::getLedgerId).collect(Collectors.toList()))
-      .compose(ledgerIds -> ledgerService.getLedgers(ledgerIds, requestContext))
-      .map(fundCodeExpenseClassesHolder::withLedgerList)
-      .compose(fcecHolder -> retrieveFundCodeVsExpenseClasses(requestContext, fundCodeExpenseClassesHolder));
+    return getActiveBudgetsByFiscalYear(fiscalYear, requestContext)
+      .map(budgetsCollection -> new FundCodeExpenseClassesHolder(fiscalYear).withBudgets(budgetsCollection.getBudgets()))
+      .compose(holder -> fundService.getFundsBatch(holder.getFundIds(), requestContext)
+        .map(fundsCollection -> holder.withFunds(fundsCollection.getFunds())))
+      .compose(holder -> ledgerService.getLedgers(holder.getLedgerIds(), requestContext)
+        .map(holder::withLedgers))
+      .compose(holder -> retrieveFundCodeVsExpenseClasses(holder, requestContext));
   }
 
-  public Future<FundCodeExpenseClassesCollection> retrieveFundCodeVsExpenseClasses(RequestContext requestContext,
-                                                                                   FundCodeExpenseClassesHolder fundCodeExpenseClassesHolder) {
-    return getActiveBudgetsByFiscalYear(fundCodeExpenseClassesHolder.getFiscalYear(), requestContext)
-      // Future<BudgetsCollection>
-      .map(budgetsCollection -> budgetsCollection.getBudgets()
-        .stream()
-        .map(Budget::getId)
-        .collect(Collectors.toList()))
-      .map(fundCodeExpenseClassesHolder::withBudgetIds)
-      .compose(holder -> budgetExpenseClassService.getBudgetExpenseClasses(holder.getBudgetIds(), requestContext))
-      .map(fundCodeExpenseClassesHolder::withBudgetExpenseClassList)
-      .compose(holder -> expenseClassService.getExpenseClassesByBudgetIds(holder.getBudgetIds(), requestContext))
-      .map(fundCodeExpenseClassesHolder::withExpenseClassList)
+  public Future<FundCodeExpenseClassesCollection> retrieveFundCodeVsExpenseClasses(FundCodeExpenseClassesHolder holder,
+                                                                                   RequestContext requestContext) {
+    // Active budgets are already loaded into the holder, the links and expense classes are independent of each other
+    List<String> budgetIds = holder.getBudgetIds();
+    var budgetExpenseClassesFuture = budgetExpenseClassService.getBudgetExpenseClasses(budgetIds, requestContext);
+    var expenseClassesFuture = expenseClassService.getExpenseClassesByBudgetIds(budgetIds, requestContext);
+    return Future.all(budgetExpenseClassesFuture, expenseClassesFuture)
+      .map(cf -> holder
+        .withBudgetExpenseClasses(budgetExpenseClassesFuture.result())
+        .withExpenseClasses(expenseClassesFuture.result()))
       .map(FundCodeExpenseClassesHolder::buildFundCodeVsExpenseClassesTypeCollection);
   }
 
@@ -134,4 +162,7 @@ public class FundCodeExpenseClassesService {
   public String queryBudgetStatusAndFiscalYearId(String budgetStatus, String fiscalYearId) {
     return String.format("budgetStatus=%s and fiscalYearId=%s", budgetStatus, fiscalYearId);
   }
+
+  private record FundCodeExpenseClassesKey(String tenantId, String fiscalYearCode) {
+  }
 }
@@ -1,8 +1,7 @@
 package org.folio.services.fund;
 
-import static one.util.streamex.StreamEx.ofSubLists;
-import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
-import static org.folio.rest.util.HelperUtils.collectResultsOnSuccess;
+import static org.folio.rest.RestConstants.MAX_IDS_FOR_BATCH_RQ;
+import static org.folio.rest.util.ChunkedFetchUtils.fetchInChunks;
 import static org.folio.rest.util.HelperUtils.combineCqlExpressions;
 import static org.folio.rest.util.ResourcePathResolver.FUNDS_BATCH_STORAGE;
 import static org.folio.rest.util.ResourcePathResolver.FUNDS_STORAGE;
@@ -10,7 +9,6 @@ import static org.folio.rest.util.ResourcePathResolver.FUND_TYPES;
 import static org.folio.rest.util.ResourcePathResolver.resourceByIdPath;
 import static org.folio.rest.util.ResourcePathResolver.resourcesPath;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -23,7 +21,6 @@ import org.folio.rest.jaxrs.model.Fund;
 import org.folio.rest.jaxrs.model.FundType;
 import org.folio.rest.jaxrs.model.FundTypesCollection;
 import org.folio.rest.jaxrs.model.FundsCollection;
-import org.folio.rest.util.HelperUtils;
 import org.folio.services.protection.AcqUnitsService;
 
 import io.vertx.core.Future;
@@ -72,24 +69,8 @@ public class FundService {
   }
 
   public Future<List<Fund>> getFundsByIds(List<String> fundIds, RequestContext requestContext) {
-    return collectResultsOnSuccess(
-      ofSubLists(new ArrayList<>(fundIds), MAX_IDS_FOR_GET_RQ)
-        .map(ids -> getFundsByIdsChunk(ids, requestContext))
-        .toList())
-      .map(lists -> lists.stream()
-        .flatMap(Collection::stream)
-        .toList()
-      );
-  }
-
-  private Future<List<Fund>> getFundsByIdsChunk(List<String> ids, RequestContext requestContext) {
-    String query = HelperUtils.convertIdsToCqlQuery(ids);
-    var requestEntry = new RequestEntry(resourcesPath(FUNDS_STORAGE))
-      .withQuery(query)
-      .withOffset(0)
-      .withLimit(Integer.MAX_VALUE);
-    return restClient.get(requestEntry.buildEndpoint(), FundsCollection.class, requestContext)
-      .map(FundsCollection::getFunds);
+    return fetchInChunks(fundIds, MAX_IDS_FOR_BATCH_RQ,
+      ids -> getFundsBatch(ids, requestContext).map(FundsCollection::getFunds));
   }
 
   public Future<FundType> getFundTypeById(String id, RequestContext requestContext) {
@@ -0,0 +1,211 @@
+package org.folio.services.fund;
+
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.exception.HttpException;
+import org.folio.rest.jaxrs.model.FundUpdateLog;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Writes fund update logs of running finance data updates. The writer keeps the latest state of every log it created,
+ * so status and progress changes are applied to it and written without reading the log again.
+ * Changes made while a write of the same log is in flight are coalesced into a single next write,
+ * writes failed with a conflict, a server or a connection error are retried with exponential backoff.
+ * A log is released once its final status is written, the number of logs with pending writes is logged at that point.
+ */
+public class FundUpdateLogWriter {
+
+  private static final Logger log = LogManager.getLogger();
+
+  private static final String VERSION = "_version";
+
+  private final FundUpdateLogService fundUpdateLogService;
+  private final int maxRetries;
+  private final long initialBackoffMillis;
+  private final Map<String, LogState> logStates = new ConcurrentHashMap<>();
+
+  public FundUpdateLogWriter(FundUpdateLogService fundUpdateLogService, int maxRetries, long initialBackoffMillis) {
+    this.fundUpdateLogService = fundUpdateLogService;
+    this.maxRetries = maxRetries;
+    this.initialBackoffMillis = initialBackoffMillis;
+  }
+
+  public Future<FundUpdateLog> createFundUpdateLog(FundUpdateLog fundUpdateLog, RequestContext requestContext) {
+    return fundUpdateLogService.createFundUpdateLog(fundUpdateLog, requestContext)
+      .onSuccess(createdLog -> logStates.put(fundUpdateLog.getId(),
+        new LogState(Objects.requireNonNullElse(createdLog, fundUpdateLog))));
+  }
+
+  /**
+   * Applies the change to the latest state of the log and schedules its write. A log not created by this writer
+   * is read once before the change is applied.
+   *
+   * @param fundUpdateLogId id of the log
+   * @param change          change to apply to the log
+   * @param requestContext  request context
+   * @return future completed when a write including the change succeeded, failed when it failed after all retries
+   */
+  public Future<Void> updateFundUpdateLog(String fundUpdateLogId, Consumer<FundUpdateLog> change, RequestContext requestContext) {
+    var logState = logStates.get(fundUpdateLogId);
+    if (logState == null) {
+      return fundUpdateLogService.getFundUpdateLogById(fundUpdateLogId, requestContext)
+        .compose(fundUpdateLog -> logStates.computeIfAbsent(fundUpdateLogId, id -> new LogState(fundUpdateLog))
+          .update(change, requestContext));
+    }
+    return logState.update(change, requestContext);
+  }
+
+  /**
+   * @return number of logs with a write in flight or waiting
+   */
+  public int getQueueDepth() {
+    return (int) logStates.values().stream().filter(LogState::isBusy).count();
+  }
+
+  private static boolean isFinal(FundUpdateLog fundUpdateLog) {
+    return fundUpdateLog.getStatus() == FundUpdateLog.Status.COMPLETED || fundUpdateLog.getStatus() == FundUpdateLog.Status.ERROR;
+  }
+
+  private static boolean isConflict(Throwable t) {
+    return t instanceof HttpException httpException && httpException.getCode() == 409;
+  }
+
+  private static boolean isRetryable(Throwable t) {
+    // other client errors fail the same way on every attempt, failures without a response are connection errors
+    if (t instanceof HttpException httpException) {
+      return isConflict(t) || httpException.getCode() >= 500;
+    }
+    return true;
+  }
+
+  private final class LogState {
+    private FundUpdateLog current;
+    private boolean writing;
+    private List<Promise<Void>> waitingChanges = new ArrayList<>();
+
+    private LogState(FundUpdateLog fundUpdateLog) {
+      this.current = fundUpdateLog;
+    }
+
+    private synchronized boolean isBusy() {
+      return writing || !waitingChanges.isEmpty();
+    }
+
+    private Future<Void> update(Consumer<FundUpdateLog> change, RequestContext requestContext) {
+      Promise<Void> promise = Promise.promise();
+      boolean startWrite;
+      synchronized (this) {
+        change.accept(current);
+        waitingChanges.add(promise);
+        startWrite = !writing;
+        writing = true;
+      }
+      log.debug("updateFundUpdateLog:: Fund update log change queued, queueDepth={}", getQueueDepth());
+      if (startWrite) {
+        writeNext(requestContext);
+      }
+      return promise.future();
+    }
+
+    private void writeNext(RequestContext requestContext) {
+      JsonObject snapshot;
+      List<Promise<Void>> writtenChanges;
+      FundUpdateLog releasedLog = null;
+      synchronized (this) {
+        if (waitingChanges.isEmpty()) {
+          writing = false;
+          if (isFinal(current) && logStates.remove(current.getId(), this)) {
+            releasedLog = current;
+          }
+          snapshot = null;
+          writtenChanges = List.of();
+        } else {
+          // the log keeps changing while the snapshot is written
+          snapshot = JsonObject.mapFrom(current);
+          writtenChanges = waitingChanges;
+          waitingChanges = new ArrayList<>();
+        }
+      }
+      if (snapshot == null) {
+        if (releasedLog != null) {
+          log.info("writeNext:: Fund update log {} released with final status {}, queueDepth={}, trackedLogs={}",
+            releasedLog.getId(), releasedLog.getStatus(), getQueueDepth(), logStates.size());
+        }
+        return;
+      }
+      write(snapshot, 0, requestContext)
+        .onComplete(ar -> {
+          if (ar.failed()) {
+            log.error("writeNext:: Failed to write fund update log {} with status {}, {} changes lost",
+              snapshot.getString("id"), snapshot.getString("status"), writtenChanges.size(), ar.cause());
+          }
+          // the state is released or the next write is started before the written changes are acknowledged
+          writeNext(requestContext);
+          writtenChanges.forEach(promise -> promise.handle(ar));
+        });
+    }
+
+    private Future<Void> write(JsonObject snapshot, int attempt, RequestContext requestContext) {
+      return fundUpdateLogService.updateFundUpdateLog(snapshot.mapTo(FundUpdateLog.class), requestContext)
+        .onSuccess(v -> onWritten(snapshot))
+        .recover(t -> {
+          if (attempt >= maxRetries || !isRetryable(t)) {
+            return failedFuture(t);
+          }
+          long backoff = initialBackoffMillis << attempt;
+          log.warn("write:: Failed to write fund update log {}, retry {} of {} in {} ms",
+            snapshot.getString("id"), attempt + 1, maxRetries, backoff, t);
+          return delay(backoff, requestContext)
+            .compose(v -> isConflict(t) ? refreshVersion(snapshot, requestContext) : succeededFuture(snapshot))
+            .compose(refreshed -> write(refreshed, attempt + 1, requestContext));
+        });
+    }
+
+    private void onWritten(JsonObject snapshot) {
+      // the storage increments the version on every update, the next write is based on it without reading the log
+      Integer version = snapshot.getInteger(VERSION);
+      if (version != null) {
+        setVersion(version + 1);
+      }
+    }
+
+    private Future<JsonObject> refreshVersion(JsonObject snapshot, RequestContext requestContext) {
+      return fundUpdateLogService.getFundUpdateLogById(snapshot.getString("id"), requestContext)
+        .map(latest -> {
+          var latestVersion = JsonObject.mapFrom(latest).getValue(VERSION);
+          if (latestVersion == null) {
+            return snapshot;
+          }
+          setVersion(latestVersion);
+          return snapshot.copy().put(VERSION, latestVersion);
+        });
+    }
+
+    private synchronized void setVersion(Object version) {
+      current = JsonObject.mapFrom(current).put(VERSION, version).mapTo(FundUpdateLog.class);
+    }
+
+    private Future<Void> delay(long millis, RequestContext requestContext) {
+      if (millis <= 0) {
+        return succeededFuture();
+      }
+      Promise<Void> promise = Promise.promise();
+      requestContext.context().owner().setTimer(millis, id -> promise.complete());
+      return promise.future();
+    }
+  }
+}
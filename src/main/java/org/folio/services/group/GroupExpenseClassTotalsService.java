@@ -1,24 +1,13 @@
 package org.folio.services.group;
 
 import static io.vertx.core.Future.succeededFuture;
-import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 import static org.folio.models.ExpenseClassUnassigned.getExpenseClassName;
-import static org.folio.rest.util.MoneyUtils.calculateCreditedPercentage;
-import static org.folio.rest.util.MoneyUtils.calculateExpendedPercentage;
+import static org.folio.rest.util.BudgetUtils.EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
-import javax.money.CurrencyUnit;
-import javax.money.Monetary;
-import javax.money.MonetaryAmount;
-
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.models.ExpenseClassUnassigned;
@@ -27,13 +16,11 @@ import org.folio.rest.jaxrs.model.ExpenseClass;
 import org.folio.rest.jaxrs.model.GroupExpenseClassTotal;
 import org.folio.rest.jaxrs.model.GroupExpenseClassTotalsCollection;
 import org.folio.rest.jaxrs.model.GroupFundFiscalYear;
-import org.folio.rest.jaxrs.model.SharedBudget;
 import org.folio.rest.jaxrs.model.Transaction;
 import org.folio.services.ExpenseClassService;
-import org.folio.services.budget.RecalculatedBudgetBuilder;
+import org.folio.services.budget.ExpenseClassTotalsBuilder;
+import org.folio.services.budget.ExpenseClassTotalsBuilder.ExpenseClassTotals;
 import org.folio.services.transactions.TransactionService;
-import org.javamoney.moneta.Money;
-import org.javamoney.moneta.function.MonetaryFunctions;
 
 import io.vertx.core.Future;
 
@@ -72,7 +59,7 @@ public class GroupExpenseClassTotalsService {
 
   private Future<List<Transaction>> getTransactions(List<GroupFundFiscalYear> groupFundFiscalYears, String fiscalYearId, RequestContext requestContext) {
     List<String> fundIds = groupFundFiscalYears.stream().map(GroupFundFiscalYear::getFundId).collect(Collectors.toList());
-    return transactionService.getTransactionsByFundIds(fundIds, fiscalYearId, requestContext);
+    return transactionService.getTransactionsByFundIds(fundIds, fiscalYearId, EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES, requestContext);
   }
 
   private Future<List<ExpenseClass>> getExpenseClasses(List<GroupFundFiscalYear> groupFundFiscalYears, RequestContext requestContext) {
@@ -87,29 +74,13 @@ public class GroupExpenseClassTotalsService {
   private GroupExpenseClassTotalsCollection buildGroupExpenseClassesTotals(List<ExpenseClass> expenseClasses,
                                                                            List<Transaction> transactions) {
     log.debug("buildGroupExpenseClassesTotals:: Building Group Expense classes totals");
-    Map<String, List<Transaction>> expenseClassIdTransactionsMap = transactions.stream()
-      .map(transaction -> {
-        if (StringUtils.isEmpty(transaction.getExpenseClassId())) {
-          return transaction.withExpenseClassId(ExpenseClassUnassigned.ID.getValue());
-        }
-        return transaction;
-      })
-      .collect(groupingBy(Transaction::getExpenseClassId));
-
-    List<Transaction> payments = transactions.stream()
-      .filter(transaction -> transaction.getTransactionType() == Transaction.TransactionType.PAYMENT)
-      .toList();
-    List<Transaction> credits = transactions.stream()
-      .filter(transaction -> transaction.getTransactionType() == Transaction.TransactionType.CREDIT)
-      .toList();
-
-    double expendedGrandTotal = calculateTransactionsAmount(payments);
-    double creditedGrandTotal = calculateTransactionsAmount(credits);
+    ExpenseClassTotalsBuilder totalsBuilder = new ExpenseClassTotalsBuilder(expenseClasses).withTransactions(transactions);
+    double expendedGrandTotal = totalsBuilder.getExpendedGrandTotal();
+    double creditedGrandTotal = totalsBuilder.getCreditedGrandTotal();
 
     List<GroupExpenseClassTotal> groupExpenseClassTotals = expenseClasses.stream()
       .map(expenseClass -> buildGroupExpenseClassTotal(expenseClass,
-        expenseClassIdTransactionsMap.getOrDefault(expenseClass.getId(), Collections.emptyList()),
-        expendedGrandTotal, creditedGrandTotal))
+        totalsBuilder.build(expenseClass.getId(), expendedGrandTotal, creditedGrandTotal)))
       .collect(toList());
 
     log.info("buildGroupExpenseClassesTotals:: Creating collection for groupExpenseClassTotals with '{}' element(s) and expendedGrandTotal '{}'",
@@ -119,55 +90,18 @@ public class GroupExpenseClassTotalsService {
       .withTotalRecords(groupExpenseClassTotals.size());
   }
 
-  private Double calculateTransactionsAmount(List<Transaction> transactions) {
-    return transactions.stream()
-      .map(this::toMoney)
-      .reduce(MonetaryFunctions.sum())
-      .map(money -> money.getNumber().doubleValue())
-      .orElse(0d);
-  }
-
-  private MonetaryAmount toMoney(Transaction transaction) {
-    return Money.of(transaction.getAmount(), transaction.getCurrency());
-  }
-
-  private GroupExpenseClassTotal buildGroupExpenseClassTotal(ExpenseClass expenseClass, List<Transaction> transactions,
-                                                             double expendedGrandTotal, double creditedGrandTotal) {
-    log.debug("buildGroupExpenseClassTotal:: Building group expense class totals by using expendedGrandTotal={} and '{}' transaction(s)", expendedGrandTotal,
-      Objects.nonNull(transactions) ? transactions.size() : null);
-    double expended = 0d;
-    double credited = 0d;
-    double encumbered = 0d;
-    double awaitingPayment = 0d;
-    Double percentageExpended = 0d;
-    Double percentageCredited = 0d;
-
-    if (CollectionUtils.isNotEmpty(transactions)) {
-      RecalculatedBudgetBuilder budgetBuilder = new RecalculatedBudgetBuilder(transactions);
-      SharedBudget recalculatedBudget = budgetBuilder.withEncumbered().withAwaitingPayment()
-        .withExpended().withCredited().build();
-
-      expended = recalculatedBudget.getExpenditures();
-      credited = recalculatedBudget.getCredits();
-      encumbered = recalculatedBudget.getEncumbered();
-      awaitingPayment = recalculatedBudget.getAwaitingPayment();
-
-      CurrencyUnit currency = Monetary.getCurrency(transactions.getFirst().getCurrency());
-      percentageExpended = expendedGrandTotal == 0 ? null : calculateExpendedPercentage(Money.of(recalculatedBudget.getExpenditures(), currency), expendedGrandTotal);
-      percentageCredited = creditedGrandTotal == 0 ? null : calculateCreditedPercentage(Money.of(recalculatedBudget.getCredits(), currency), creditedGrandTotal);
-    }
-
+  private GroupExpenseClassTotal buildGroupExpenseClassTotal(ExpenseClass expenseClass, ExpenseClassTotals totals) {
     log.info("buildGroupExpenseClassTotal:: Creating groupExpenseClass total for encumbered={}, awaitingPayment={}, expended={}, percentageExpended={}, credited={}, and percentageCredited={}",
-      encumbered, awaitingPayment, expended, percentageExpended, credited, percentageCredited);
+      totals.encumbered(), totals.awaitingPayment(), totals.expended(), totals.expendedPercentage(), totals.credited(), totals.creditedPercentage());
     String expenseClassName = getExpenseClassName(expenseClass);
     return new GroupExpenseClassTotal()
       .withId(expenseClass.getId())
       .withExpenseClassName(expenseClassName)
-      .withEncumbered(encumbered)
-      .withAwaitingPayment(awaitingPayment)
-      .withExpended(expended)
-      .withPercentageExpended(percentageExpended)
-      .withCredited(credited)
-      .withPercentageCredited(percentageCredited);
+      .withEncumbered(totals.encumbered())
+      .withAwaitingPayment(totals.awaitingPayment())
+      .withExpended(totals.expended())
+      .withPercentageExpended(totals.expendedPercentage())
+      .withCredited(totals.credited())
+      .withPercentageCredited(totals.creditedPercentage());
   }
 }
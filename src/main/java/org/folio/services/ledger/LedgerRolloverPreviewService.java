@@ -0,0 +1,331 @@
+package org.folio.services.ledger;
+
+import static io.vertx.core.Future.succeededFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.folio.rest.core.models.ETaggedEntity;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.model.LedgerFiscalYearRollover;
+import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverBudget;
+import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverBudgetCollection;
+import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverErrorCollection;
+import org.folio.rest.jaxrs.model.LedgerRolloverBudgetsDiff;
+import org.folio.rest.tools.utils.TenantTool;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Serves budgets and errors of ledger rollovers with ETags. Results of a finished preview rollover never change,
+ * so pages of queries restricted to such a rollover (e.g. {@code ledgerRolloverId==<id>}) are cached as its snapshot
+ * and repeated requests are answered without calling the storage. Pages of commit and running rollovers are always
+ * read from the storage. The size of the cache is bounded by the number of records of the cached pages.
+ * <p>
+ * The type of a rollover never changes, so it is read once. That a preview is still running is remembered
+ * for {@code runningCheckIntervalMillis}, so polling its pages does not check its progress on every request.
+ */
+@Log4j2
+public class LedgerRolloverPreviewService {
+
+  private static final Pattern ROLLOVER_ID_PATTERN =
+    Pattern.compile("^\\(*\\s*ledgerRolloverId\\s*==?\\s*\"?([0-9a-fA-F-]{36})\"?(?=[\\s)]|$)", Pattern.CASE_INSENSITIVE);
+  private static final Pattern OR_PATTERN = Pattern.compile("\\sor\\s", Pattern.CASE_INSENSITIVE);
+  private static final String ROLLOVER_BUDGETS_QUERY = "ledgerRolloverId==%s";
+  private static final String FUND_ID_KEYSET_CONDITION = " and fundId > \"%s\"";
+  private static final String FUND_ID_SORTING = " sortBy fundId";
+  private static final int BUDGETS_DIFF_PAGE_SIZE = 1000;
+  private static final int MAX_CACHED_ROLLOVERS = 1000;
+  private static final List<String> DIFF_IGNORED_FIELDS = List.of("id", "ledgerRolloverId", "budgetId", "metadata", "_version");
+  private static final String BUDGETS = "budgets";
+  private static final String ERRORS = "errors";
+
+  private final LedgerRolloverService ledgerRolloverService;
+  private final LedgerRolloverProgressService ledgerRolloverProgressService;
+  private final LedgerRolloverBudgetsService ledgerRolloverBudgetsService;
+  private final LedgerRolloverErrorsService ledgerRolloverErrorsService;
+  private final boolean enabled;
+  private final Cache<RolloverKey, Boolean> snapshotRollovers;
+  private final Cache<RolloverKey, Boolean> previewRollovers;
+  private final Cache<RolloverKey, Boolean> runningRollovers;
+  private final Cache<PageKey, ETaggedEntity<?>> pages;
+
+  public LedgerRolloverPreviewService(LedgerRolloverService ledgerRolloverService,
+                                      LedgerRolloverProgressService ledgerRolloverProgressService,
+                                      LedgerRolloverBudgetsService ledgerRolloverBudgetsService,
+                                      LedgerRolloverErrorsService ledgerRolloverErrorsService,
+                                      boolean enabled, long cacheExpirationTime, long maxCachedRecords,
+                                      long runningCheckIntervalMillis) {
+    this.ledgerRolloverService = ledgerRolloverService;
+    this.ledgerRolloverProgressService = ledgerRolloverProgressService;
+    this.ledgerRolloverBudgetsService = ledgerRolloverBudgetsService;
+    this.ledgerRolloverErrorsService = ledgerRolloverErrorsService;
+    this.enabled = enabled;
+    this.snapshotRollovers = Caffeine.newBuilder()
+      .expireAfterAccess(cacheExpirationTime, TimeUnit.SECONDS)
+      .maximumSize(MAX_CACHED_ROLLOVERS)
+      .build();
+    this.previewRollovers = Caffeine.newBuilder()
+      .expireAfterAccess(cacheExpirationTime, TimeUnit.SECONDS)
+      .maximumSize(MAX_CACHED_ROLLOVERS)
+      .build();
+    this.runningRollovers = Caffeine.newBuilder()
+      .expireAfterWrite(runningCheckIntervalMillis, TimeUnit.MILLISECONDS)
+      .maximumSize(MAX_CACHED_ROLLOVERS)
+      .build();
+    this.pages = Caffeine.newBuilder()
+      .expireAfterAccess(cacheExpirationTime, TimeUnit.SECONDS)
+      .maximumWeight(maxCachedRecords)
+      .weigher((PageKey key, ETaggedEntity<?> page) -> getRecordCount(page.entity()))
+      .build();
+  }
+
+  public Future<ETaggedEntity<LedgerFiscalYearRolloverBudgetCollection>> getLedgerRolloverBudgets(String query, int offset, int limit,
+                                                                                                 RequestContext requestContext) {
+    return getPage(new PageKey(tenantId(requestContext), BUDGETS, normalize(query), offset, limit, null), requestContext,
+      () -> ledgerRolloverBudgetsService.retrieveLedgerRolloverBudgets(query, offset, limit, requestContext));
+  }
+
+  public Future<ETaggedEntity<LedgerFiscalYearRolloverErrorCollection>> getLedgerRolloverErrors(String query, int offset, int limit,
+                                                                                               String contentType,
+                                                                                               RequestContext requestContext) {
+    return getPage(new PageKey(tenantId(requestContext), ERRORS, normalize(query), offset, limit, contentType), requestContext,
+      () -> ledgerRolloverErrorsService.getLedgerRolloverErrors(query, offset, limit, contentType, requestContext));
+  }
+
+  /**
+   * Drops cached error pages of the tenant, errors of a finished preview can still be created or deleted through the API.
+   */
+  public void invalidateLedgerRolloverErrors(RequestContext requestContext) {
+    if (!enabled) {
+      return;
+    }
+    String tenantId = tenantId(requestContext);
+    pages.asMap().keySet().removeIf(key -> key.tenantId().equals(tenantId) && key.resource().equals(ERRORS));
+  }
+
+  /**
+   * The method will compare budgets of two rollovers by fund
+   * 1. Read budgets of both rollovers page by page sorted by fund id, with keyset pagination on fund id;
+   * the pages are not cached, so only one page of each rollover is held besides the found differences
+   * 2. Match budgets by fund id, budgets are equal if all their fields except ids and metadata are equal
+   *
+   * @param rolloverId     id of the rollover
+   * @param baseRolloverId id of the rollover to compare with
+   * @param requestContext request context
+   * @return future with added, removed and changed budgets of the rollover
+   */
+  public Future<LedgerRolloverBudgetsDiff> getLedgerRolloverBudgetsDiff(String rolloverId, String baseRolloverId,
+                                                                        RequestContext requestContext) {
+    var budgets = new RolloverBudgetsPager(rolloverId);
+    var baseBudgets = new RolloverBudgetsPager(baseRolloverId);
+    var diff = new LedgerRolloverBudgetsDiff()
+      .withRolloverId(rolloverId)
+      .withBaseRolloverId(baseRolloverId)
+      .withAdded(new ArrayList<>())
+      .withRemoved(new ArrayList<>())
+      .withChanged(new ArrayList<>())
+      .withUnchangedRecords(0);
+    return compareBudgets(budgets, baseBudgets, diff, requestContext)
+      .map(v -> {
+        log.info("getLedgerRolloverBudgetsDiff:: Rollover {} compared with {}: {} added, {} removed, {} changed, {} unchanged budgets",
+          rolloverId, baseRolloverId, diff.getAdded().size(), diff.getRemoved().size(), diff.getChanged().size(),
+          diff.getUnchangedRecords());
+        return diff;
+      });
+  }
+
+  /**
+   * Merges budgets of both rollovers in fund id order until the current page of one of them is consumed,
+   * then reads the next page and goes on.
+   */
+  private Future<Void> compareBudgets(RolloverBudgetsPager budgets, RolloverBudgetsPager baseBudgets,
+                                      LedgerRolloverBudgetsDiff diff, RequestContext requestContext) {
+    return Future.all(budgets.readNextPageIfNeeded(requestContext), baseBudgets.readNextPageIfNeeded(requestContext))
+      .compose(cf -> {
+        while (!budgets.needsNextPage() && !baseBudgets.needsNextPage()) {
+          if (!budgets.hasCurrent() && !baseBudgets.hasCurrent()) {
+            return succeededFuture();
+          }
+          // fund ids are lowercase UUIDs, so their string order is the order of the storage
+          int order = !budgets.hasCurrent() ? 1
+            : !baseBudgets.hasCurrent() ? -1
+            : budgets.current().getFundId().compareTo(baseBudgets.current().getFundId());
+          if (order < 0) {
+            diff.getAdded().add(budgets.next());
+          } else if (order > 0) {
+            diff.getRemoved().add(baseBudgets.next());
+          } else {
+            var budget = budgets.next();
+            if (comparableJson(budget).equals(comparableJson(baseBudgets.next()))) {
+              diff.setUnchangedRecords(diff.getUnchangedRecords() + 1);
+            } else {
+              diff.getChanged().add(budget);
+            }
+          }
+        }
+        return compareBudgets(budgets, baseBudgets, diff, requestContext);
+      });
+  }
+
+  private JsonObject comparableJson(LedgerFiscalYearRolloverBudget budget) {
+    var json = JsonObject.mapFrom(budget);
+    DIFF_IGNORED_FIELDS.forEach(json::remove);
+    return json;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Future<ETaggedEntity<T>> getPage(PageKey key, RequestContext requestContext, Supplier<Future<T>> loader) {
+    String rolloverId = getSnapshotRolloverId(key.query());
+    if (!enabled || rolloverId == null) {
+      return loader.get().map(ETaggedEntity::of);
+    }
+    var cached = (ETaggedEntity<T>) pages.getIfPresent(key);
+    if (cached != null) {
+      log.debug("getPage:: Page of rollover {} {} served from the snapshot", rolloverId, key.resource());
+      return succeededFuture(cached);
+    }
+    return isSnapshot(new RolloverKey(key.tenantId(), rolloverId), requestContext)
+      .compose(snapshot -> loader.get()
+        .map(ETaggedEntity::of)
+        .onSuccess(page -> {
+          if (Boolean.TRUE.equals(snapshot)) {
+            pages.put(key, page);
+          }
+        }));
+  }
+
+  /**
+   * @return id of the rollover the query is restricted to, null if the query may select records of other rollovers
+   */
+  private String getSnapshotRolloverId(String query) {
+    if (StringUtils.isEmpty(query) || OR_PATTERN.matcher(query).find()) {
+      return null;
+    }
+    var matcher = ROLLOVER_ID_PATTERN.matcher(query);
+    return matcher.find() ? matcher.group(1) : null;
+  }
+
+  private Future<Boolean> isSnapshot(RolloverKey key, RequestContext requestContext) {
+    var snapshot = snapshotRollovers.getIfPresent(key);
+    if (snapshot != null) {
+      return succeededFuture(snapshot);
+    }
+    if (runningRollovers.getIfPresent(key) != null) {
+      return succeededFuture(false);
+    }
+    if (previewRollovers.getIfPresent(key) != null) {
+      return isPreviewFinished(key, requestContext);
+    }
+    return ledgerRolloverService.retrieveLedgerRolloverById(key.rolloverId(), requestContext)
+      .compose(rollover -> {
+        if (rollover.getRolloverType() != LedgerFiscalYearRollover.RolloverType.PREVIEW) {
+          // the type of a rollover never changes, results of a commit rollover are not cached
+          snapshotRollovers.put(key, false);
+          return succeededFuture(false);
+        }
+        previewRollovers.put(key, true);
+        return isPreviewFinished(key, requestContext);
+      });
+  }
+
+  private Future<Boolean> isPreviewFinished(RolloverKey key, RequestContext requestContext) {
+    return ledgerRolloverProgressService.retrieveLedgerRolloverProgresses(
+        String.format(ROLLOVER_BUDGETS_QUERY, key.rolloverId()), 0, 1, requestContext)
+      .map(progresses -> {
+        boolean finished = progresses.getLedgerFiscalYearRolloverProgresses().stream()
+          .anyMatch(LedgerRolloverProgressService::isRolloverFinished);
+        if (finished) {
+          snapshotRollovers.put(key, true);
+          previewRollovers.invalidate(key);
+        } else {
+          runningRollovers.put(key, true);
+        }
+        return finished;
+      });
+  }
+
+  private static int getRecordCount(Object entity) {
+    // an empty page still takes an entry of the cache
+    if (entity instanceof LedgerFiscalYearRolloverBudgetCollection budgets) {
+      return Math.max(budgets.getLedgerFiscalYearRolloverBudgets().size(), 1);
+    }
+    if (entity instanceof LedgerFiscalYearRolloverErrorCollection errors) {
+      return Math.max(errors.getLedgerFiscalYearRolloverErrors().size(), 1);
+    }
+    return 1;
+  }
+
+  private String tenantId(RequestContext requestContext) {
+    return TenantTool.tenantId(requestContext.headers());
+  }
+
+  private String normalize(String query) {
+    return StringUtils.normalizeSpace(query);
+  }
+
+  /**
+   * Reads budgets of a rollover one page at a time and iterates over the current page.
+   */
+  private final class RolloverBudgetsPager {
+    private final String rolloverId;
+    private List<LedgerFiscalYearRolloverBudget> page = List.of();
+    private int position;
+    private String lastFundId;
+    private boolean lastPageRead;
+
+    private RolloverBudgetsPager(String rolloverId) {
+      this.rolloverId = rolloverId;
+    }
+
+    private boolean hasCurrent() {
+      return position < page.size();
+    }
+
+    private boolean needsNextPage() {
+      return !hasCurrent() && !lastPageRead;
+    }
+
+    private LedgerFiscalYearRolloverBudget current() {
+      return page.get(position);
+    }
+
+    private LedgerFiscalYearRolloverBudget next() {
+      return page.get(position++);
+    }
+
+    private Future<Void> readNextPageIfNeeded(RequestContext requestContext) {
+      if (!needsNextPage()) {
+        return succeededFuture();
+      }
+      String query = String.format(ROLLOVER_BUDGETS_QUERY, rolloverId)
+        + (lastFundId == null ? "" : String.format(FUND_ID_KEYSET_CONDITION, lastFundId))
+        + FUND_ID_SORTING;
+      return ledgerRolloverBudgetsService.retrieveLedgerRolloverBudgets(query, 0, BUDGETS_DIFF_PAGE_SIZE, requestContext)
+        .map(collection -> {
+          page = collection.getLedgerFiscalYearRolloverBudgets();
+          position = 0;
+          lastPageRead = page.size() < BUDGETS_DIFF_PAGE_SIZE;
+          if (!page.isEmpty()) {
+            lastFundId = page.getLast().getFundId();
+          }
+          return null;
+        });
+    }
+  }
+
+  private record RolloverKey(String tenantId, String rolloverId) {
+  }
+
+  private record PageKey(String tenantId, String resource, String query, int offset, int limit, String contentType) {
+  }
+}
@@ -4,6 +4,8 @@ import static org.folio.rest.util.ResourcePathResolver.LEDGER_ROLLOVERS_PROGRESS
 import static org.folio.rest.util.ResourcePathResolver.resourceByIdPath;
 import static org.folio.rest.util.ResourcePathResolver.resourcesPath;
 
+import java.util.Set;
+
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
@@ -11,8 +13,12 @@ import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverProgress;
 import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverProgressCollection;
 
 import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
 
 public class LedgerRolloverProgressService {
+  private static final String OVERALL_ROLLOVER_STATUS = "overallRolloverStatus";
+  private static final Set<String> FINISHED_ROLLOVER_STATUSES = Set.of("Success", "Error");
+
   private final RestClient restClient;
 
   public LedgerRolloverProgressService(RestClient restClient) {
@@ -38,4 +44,11 @@ public class LedgerRolloverProgressService {
       .withQuery(query);
     return restClient.get(requestEntry.buildEndpoint(), LedgerFiscalYearRolloverProgressCollection.class, requestContext);
   }
+
+  /**
+   * @return true if the rollover of the progress is finished, its results and progress do not change anymore
+   */
+  public static boolean isRolloverFinished(LedgerFiscalYearRolloverProgress progress) {
+    return FINISHED_ROLLOVER_STATUSES.contains(JsonObject.mapFrom(progress).getString(OVERALL_ROLLOVER_STATUS));
+  }
 }
@@ -0,0 +1,247 @@
+package org.folio.services.ledger;
+
+import static org.folio.services.ledger.LedgerRolloverProgressService.isRolloverFinished;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.exception.HttpException;
+import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverProgress;
+import org.folio.rest.tools.utils.TenantTool;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Pushes changes of ledger rollover progresses to subscribers. Every progress watched by at least one subscriber is read
+ * from the storage once per poll interval, whatever the number of its subscribers, and a change is sent to all of them.
+ * Polling stops when the rollover is finished or its last subscriber is gone. The storage is read with the headers of the
+ * most recent subscriber still connected, so the poller does not depend on the token of a subscriber which is gone.
+ */
+@Log4j2
+public class LedgerRolloverProgressStreamService {
+
+  private final LedgerRolloverProgressService ledgerRolloverProgressService;
+  private final long pollIntervalMillis;
+  private final Map<ProgressKey, ProgressPoller> pollers = new ConcurrentHashMap<>();
+
+  public LedgerRolloverProgressStreamService(LedgerRolloverProgressService ledgerRolloverProgressService, long pollIntervalMillis) {
+    this.ledgerRolloverProgressService = ledgerRolloverProgressService;
+    this.pollIntervalMillis = pollIntervalMillis;
+  }
+
+  /**
+   * Subscribes to changes of the rollover progress. The last known progress is sent to the subscriber right away,
+   * every next change once it is read. Handlers of the subscription are called on the context of the request.
+   *
+   * @param progressId       id of the rollover progress
+   * @param progressHandler  handler of progress changes
+   * @param keepAliveHandler handler called on every poll which read no change, to keep an idle connection open
+   * @param requestContext   request context, the storage is read with its headers while it is the most recent subscription
+   * @return subscription, its future is completed when the rollover is finished and failed when the progress can't be read
+   */
+  public Subscription subscribe(String progressId, Handler<LedgerFiscalYearRolloverProgress> progressHandler,
+                                Handler<Void> keepAliveHandler, RequestContext requestContext) {
+    var key = new ProgressKey(TenantTool.tenantId(requestContext.headers()), progressId);
+    var subscription = new Subscription(progressHandler, keepAliveHandler, requestContext);
+    while (true) {
+      var poller = pollers.computeIfAbsent(key, k -> new ProgressPoller(k, requestContext.context().owner()));
+      if (poller.add(subscription)) {
+        poller.startIfNeeded();
+        return subscription;
+      }
+      // the poller has just stopped, the subscription is given to a new one
+      pollers.remove(key, poller);
+    }
+  }
+
+  /**
+   * @return number of progresses being polled
+   */
+  public int getPollerCount() {
+    return pollers.size();
+  }
+
+  public static final class Subscription {
+    private final Handler<LedgerFiscalYearRolloverProgress> progressHandler;
+    private final Handler<Void> keepAliveHandler;
+    private final RequestContext requestContext;
+    private final Context context;
+    private final Promise<Void> promise = Promise.promise();
+    private volatile ProgressPoller poller;
+
+    private Subscription(Handler<LedgerFiscalYearRolloverProgress> progressHandler, Handler<Void> keepAliveHandler,
+                         RequestContext requestContext) {
+      this.progressHandler = progressHandler;
+      this.keepAliveHandler = keepAliveHandler;
+      this.requestContext = requestContext;
+      this.context = requestContext.context();
+    }
+
+    public Future<Void> future() {
+      return promise.future();
+    }
+
+    /**
+     * Stops sending changes to the subscriber, the future of the subscription is left as it is.
+     */
+    public void cancel() {
+      if (poller != null) {
+        poller.remove(this);
+      }
+    }
+
+    private void send(LedgerFiscalYearRolloverProgress progress) {
+      context.runOnContext(v -> {
+        if (!promise.future().isComplete()) {
+          progressHandler.handle(progress);
+        }
+      });
+    }
+
+    private void keepAlive() {
+      context.runOnContext(v -> {
+        if (!promise.future().isComplete()) {
+          keepAliveHandler.handle(null);
+        }
+      });
+    }
+
+    private void end(AsyncResult<Void> result) {
+      context.runOnContext(v -> promise.handle(result));
+    }
+  }
+
+  private final class ProgressPoller {
+    private final ProgressKey key;
+    private final Vertx vertx;
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private Subscription pollingSubscription;
+    private LedgerFiscalYearRolloverProgress lastProgress;
+    private String lastProgressJson;
+    private Long timerId;
+    private boolean polling;
+    private boolean stopped;
+
+    private ProgressPoller(ProgressKey key, Vertx vertx) {
+      this.key = key;
+      this.vertx = vertx;
+    }
+
+    private synchronized boolean add(Subscription subscription) {
+      if (stopped) {
+        return false;
+      }
+      subscription.poller = this;
+      subscriptions.add(subscription);
+      pollingSubscription = subscription;
+      if (lastProgress != null) {
+        subscription.send(lastProgress);
+      }
+      log.debug("add:: Subscribed to rollover progress {}, subscribers={}", key.progressId(), subscriptions.size());
+      return true;
+    }
+
+    private synchronized void remove(Subscription subscription) {
+      if (!subscriptions.remove(subscription)) {
+        return;
+      }
+      if (subscriptions.isEmpty()) {
+        stop();
+      } else if (subscription == pollingSubscription) {
+        pollingSubscription = subscriptions.getLast();
+      }
+    }
+
+    private void startIfNeeded() {
+      synchronized (this) {
+        if (timerId != null || stopped) {
+          return;
+        }
+        timerId = vertx.setPeriodic(pollIntervalMillis, id -> poll());
+      }
+      log.info("startIfNeeded:: Polling of rollover progress {} started", key.progressId());
+      poll();
+    }
+
+    private void poll() {
+      Subscription subscription;
+      synchronized (this) {
+        // a slow storage response is not overlapped by the next poll
+        if (polling || stopped) {
+          return;
+        }
+        polling = true;
+        subscription = pollingSubscription;
+      }
+      ledgerRolloverProgressService.retrieveLedgerRolloverProgressById(key.progressId(), subscription.requestContext)
+        .onComplete(result -> onPolled(subscription, result));
+    }
+
+    private synchronized void onPolled(Subscription usedSubscription, AsyncResult<LedgerFiscalYearRolloverProgress> result) {
+      polling = false;
+      if (stopped) {
+        return;
+      }
+      if (result.failed() && isUnauthorized(result.cause()) && subscriptions.stream().anyMatch(s -> s != usedSubscription)) {
+        // the token of the subscriber has expired, the others are served with the headers of the next most recent one
+        log.warn("onPolled:: Unauthorized to read rollover progress {} with the headers of a subscriber, {} subscribers left",
+          key.progressId(), subscriptions.size() - 1);
+        if (subscriptions.remove(usedSubscription)) {
+          usedSubscription.end(Future.failedFuture(result.cause()));
+        }
+        pollingSubscription = subscriptions.getLast();
+        return;
+      }
+      if (result.failed()) {
+        log.warn("onPolled:: Failed to read rollover progress {}, {} subscribers dropped", key.progressId(), subscriptions.size(),
+          result.cause());
+        endSubscriptions(Future.failedFuture(result.cause()));
+        return;
+      }
+      var progress = result.result();
+      var progressJson = JsonObject.mapFrom(progress).encode();
+      if (!progressJson.equals(lastProgressJson)) {
+        lastProgress = progress;
+        lastProgressJson = progressJson;
+        subscriptions.forEach(subscription -> subscription.send(progress));
+      } else {
+        subscriptions.forEach(Subscription::keepAlive);
+      }
+      if (isRolloverFinished(progress)) {
+        endSubscriptions(Future.succeededFuture());
+      }
+    }
+
+    private void endSubscriptions(AsyncResult<Void> result) {
+      subscriptions.forEach(subscription -> subscription.end(result));
+      subscriptions.clear();
+      stop();
+    }
+
+    private void stop() {
+      stopped = true;
+      if (timerId != null) {
+        vertx.cancelTimer(timerId);
+      }
+      pollers.remove(key, this);
+      log.info("stop:: Polling of rollover progress {} stopped", key.progressId());
+    }
+  }
+
+  private static boolean isUnauthorized(Throwable t) {
+    return t instanceof HttpException httpException && httpException.getCode() == 401;
+  }
+
+  private record ProgressKey(String tenantId, String progressId) {
+  }
+}
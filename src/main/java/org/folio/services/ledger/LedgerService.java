@@ -1,20 +1,17 @@
 package org.folio.services.ledger;
 
 import static io.vertx.core.Future.succeededFuture;
-import static one.util.streamex.StreamEx.ofSubLists;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
-import static org.folio.rest.util.HelperUtils.collectResultsOnSuccess;
+import static org.folio.rest.util.ChunkedFetchUtils.fetchInChunks;
 import static org.folio.rest.util.HelperUtils.combineCqlExpressions;
 import static org.folio.rest.util.HelperUtils.convertIdsToCqlQuery;
 import static org.folio.rest.util.ResourcePathResolver.LEDGERS_STORAGE;
 import static org.folio.rest.util.ResourcePathResolver.resourceByIdPath;
 import static org.folio.rest.util.ResourcePathResolver.resourcesPath;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.folio.rest.core.RestClient;
@@ -90,12 +87,7 @@ public class LedgerService {
   }
 
   public Future<List<Ledger>> getLedgers(Collection<String> ledgerIds, RequestContext requestContext) {
-    return collectResultsOnSuccess(
-      ofSubLists(new ArrayList<>(ledgerIds), MAX_IDS_FOR_GET_RQ).map(ids -> getLedgersByIds(ids, requestContext))
-        .collect(Collectors.toList())).map(
-      lists -> lists.stream()
-        .flatMap(Collection::stream)
-        .collect(Collectors.toList()));
+    return fetchInChunks(ledgerIds, MAX_IDS_FOR_GET_RQ, ids -> getLedgersByIds(ids, requestContext));
   }
 
   public Future<List<Ledger>> getLedgersByIds(Collection<String> ids, RequestContext requestContext) {
@@ -5,15 +5,21 @@ import static io.vertx.core.Future.succeededFuture;
 import static java.lang.Boolean.TRUE;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toMap;
-import static one.util.streamex.StreamEx.ofSubLists;
 import static org.folio.rest.jaxrs.model.Transaction.TransactionType.ALLOCATION;
 import static org.folio.rest.jaxrs.model.Transaction.TransactionType.TRANSFER;
+import static org.folio.rest.RestConstants.MAX_CONCURRENT_CHUNK_REQUESTS;
+import static org.folio.rest.util.ChunkedFetchUtils.fetchInChunks;
 import static org.folio.rest.util.ErrorCodes.ALLOCATION_IDS_MISMATCH;
 import static org.folio.rest.util.ErrorCodes.DELETE_CONNECTED_TO_INVOICE;
+import static org.folio.rest.util.ErrorCodes.ENCUMBRANCE_NOT_FOUND;
+import static org.folio.rest.util.ErrorCodes.GENERIC_ERROR_CODE;
+import static org.folio.rest.util.ErrorCodes.INVALID_ENCUMBRANCES_SELECTION;
 import static org.folio.rest.util.ErrorCodes.INVALID_TRANSACTION_TYPE;
 import static org.folio.rest.util.ErrorCodes.MISSING_FUND_ID;
-import static org.folio.rest.util.HelperUtils.collectResultsOnSuccess;
+import static org.folio.rest.util.HelperUtils.combineCqlExpressions;
 import static org.folio.rest.util.HelperUtils.convertIdsToCqlQuery;
+import static org.folio.rest.util.HelperUtils.convertToErrors;
+import static org.folio.rest.util.HelperUtils.removeCqlSorting;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -21,16 +27,23 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.exception.HttpException;
 import org.folio.rest.jaxrs.model.Batch;
 import org.folio.rest.jaxrs.model.Encumbrance;
+import org.folio.rest.jaxrs.model.EncumbrancesStatusUpdate;
+import org.folio.rest.jaxrs.model.EncumbrancesStatusUpdateResult;
+import org.folio.rest.jaxrs.model.Error;
+import org.folio.rest.jaxrs.model.Errors;
 import org.folio.rest.jaxrs.model.Fund;
 import org.folio.rest.jaxrs.model.Parameter;
 import org.folio.rest.jaxrs.model.Transaction;
@@ -38,6 +51,7 @@ import org.folio.rest.jaxrs.model.Transaction.TransactionType;
 import org.folio.rest.jaxrs.model.TransactionCollection;
 
 import io.vertx.core.Future;
+import one.util.streamex.StreamEx;
 import org.folio.services.fund.FundService;
 
 /**
@@ -47,13 +61,29 @@ import org.folio.services.fund.FundService;
 public class TransactionApiService {
   private static final Logger log = LogManager.getLogger();
   private static final int MAX_TRANSACTIONS_PER_QUERY = 15;
+  private static final int DEFAULT_ENCUMBRANCES_BATCH_SIZE = 100;
+  private static final String ENCUMBRANCE_QUERY = "transactionType==Encumbrance";
+  private static final String ENCUMBRANCE_KEYSET_CONDITION = "id > \"%s\"";
+  private static final String ENCUMBRANCE_KEYSET_SORTING = " sortBy id";
 
   private final TransactionService transactionService;
   private final FundService fundService;
+  private final int encumbrancesBatchSize;
+  private final int maxConcurrentEncumbranceBatches;
+  private final int encumbrancesPageSize;
 
   public TransactionApiService(TransactionService transactionService, FundService fundService) {
+    this(transactionService, fundService, DEFAULT_ENCUMBRANCES_BATCH_SIZE, MAX_CONCURRENT_CHUNK_REQUESTS);
+  }
+
+  public TransactionApiService(TransactionService transactionService, FundService fundService,
+      int encumbrancesBatchSize, int maxConcurrentEncumbranceBatches) {
     this.transactionService = transactionService;
     this.fundService = fundService;
+    this.encumbrancesBatchSize = encumbrancesBatchSize;
+    this.maxConcurrentEncumbranceBatches = maxConcurrentEncumbranceBatches;
+    // a page of encumbrances matching a query is updated in one round of concurrent batches
+    this.encumbrancesPageSize = encumbrancesBatchSize * maxConcurrentEncumbranceBatches;
   }
 
   public Future<TransactionCollection> getTransactionCollectionByQuery(String query, int offset, int limit,
@@ -66,8 +96,7 @@ public class TransactionApiService {
   }
 
   public Future<Void> processBatch(Batch batch, RequestContext requestContext) {
-    return checkDeletions(batch, requestContext)
-      .compose(v -> checkFundAllocations(batch, requestContext))
+    return Future.all(checkDeletions(batch, requestContext), checkFundAllocations(batch, requestContext))
       .compose(v -> transactionService.processBatch(batch, requestContext));
   }
 
@@ -117,6 +146,22 @@ public class TransactionApiService {
       .onFailure(t -> log.error("Error unreleasing encumbrance, id={}", id, t));
   }
 
+  public Future<EncumbrancesStatusUpdateResult> releaseEncumbrances(EncumbrancesStatusUpdate encumbrancesStatusUpdate,
+      RequestContext requestContext) {
+    return updateEncumbrancesStatus(encumbrancesStatusUpdate, Encumbrance.Status.RELEASED, requestContext)
+      .onSuccess(result -> log.info("releaseEncumbrances:: Encumbrances processed, updated={}, skipped={}, failed={}",
+        result.getUpdated(), result.getSkipped(), result.getFailed()))
+      .onFailure(t -> log.error("Error releasing encumbrances", t));
+  }
+
+  public Future<EncumbrancesStatusUpdateResult> unreleaseEncumbrances(EncumbrancesStatusUpdate encumbrancesStatusUpdate,
+      RequestContext requestContext) {
+    return updateEncumbrancesStatus(encumbrancesStatusUpdate, Encumbrance.Status.UNRELEASED, requestContext)
+      .onSuccess(result -> log.info("unreleaseEncumbrances:: Encumbrances processed, updated={}, skipped={}, failed={}",
+        result.getUpdated(), result.getSkipped(), result.getFailed()))
+      .onFailure(t -> log.error("Error unreleasing encumbrances", t));
+  }
+
   private void validateTransactionType(Transaction transaction, TransactionType transactionType) {
     if (transaction.getTransactionType() != transactionType) {
       log.warn("validateTransactionType:: Transaction '{}' type mismatch. '{}' expected", transaction.getId(), transactionType);
@@ -142,16 +187,19 @@ public class TransactionApiService {
         if (pendingPayments.isEmpty()) {
           return null;
         }
+        Map<String, Transaction> pendingPaymentsByEncumbranceId = StreamEx.of(pendingPayments)
+          .toMap(pp -> pp.getAwaitingPayment().getEncumbranceId(), Function.identity(), (first, second) -> first);
+        Map<String, Transaction> transactionsToUpdateById = StreamEx.of(batch.getTransactionsToUpdate())
+          .filter(t -> t.getId() != null)
+          .toMap(Transaction::getId, Function.identity(), (first, second) -> first);
         ids.forEach(id -> {
-          Optional<Transaction> existingPP = pendingPayments.stream()
-            .filter(pp -> id.equals(pp.getAwaitingPayment().getEncumbranceId())).findFirst();
-          if (existingPP.isEmpty()) {
+          Transaction existingPP = pendingPaymentsByEncumbranceId.get(id);
+          if (existingPP == null) {
             return;
           }
-          if (TRUE.equals(existingPP.get().getInvoiceCancelled())) {
-            Optional<Transaction> matchingPPInBatch = batch.getTransactionsToUpdate().stream()
-              .filter(pp -> existingPP.get().getId().equals(pp.getId())).findFirst();
-            if (matchingPPInBatch.isPresent() && matchingPPInBatch.get().getAwaitingPayment().getEncumbranceId() == null) {
+          if (TRUE.equals(existingPP.getInvoiceCancelled())) {
+            Transaction matchingPPInBatch = transactionsToUpdateById.get(existingPP.getId());
+            if (matchingPPInBatch != null && matchingPPInBatch.getAwaitingPayment().getEncumbranceId() == null) {
               return;
             }
           }
@@ -164,10 +212,8 @@ public class TransactionApiService {
 
   private Future<List<Transaction>> getPendingPaymentsByEncumbranceIds(List<String> encumbranceIds,
     RequestContext requestContext) {
-    return collectResultsOnSuccess(ofSubLists(new ArrayList<>(encumbranceIds), MAX_TRANSACTIONS_PER_QUERY)
-      .map(ids -> getPendingPaymentsByEncumbranceIdsChunk(ids, requestContext))
-      .toList())
-      .map(lists -> lists.stream().flatMap(Collection::stream).toList());
+    return fetchInChunks(encumbranceIds, MAX_TRANSACTIONS_PER_QUERY,
+      ids -> getPendingPaymentsByEncumbranceIdsChunk(ids, requestContext));
   }
 
   private Future<List<Transaction>> getPendingPaymentsByEncumbranceIdsChunk(List<String> encumbranceIds,
@@ -216,6 +262,127 @@ public class TransactionApiService {
       (toFund.getAllocatedFromIds().isEmpty() || toFund.getAllocatedFromIds().contains(transaction.getFromFundId()));
   }
 
+  private Future<EncumbrancesStatusUpdateResult> updateEncumbrancesStatus(EncumbrancesStatusUpdate encumbrancesStatusUpdate,
+      Encumbrance.Status status, RequestContext requestContext) {
+    List<String> ids = StreamEx.of(encumbrancesStatusUpdate.getIds()).distinct().toList();
+    String query = encumbrancesStatusUpdate.getQuery();
+    if (ids.isEmpty() == StringUtils.isBlank(query)) {
+      log.warn("updateEncumbrancesStatus:: Either ids or query must be provided, ids={}, query={}", ids.size(), query);
+      return failedFuture(new HttpException(400, INVALID_ENCUMBRANCES_SELECTION));
+    }
+    List<Error> errors = new ArrayList<>();
+    EncumbrancesStatusUpdateResult result = new EncumbrancesStatusUpdateResult()
+      .withTotalRecords(0)
+      .withUpdated(0)
+      .withSkipped(0);
+    Future<Void> future;
+    if (ids.isEmpty()) {
+      String encumbrancesQuery = combineCqlExpressions("and", ENCUMBRANCE_QUERY, removeCqlSorting(query));
+      future = updateEncumbrancesStatusByQuery(encumbrancesQuery, null, status, result, errors, requestContext);
+    } else {
+      future = transactionService.getTransactionsByIds(ids, requestContext)
+        .compose(transactions -> {
+          Set<String> foundIds = StreamEx.of(transactions).map(Transaction::getId).toSet();
+          ids.stream()
+            .filter(id -> !foundIds.contains(id))
+            .forEach(id -> errors.add(buildEncumbranceError(id, ENCUMBRANCE_NOT_FOUND.toError())));
+          return updateEncumbrancesStatus(transactions, status, result, errors, requestContext);
+        });
+    }
+    return future.map(v -> result
+      .withTotalRecords(ids.isEmpty() ? result.getTotalRecords() : ids.size())
+      .withFailed(errors.size())
+      .withErrors(new Errors().withErrors(errors).withTotalRecords(errors.size())));
+  }
+
+  /**
+   * Updates encumbrances matching the query page by page with keyset pagination on id, so only one page is held in memory.
+   * An offset is not used as the status update may move encumbrances out of the query.
+   */
+  private Future<Void> updateEncumbrancesStatusByQuery(String query, String lastId, Encumbrance.Status status,
+      EncumbrancesStatusUpdateResult result, List<Error> errors, RequestContext requestContext) {
+    String pageQuery = lastId == null
+      ? query
+      : combineCqlExpressions("and", query, String.format(ENCUMBRANCE_KEYSET_CONDITION, lastId));
+    return transactionService.getTransactionCollectionByQuery(pageQuery + ENCUMBRANCE_KEYSET_SORTING, 0, encumbrancesPageSize,
+        requestContext)
+      .map(TransactionCollection::getTransactions)
+      .compose(transactions -> updateEncumbrancesStatus(transactions, status, result, errors, requestContext)
+        .compose(v -> transactions.size() < encumbrancesPageSize
+          ? succeededFuture()
+          : updateEncumbrancesStatusByQuery(query, transactions.getLast().getId(), status, result, errors, requestContext)));
+  }
+
+  private Future<Void> updateEncumbrancesStatus(List<Transaction> transactions, Encumbrance.Status status,
+      EncumbrancesStatusUpdateResult result, List<Error> errors, RequestContext requestContext) {
+    List<Transaction> encumbrancesToUpdate = new ArrayList<>();
+    int skipped = 0;
+    for (Transaction transaction : transactions) {
+      if (transaction.getTransactionType() != TransactionType.ENCUMBRANCE) {
+        errors.add(buildEncumbranceError(transaction.getId(), INVALID_TRANSACTION_TYPE.toError()));
+      } else if (isEncumbranceStatusUpdateNeeded(transaction, status)) {
+        transaction.getEncumbrance().setStatus(status);
+        encumbrancesToUpdate.add(transaction);
+      } else {
+        skipped++;
+      }
+    }
+    result.setTotalRecords(result.getTotalRecords() + transactions.size());
+    result.setSkipped(result.getSkipped() + skipped);
+    return fetchInChunks(encumbrancesToUpdate, encumbrancesBatchSize, maxConcurrentEncumbranceBatches,
+        batch -> updateEncumbrancesBatch(batch, requestContext))
+      .map(batchErrors -> {
+        errors.addAll(batchErrors);
+        result.setUpdated(result.getUpdated() + encumbrancesToUpdate.size() - batchErrors.size());
+        return null;
+      });
+  }
+
+  /**
+   * Updates the encumbrances in one storage batch. A batch rejected by the storage (client error) is split in halves,
+   * which are retried one after another, so only the encumbrances failing on their own are reported, each with its own
+   * error, and the others are updated. Server and connection errors are not retried, all encumbrances of the batch
+   * are reported with them.
+   */
+  private Future<List<Error>> updateEncumbrancesBatch(List<Transaction> encumbrances, RequestContext requestContext) {
+    Batch batch = new Batch().withTransactionsToUpdate(encumbrances);
+    return transactionService.processBatch(batch, requestContext)
+      .map(v -> List.<Error>of())
+      .recover(t -> {
+        if (encumbrances.size() > 1 && isRejectedByStorage(t)) {
+          log.warn("updateEncumbrancesBatch:: Failed to update a batch of {} encumbrances, retrying it in halves", encumbrances.size(), t);
+          int middle = encumbrances.size() / 2;
+          return updateEncumbrancesBatch(encumbrances.subList(0, middle), requestContext)
+            .compose(firstErrors -> updateEncumbrancesBatch(encumbrances.subList(middle, encumbrances.size()), requestContext)
+              .map(secondErrors -> ListUtils.union(firstErrors, secondErrors)));
+        }
+        log.warn("updateEncumbrancesBatch:: Failed to update a batch of {} encumbrances", encumbrances.size(), t);
+        Errors batchErrors = convertToErrors(t);
+        Error cause = CollectionUtils.isEmpty(batchErrors.getErrors()) ? GENERIC_ERROR_CODE.toError() : batchErrors.getErrors().get(0);
+        return succeededFuture(encumbrances.stream()
+          .map(encumbrance -> buildEncumbranceError(encumbrance.getId(), cause))
+          .toList());
+      });
+  }
+
+  private boolean isRejectedByStorage(Throwable t) {
+    return t instanceof HttpException httpException && httpException.getCode() >= 400 && httpException.getCode() < 500;
+  }
+
+  private boolean isEncumbranceStatusUpdateNeeded(Transaction encumbrance, Encumbrance.Status status) {
+    boolean released = encumbrance.getEncumbrance().getStatus() == Encumbrance.Status.RELEASED;
+    return status == Encumbrance.Status.RELEASED ? !released : released;
+  }
+
+  private Error buildEncumbranceError(String id, Error cause) {
+    List<Parameter> parameters = new ArrayList<>(cause.getParameters());
+    parameters.add(new Parameter().withKey("id").withValue(id));
+    return new Error()
+      .withCode(cause.getCode())
+      .withMessage(cause.getMessage())
+      .withParameters(parameters);
+  }
+
   private Future<Void> releaseEncumbrance(Transaction transaction, RequestContext requestContext) {
     try {
       validateTransactionType(transaction, TransactionType.ENCUMBRANCE);
@@ -0,0 +1,107 @@
+package org.folio.services.transactions;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.model.Batch;
+import org.folio.rest.jaxrs.model.Transaction;
+import org.folio.rest.tools.utils.TenantTool;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.vertx.core.Future;
+import one.util.streamex.StreamEx;
+
+/**
+ * Optional short-living cache of transaction lists returned by read-mostly queries by funds and fiscal year
+ * (budget and group totals). The cache is bounded by the total number of cached transactions.
+ * Entries are invalidated when a batch processed by this module touches one of their funds in their fiscal year;
+ * changes made to the storage by other means are only picked up after the entries expire.
+ */
+public class TransactionQueryCache {
+  private static final Logger log = LogManager.getLogger();
+
+  private final boolean enabled;
+  private final Cache<TransactionQueryKey, Future<List<Transaction>>> cache;
+
+  public TransactionQueryCache(boolean enabled, long cacheExpirationTime, long maxCachedTransactions) {
+    this.enabled = enabled;
+    this.cache = Caffeine.newBuilder()
+      .expireAfterWrite(cacheExpirationTime, TimeUnit.SECONDS)
+      .maximumWeight(maxCachedTransactions)
+      .weigher((TransactionQueryKey key, Future<List<Transaction>> future) ->
+        future.succeeded() ? Math.max(1, future.result().size()) : 1)
+      .build();
+  }
+
+  public static TransactionQueryCache disabled() {
+    return new TransactionQueryCache(false, 0, 0);
+  }
+
+  public Future<List<Transaction>> getTransactions(String query, Collection<String> fundIds, String fiscalYearId,
+                                                   RequestContext requestContext, Supplier<Future<List<Transaction>>> loader) {
+    if (!enabled) {
+      return loader.get();
+    }
+    var key = new TransactionQueryKey(TenantTool.tenantId(requestContext.headers()), StringUtils.normalizeSpace(query),
+      StreamEx.of(fundIds).nonNull().toImmutableSet(), fiscalYearId);
+    var loaded = new AtomicBoolean();
+    var future = cache.get(key, k -> {
+      loaded.set(true);
+      return loader.get();
+    });
+    if (!loaded.get()) {
+      return future;
+    }
+    future.onComplete(ar -> {
+      if (ar.succeeded()) {
+        // replace the pending future with a completed one so that the weigher sees the number of transactions
+        cache.asMap().replace(key, future, Future.succeededFuture(List.copyOf(ar.result())));
+      } else {
+        cache.asMap().remove(key, future);
+      }
+    });
+    return future;
+  }
+
+  public void invalidate(Batch batch, RequestContext requestContext) {
+    if (!enabled) {
+      return;
+    }
+    String tenantId = TenantTool.tenantId(requestContext.headers());
+    if (!batch.getIdsOfTransactionsToDelete().isEmpty()) {
+      // funds of deleted transactions are unknown here
+      cache.asMap().keySet().removeIf(key -> key.tenantId().equals(tenantId));
+      log.debug("invalidate:: All cached transaction queries of tenant {} invalidated", tenantId);
+      return;
+    }
+    Set<FundFiscalYear> affected = StreamEx.of(batch.getTransactionsToCreate())
+      .append(batch.getTransactionsToUpdate())
+      .flatMap(transaction -> Stream.of(transaction.getFromFundId(), transaction.getToFundId())
+        .filter(Objects::nonNull)
+        .map(fundId -> new FundFiscalYear(fundId, transaction.getFiscalYearId())))
+      .toSet();
+    if (affected.isEmpty()) {
+      return;
+    }
+    cache.asMap().keySet().removeIf(key -> key.tenantId().equals(tenantId) && key.fundIds().stream()
+      .anyMatch(fundId -> affected.contains(new FundFiscalYear(fundId, key.fiscalYearId()))));
+  }
+
+  private record TransactionQueryKey(String tenantId, String query, Set<String> fundIds, String fiscalYearId) {
+  }
+
+  private record FundFiscalYear(String fundId, String fiscalYearId) {
+  }
+}
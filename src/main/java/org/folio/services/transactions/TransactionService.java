@@ -1,22 +1,21 @@
 package org.folio.services.transactions;
 
 import static java.util.Collections.singletonList;
-import static one.util.streamex.StreamEx.ofSubLists;
 import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
-import static org.folio.rest.util.HelperUtils.collectResultsOnSuccess;
+import static org.folio.rest.util.ChunkedFetchUtils.fetchInChunks;
 import static org.folio.rest.util.HelperUtils.convertIdsToCqlQuery;
 import static org.folio.rest.util.ResourcePathResolver.BATCH_TRANSACTIONS_STORAGE;
 import static org.folio.rest.util.ResourcePathResolver.TRANSACTIONS;
 import static org.folio.rest.util.ResourcePathResolver.resourceByIdPath;
 import static org.folio.rest.util.ResourcePathResolver.resourcesPath;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import io.vertx.core.json.JsonObject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.rest.core.RestClient;
@@ -37,13 +36,21 @@ import org.folio.services.fiscalyear.FiscalYearService;
 public class TransactionService {
   private static final Logger log = LogManager.getLogger();
   private static final int MAX_FUND_PER_QUERY = 5;
+  private static final int MAX_LOGGED_IDS = 10;
 
   private final RestClient restClient;
   private final FiscalYearService fiscalYearService;
+  private final TransactionQueryCache transactionQueryCache;
 
   public TransactionService(RestClient restClient, FiscalYearService fiscalYearService) {
+    this(restClient, fiscalYearService, TransactionQueryCache.disabled());
+  }
+
+  public TransactionService(RestClient restClient, FiscalYearService fiscalYearService,
+                            TransactionQueryCache transactionQueryCache) {
     this.restClient = restClient;
     this.fiscalYearService = fiscalYearService;
+    this.transactionQueryCache = transactionQueryCache;
   }
 
   public Future<TransactionCollection> getTransactionCollectionByQuery(String query, int offset, int limit,
@@ -64,10 +71,17 @@ public class TransactionService {
     return restClient.get(resourceByIdPath(TRANSACTIONS, id), Transaction.class, requestContext);
   }
 
+  public Future<List<Transaction>> getTransactionsByIds(List<String> ids, RequestContext requestContext) {
+    return fetchInChunks(ids, MAX_IDS_FOR_GET_RQ, chunk -> getAllTransactionsByQuery(convertIdsToCqlQuery(chunk), requestContext));
+  }
+
   public Future<Void> processBatch(Batch batch, RequestContext requestContext) {
+    transactionQueryCache.invalidate(batch, requestContext);
     return restClient.postEmptyResponse(resourcesPath(BATCH_TRANSACTIONS_STORAGE), batch, requestContext)
-      .onSuccess(v -> log.info("Batch transaction successful"))
-      .onFailure(t -> log.error("Batch transaction failed, batch={}", JsonObject.mapFrom(batch).encodePrettily(), t));
+      .onSuccess(v -> transactionQueryCache.invalidate(batch, requestContext))
+      .onSuccess(v -> log.info("Batch transaction successful, created={}, updated={}, deleted={}",
+        batch.getTransactionsToCreate().size(), batch.getTransactionsToUpdate().size(), batch.getIdsOfTransactionsToDelete().size()))
+      .onFailure(t -> log.error("Batch transaction failed, batch={}", summarizeBatch(batch), t));
   }
 
   public Future<Void> updateTransaction(Transaction transaction, RequestContext requestContext) {
@@ -87,9 +101,22 @@ public class TransactionService {
   }
 
   public Future<List<Transaction>> getBudgetTransactions(Budget budget, RequestContext requestContext) {
-    String query = String.format("(fromFundId==%s OR toFundId==%s) AND fiscalYearId==%s", budget.getFundId(),
-      budget.getFundId(), budget.getFiscalYearId());
-    return getAllTransactionsByQuery(query, requestContext);
+    String query = buildGetBudgetTransactionsQuery(budget);
+    return getCachedTransactionsByQuery(query, List.of(budget.getFundId()), budget.getFiscalYearId(), requestContext);
+  }
+
+  public Future<List<Transaction>> getBudgetTransactions(Budget budget, List<Transaction.TransactionType> trTypes,
+      RequestContext requestContext) {
+    String query = buildGetBudgetTransactionsQuery(budget) + " AND " + buildTransactionTypesQuery(trTypes);
+    return getCachedTransactionsByQuery(query, List.of(budget.getFundId()), budget.getFiscalYearId(), requestContext);
+  }
+
+  /**
+   * Same as {@link #getBudgetTransactions(Budget, RequestContext)} but always reads the storage,
+   * to be used when the result is written back (e.g. budget recalculation).
+   */
+  public Future<List<Transaction>> getBudgetTransactionsBypassingCache(Budget budget, RequestContext requestContext) {
+    return getAllTransactionsByQuery(buildGetBudgetTransactionsQuery(budget), requestContext);
   }
 
   public Future<List<Transaction>> getBudgetTransactionsWithExpenseClasses(List<BudgetExpenseClass> budgetExpenseClasses,
@@ -103,17 +130,10 @@ public class TransactionService {
   }
 
   public Future<List<Transaction>> getTransactionsByFundIds(List<String> fundIds, String fiscalYearId,
-      RequestContext requestContext) {
-    List<Future<List<Transaction>>> futures = StreamEx
-      .ofSubLists(fundIds, MAX_IDS_FOR_GET_RQ)
-      .map(ids ->  getAllTransactionsByQuery(buildGetTransactionsByFundIdsQuery(fiscalYearId, ids), requestContext))
-      .toList();
-
-    return collectResultsOnSuccess(futures)
-      .map(listList -> listList.stream()
-        .flatMap(Collection::stream)
-        .toList()
-      );
+      List<Transaction.TransactionType> trTypes, RequestContext requestContext) {
+    return fetchInChunks(fundIds, MAX_IDS_FOR_GET_RQ,
+      ids -> getCachedTransactionsByQuery(buildGetTransactionsByFundIdsQuery(fiscalYearId, ids, trTypes), ids, fiscalYearId,
+        requestContext));
   }
 
   public Future<Void> createTransaction(Transaction transaction, RequestContext requestContext) {
@@ -136,11 +156,9 @@ public class TransactionService {
 
   private Future<List<Transaction>> getTransactionsFromOrToFunds(List<String> fundIds, String fiscalYearId,
       List<TransactionType> trTypes, String direction, RequestContext requestContext) {
-    return collectResultsOnSuccess(ofSubLists(new ArrayList<>(fundIds), MAX_FUND_PER_QUERY)
-        .map(ids -> getTransactionsByFundChunk(ids, fiscalYearId, trTypes, direction, requestContext)
-          .map(transactions -> filterFundIdsByAllocationDirection(fundIds, transactions, direction)))
-        .toList())
-      .map(lists -> lists.stream().flatMap(Collection::stream).toList());
+    return fetchInChunks(fundIds, MAX_FUND_PER_QUERY,
+      ids -> getTransactionsByFundChunk(ids, fiscalYearId, trTypes, direction, requestContext)
+        .map(transactions -> filterFundIdsByAllocationDirection(fundIds, transactions, direction)));
   }
 
   private Future<List<Transaction>> getTransactionsByFundChunk(List<String> fundIds, String fiscalYearId,
@@ -150,7 +168,7 @@ public class TransactionService {
     List<String> trTypeValues = trTypes.stream().map(TransactionType::value).toList();
     String trTypeQuery = convertIdsToCqlQuery(trTypeValues, "transactionType", "==", " OR ");
     String query = String.format("(fiscalYearId==%s AND %s) AND %s", fiscalYearId, trTypeQuery, fundQuery);
-    return getAllTransactionsByQuery(query, requestContext);
+    return getCachedTransactionsByQuery(query, fundIds, fiscalYearId, requestContext);
   }
 
   private List<Transaction> filterFundIdsByAllocationDirection(List<String> fundIds, List<Transaction> transactions,
@@ -162,11 +180,56 @@ public class TransactionService {
       .toList();
   }
 
-  private String buildGetTransactionsByFundIdsQuery(String fiscalYearId, List<String> fundIds) {
-    return String.format("fiscalYearId==%s AND (%s OR %s)",
+  /**
+   * Batches sent by mod-orders and mod-invoice can contain thousands of transactions,
+   * so only the transaction counts per type and the first ids are logged.
+   */
+  private static String summarizeBatch(Batch batch) {
+    return String.format("{transactionsToCreate=%s, transactionsToUpdate=%s, idsOfTransactionsToDelete=%s}",
+      summarizeTransactions(batch.getTransactionsToCreate()),
+      summarizeTransactions(batch.getTransactionsToUpdate()),
+      summarizeIds(batch.getIdsOfTransactionsToDelete()));
+  }
+
+  private static String summarizeTransactions(List<Transaction> transactions) {
+    Map<String, Long> countsByType = StreamEx.of(transactions)
+      .groupingBy(transaction -> String.valueOf(transaction.getTransactionType()), TreeMap::new, Collectors.counting());
+    List<String> ids = StreamEx.of(transactions).map(Transaction::getId).toList();
+    return String.format("{count=%d, types=%s, ids=%s}", transactions.size(), countsByType, summarizeIds(ids));
+  }
+
+  private static String summarizeIds(List<String> ids) {
+    if (ids.size() <= MAX_LOGGED_IDS) {
+      return ids.toString();
+    }
+    return ids.subList(0, MAX_LOGGED_IDS) + " and " + (ids.size() - MAX_LOGGED_IDS) + " more";
+  }
+
+  private Future<List<Transaction>> getCachedTransactionsByQuery(String query, List<String> fundIds, String fiscalYearId,
+      RequestContext requestContext) {
+    return transactionQueryCache.getTransactions(query, fundIds, fiscalYearId, requestContext,
+      () -> getAllTransactionsByQuery(query, requestContext));
+  }
+
+  private String buildGetBudgetTransactionsQuery(Budget budget) {
+    return String.format("(fromFundId==%s OR toFundId==%s) AND fiscalYearId==%s", budget.getFundId(),
+      budget.getFundId(), budget.getFiscalYearId());
+  }
+
+  private String buildGetTransactionsByFundIdsQuery(String fiscalYearId, List<String> fundIds,
+      List<Transaction.TransactionType> trTypes) {
+    return String.format("fiscalYearId==%s AND (%s OR %s) AND %s",
       fiscalYearId,
       convertIdsToCqlQuery(fundIds, "fromFundId", true),
-      convertIdsToCqlQuery(fundIds, "toFundId", true));
+      convertIdsToCqlQuery(fundIds, "toFundId", true),
+      buildTransactionTypesQuery(trTypes));
+  }
+
+  private String buildTransactionTypesQuery(List<Transaction.TransactionType> trTypes) {
+    List<String> quotedTypes = trTypes.stream()
+      .map(trType -> "\"" + trType.value() + "\"")
+      .toList();
+    return convertIdsToCqlQuery(quotedTypes, "transactionType", true);
   }
 
 }
@@ -28,16 +28,21 @@ import org.folio.rest.impl.LedgerRolloverLogsApiTest;
 import org.folio.rest.impl.LedgerRolloverProgressApiTest;
 import org.folio.rest.impl.LedgersApiTest;
 import org.folio.rest.impl.TransactionApiTest;
+import org.folio.rest.util.ChunkedFetchUtilsTest;
 import org.folio.rest.util.HelperUtilsTest;
+import org.folio.rest.util.RollbackUtilsTest;
 import org.folio.services.TransactionServiceTest;
 import org.folio.services.ExpenseClassServiceTest;
 import org.folio.services.budget.BudgetExpenseClassServiceTest;
 import org.folio.services.budget.BudgetExpenseClassTotalsServiceTest;
 import org.folio.services.budget.BudgetServiceTest;
 import org.folio.services.budget.CreateBudgetServiceTest;
+import org.folio.services.budget.ExpenseClassTotalsBuilderTest;
 import org.folio.services.budget.RecalculateBudgetServiceTest;
+import org.folio.services.configuration.CommonSettingsServiceTest;
 import org.folio.services.exchange.ExchangeServiceTest;
 import org.folio.services.exchange.ManualCurrencyConversionTest;
+import org.folio.services.financedata.FinanceDataExportServiceTest;
 import org.folio.services.financedata.FinanceDataServiceTest;
 import org.folio.services.financedata.FinanceDataValidatorTest;
 import org.folio.services.fiscalyear.FiscalYearApiServiceTest;
@@ -46,6 +51,7 @@ import org.folio.services.fund.FundCodeExpenseClassesServiceTest;
 import org.folio.services.fund.FundDetailsServiceTest;
 import org.folio.services.fund.FundServiceTest;
 import org.folio.services.fund.FundUpdateLogServiceTest;
+import org.folio.services.fund.FundUpdateLogWriterTest;
 import org.folio.services.group.GroupExpenseClassTotalsServiceTest;
 import org.folio.services.group.GroupFundFiscalYearServiceTest;
 import org.folio.services.group.GroupServiceTest;
@@ -53,7 +59,9 @@ import org.folio.services.ledger.LedgerDetailsServiceTest;
 import org.folio.services.ledger.LedgerRolloverBudgetsServiceTest;
 import org.folio.services.ledger.LedgerRolloverErrorsServiceTest;
 import org.folio.services.ledger.LedgerRolloverLogsServiceTest;
+import org.folio.services.ledger.LedgerRolloverPreviewServiceTest;
 import org.folio.services.ledger.LedgerRolloverProgressServiceTest;
+import org.folio.services.ledger.LedgerRolloverProgressStreamServiceTest;
 import org.folio.services.ledger.LedgerRolloverServiceTest;
 import org.folio.services.ledger.LedgerServiceTest;
 import org.folio.services.ledger.LedgerTotalsServiceTest;
@@ -140,6 +148,14 @@ public class ApiTestSuite {
   class HelperUtilsTestNested extends HelperUtilsTest {
   }
 
+  @Nested
+  class ChunkedFetchUtilsTestNested extends ChunkedFetchUtilsTest {
+  }
+
+  @Nested
+  class RollbackUtilsTestNested extends RollbackUtilsTest {
+  }
+
   @Nested
   class BudgetExpenseClassServiceTestNested extends BudgetExpenseClassServiceTest {
   }
@@ -208,6 +224,14 @@ public class ApiTestSuite {
   class LedgerRolloverProgressServiceTestNested extends LedgerRolloverProgressServiceTest {
   }
 
+  @Nested
+  class LedgerRolloverPreviewServiceTestNested extends LedgerRolloverPreviewServiceTest {
+  }
+
+  @Nested
+  class LedgerRolloverProgressStreamServiceTestNested extends LedgerRolloverProgressStreamServiceTest {
+  }
+
   @Nested
   class LedgerTotalsServiceTestNested extends LedgerTotalsServiceTest {
   }
@@ -264,6 +288,9 @@ public class ApiTestSuite {
   @Nested
   class FinanceDataServiceTestNested extends FinanceDataServiceTest {}
 
+  @Nested
+  class FinanceDataExportServiceTestNested extends FinanceDataExportServiceTest {}
+
   @Nested
   class FinanceDataValidatorTestNested extends FinanceDataValidatorTest {}
 
@@ -276,6 +303,9 @@ public class ApiTestSuite {
   @Nested
   class FundUpdateLogServiceTestNested extends FundUpdateLogServiceTest {}
 
+  @Nested
+  class FundUpdateLogWriterTestNested extends FundUpdateLogWriterTest {}
+
   @Nested
   class ExchangeServiceTestNested extends ExchangeServiceTest {}
 
@@ -284,4 +314,10 @@ public class ApiTestSuite {
 
   @Nested
   class RestClientTestNested extends RestClientTest {}
+
+  @Nested
+  class ExpenseClassTotalsBuilderTestNested extends ExpenseClassTotalsBuilderTest {}
+
+  @Nested
+  class CommonSettingsServiceTestNested extends CommonSettingsServiceTest {}
 }
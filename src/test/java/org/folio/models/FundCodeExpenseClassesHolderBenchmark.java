@@ -0,0 +1,85 @@
+package org.folio.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.jaxrs.model.Budget;
+import org.folio.rest.jaxrs.model.BudgetExpenseClass;
+import org.folio.rest.jaxrs.model.ExpenseClass;
+import org.folio.rest.jaxrs.model.FiscalYear;
+import org.folio.rest.jaxrs.model.Fund;
+import org.folio.rest.jaxrs.model.Ledger;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Manual benchmark of {@link FundCodeExpenseClassesHolder#buildFundCodeVsExpenseClassesTypeCollection()} on synthetic data.
+ * It is not a part of {@code ApiTestSuite}, run it with {@code mvn test -Dtest=FundCodeExpenseClassesHolderBenchmark}.
+ */
+public class FundCodeExpenseClassesHolderBenchmark {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final int LEDGERS_COUNT = 20;
+  private static final int EXPENSE_CLASSES_COUNT = 50;
+  private static final int LINKS_PER_BUDGET = 5;
+  private static final int WARMUP_ITERATIONS = 3;
+  private static final int MEASURED_ITERATIONS = 5;
+
+  @ParameterizedTest
+  @ValueSource(ints = {1_000, 10_000, 50_000})
+  void buildFundCodeVsExpenseClassesTypeCollection(int fundsCount) {
+    var holder = buildHolder(fundsCount);
+
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      holder.buildFundCodeVsExpenseClassesTypeCollection();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      var collection = holder.buildFundCodeVsExpenseClassesTypeCollection();
+      assertEquals(fundsCount, collection.getFundCodeVsExpClassesTypes().size());
+    }
+    long averageMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / MEASURED_ITERATIONS;
+    logger.info("buildFundCodeVsExpenseClassesTypeCollection:: {} funds, {} budget expense classes: {} ms per build",
+      fundsCount, fundsCount * LINKS_PER_BUDGET, averageMillis);
+  }
+
+  private FundCodeExpenseClassesHolder buildHolder(int fundsCount) {
+    List<Ledger> ledgers = new ArrayList<>(LEDGERS_COUNT);
+    for (int i = 0; i < LEDGERS_COUNT; i++) {
+      ledgers.add(new Ledger().withId(UUID.randomUUID().toString()).withCode("LEDGER" + i));
+    }
+    List<ExpenseClass> expenseClasses = new ArrayList<>(EXPENSE_CLASSES_COUNT);
+    for (int i = 0; i < EXPENSE_CLASSES_COUNT; i++) {
+      expenseClasses.add(new ExpenseClass().withId(UUID.randomUUID().toString()).withCode("EC" + i));
+    }
+    List<Fund> funds = new ArrayList<>(fundsCount);
+    List<Budget> budgets = new ArrayList<>(fundsCount);
+    List<BudgetExpenseClass> budgetExpenseClasses = new ArrayList<>(fundsCount * LINKS_PER_BUDGET);
+    for (int i = 0; i < fundsCount; i++) {
+      var fund = new Fund().withId(UUID.randomUUID().toString()).withCode("FUND" + i)
+        .withLedgerId(ledgers.get(i % LEDGERS_COUNT).getId());
+      var budget = new Budget().withId(UUID.randomUUID().toString()).withFundId(fund.getId());
+      funds.add(fund);
+      budgets.add(budget);
+      for (int j = 0; j < LINKS_PER_BUDGET; j++) {
+        budgetExpenseClasses.add(new BudgetExpenseClass()
+          .withBudgetId(budget.getId())
+          .withExpenseClassId(expenseClasses.get((i + j) % EXPENSE_CLASSES_COUNT).getId())
+          .withStatus(j % 2 == 0 ? BudgetExpenseClass.Status.ACTIVE : BudgetExpenseClass.Status.INACTIVE));
+      }
+    }
+    return new FundCodeExpenseClassesHolder(new FiscalYear().withId(UUID.randomUUID().toString()))
+      .withBudgets(budgets)
+      .withFunds(funds)
+      .withLedgers(ledgers)
+      .withBudgetExpenseClasses(budgetExpenseClasses)
+      .withExpenseClasses(expenseClasses);
+  }
+}
@@ -70,6 +70,15 @@ public class RestClientTest {
       }).onComplete(testContext.failingThenComplete());
   }
 
+  @Test
+  void testPostEmptyResponseShouldFailWhenEntityCannotBeEncoded(Vertx vertx, VertxTestContext testContext) {
+    var future = new RestClient().postEmptyResponse("/finance/ledger-rollovers", new UnencodableEntity(),
+      requestContext(vertx, null, "cat", "manekineko"));
+
+    testContext.verify(() -> assertThat(future.failed(), is(true)));
+    testContext.completeNow();
+  }
+
   @Test
   void testPostShouldReturnEntity(Vertx vertx, VertxTestContext testContext) {
     vertx.createHttpServer()
@@ -293,6 +302,12 @@ public class RestClientTest {
       }).onComplete(testContext.failingThenComplete());
   }
 
+  public static class UnencodableEntity {
+    public String getValue() {
+      throw new IllegalStateException("The value can't be read");
+    }
+  }
+
   private RequestContext requestContext(Vertx vertx, HttpServer httpServer, String tenant, String token) {
     var port = httpServer == null ? NetworkUtils.nextFreePort() : httpServer.actualPort();
     var headers = new CaseInsensitiveMap<>(Map.of(
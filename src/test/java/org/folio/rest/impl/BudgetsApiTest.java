@@ -59,6 +59,7 @@ import org.folio.services.budget.BudgetExpenseClassTotalsService;
 import org.folio.services.budget.BudgetService;
 import org.folio.services.budget.CreateBudgetService;
 import org.folio.services.budget.RecalculateBudgetService;
+import org.folio.services.fund.FundCodeExpenseClassesService;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -362,6 +363,11 @@ public class BudgetsApiTest {
     public CreateBudgetService createBudgetService() {
       return mock(CreateBudgetService.class);
     }
+
+    @Bean
+    public FundCodeExpenseClassesService fundCodeExpenseClassesService() {
+      return mock(FundCodeExpenseClassesService.class);
+    }
   }
 
 }
@@ -7,6 +7,8 @@ import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 import static javax.ws.rs.core.Response.Status.OK;
 import static org.folio.rest.util.ErrorCodes.GENERIC_ERROR_CODE;
+import static org.folio.rest.util.ErrorCodes.UNSUPPORTED_FINANCE_DATA_EXPORT_FORMAT;
+import static org.folio.rest.util.RestTestUtils.prepareHeaders;
 import static org.folio.rest.util.RestTestUtils.verifyGet;
 import static org.folio.rest.util.RestTestUtils.verifyGetWithParam;
 import static org.folio.rest.util.RestTestUtils.verifyPut;
@@ -14,17 +16,23 @@ import static org.folio.rest.util.TestConfig.autowireDependencies;
 import static org.folio.rest.util.TestConfig.clearVertxContext;
 import static org.folio.rest.util.TestConfig.initSpringContext;
 import static org.folio.rest.util.TestConfig.isVerticleNotDeployed;
+import static org.folio.rest.util.TestConstants.X_OKAPI_TENANT;
+import static org.folio.rest.util.TestConstants.X_OKAPI_TOKEN;
 import static org.folio.rest.util.TestUtils.getMockData;
 import static org.folio.services.protection.AcqUnitConstants.NO_FD_FUND_UNIT_ASSIGNED_CQL;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -33,17 +41,26 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
+import io.restassured.http.Header;
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.WriteStream;
 import io.vertx.ext.web.handler.HttpException;
 import org.folio.ApiTestSuite;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.Errors;
+import org.folio.rest.jaxrs.model.FundUpdateLog;
 import org.folio.rest.jaxrs.model.FyFinanceData;
 import org.folio.rest.jaxrs.model.FyFinanceDataCollection;
+import org.folio.rest.jaxrs.model.JobDetails;
+import org.folio.rest.util.TestConfig;
+import org.folio.services.financedata.FinanceDataExportFormat;
+import org.folio.services.financedata.FinanceDataExportService;
 import org.folio.services.financedata.FinanceDataService;
 import org.folio.services.protection.AcqUnitsService;
 import org.folio.util.CopilotGenerated;
@@ -62,9 +79,12 @@ public class FinanceDataApiTest {
   public FinanceDataService financeDataService;
   @Autowired
   public AcqUnitsService acqUnitsService;
+  @Autowired
+  public FinanceDataExportService financeDataExportService;
 
   private static boolean runningOnOwn;
   private static final String FINANCE_DATA_ENDPOINT = "/finance/finance-data";
+  private static final String FINANCE_DATA_EXPORT_ENDPOINT = "/finance/finance-data/export";
 
   @BeforeAll
   static void init() throws InterruptedException, ExecutionException, TimeoutException {
@@ -92,6 +112,7 @@ public class FinanceDataApiTest {
   void resetMocks() {
     reset(financeDataService);
     reset(acqUnitsService);
+    reset(financeDataExportService);
   }
 
   @Test
@@ -207,6 +228,57 @@ public class FinanceDataApiTest {
     verify(financeDataService).putFinanceData(eq(financeDataCollection), any(RequestContext.class));
   }
 
+  @Test
+  void positive_testPutFinanceFinanceDataRespondAsync() throws IOException {
+    var financeDataCollection = getFinanceDataCollection();
+    var fundUpdateLog = new FundUpdateLog()
+      .withId(UUID.randomUUID().toString())
+      .withJobName("Test")
+      .withStatus(FundUpdateLog.Status.IN_PROGRESS)
+      .withRecordsCount(financeDataCollection.getTotalRecords())
+      .withJobNumber(1)
+      .withJobDetails(new JobDetails().withAdditionalProperty("fyFinanceData", financeDataCollection.getFyFinanceData()));
+    var headers = prepareHeaders(new Header("Prefer", "respond-async"), TestConfig.X_OKAPI_URL, X_OKAPI_TENANT, X_OKAPI_TOKEN);
+
+    when(financeDataService.putFinanceDataAsync(any(FyFinanceDataCollection.class), any(RequestContext.class)))
+      .thenReturn(succeededFuture(fundUpdateLog));
+
+    var response = verifyPut(FINANCE_DATA_ENDPOINT, JsonObject.mapFrom(financeDataCollection).encode(), headers,
+      APPLICATION_JSON, 202);
+
+    var acceptedLog = response.as(FundUpdateLog.class);
+    assertEquals(fundUpdateLog.getId(), acceptedLog.getId());
+    assertEquals(FundUpdateLog.Status.IN_PROGRESS, acceptedLog.getStatus());
+    assertEquals(fundUpdateLog.getRecordsCount(), acceptedLog.getRecordsCount());
+    assertNull(acceptedLog.getJobDetails());
+    assertThat(response.header("Location"), is("/finance/fund-update-logs/" + fundUpdateLog.getId()));
+    verify(financeDataService).putFinanceDataAsync(eq(financeDataCollection), any(RequestContext.class));
+    verify(financeDataService, never()).putFinanceData(any(), any());
+  }
+
+  @Test
+  void positive_testGetFinanceFinanceDataExportCsv() {
+    var csv = "fiscalYearId,fundId\n1,2\n";
+    doAnswer(invocation -> {
+      WriteStream<Buffer> target = invocation.getArgument(2);
+      return target.write(Buffer.buffer(csv));
+    }).when(financeDataExportService).exportFinanceData(isNull(), eq(FinanceDataExportFormat.CSV), any(), any(RequestContext.class));
+
+    var response = verifyGet(FINANCE_DATA_EXPORT_ENDPOINT, "text/csv", OK.getStatusCode());
+
+    assertEquals(csv, response.asString());
+    verify(financeDataExportService).exportFinanceData(isNull(), eq(FinanceDataExportFormat.CSV), any(), any(RequestContext.class));
+  }
+
+  @Test
+  void negative_testGetFinanceFinanceDataExportUnsupportedFormat() {
+    var errors = verifyGetWithParam(FINANCE_DATA_EXPORT_ENDPOINT, APPLICATION_JSON, 400, "format", "xlsx")
+      .as(Errors.class);
+
+    assertThat(errors.getErrors().getFirst().getCode(), is(UNSUPPORTED_FINANCE_DATA_EXPORT_FORMAT.getCode()));
+    verify(financeDataExportService, never()).exportFinanceData(any(), any(), any(), any());
+  }
+
   private FyFinanceDataCollection getFinanceDataCollection() throws IOException {
     var jsonData = getMockData("mockdata/finance-data/fy_finance_data_collection_put.json");
     var jsonObject = new JsonObject(jsonData);
@@ -224,5 +296,10 @@ public class FinanceDataApiTest {
     AcqUnitsService acqUnitsService() {
       return mock(AcqUnitsService.class);
     }
+
+    @Bean
+    FinanceDataExportService financeDataExportService() {
+      return mock(FinanceDataExportService.class);
+    }
   }
 }
@@ -16,6 +16,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.when;
 
@@ -28,8 +29,11 @@ import org.folio.ApiTestSuite;
 import org.folio.rest.exception.HttpException;
 import org.folio.rest.jaxrs.model.Errors;
 import org.folio.rest.jaxrs.model.LedgerFiscalYearRollover;
+import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverBudget;
 import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverCollection;
+import org.folio.rest.jaxrs.model.LedgerRolloverBudgetsDiff;
 import org.folio.rest.util.TestEntities;
+import org.folio.services.ledger.LedgerRolloverPreviewService;
 import org.folio.services.ledger.LedgerRolloverService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -45,6 +49,8 @@ public class LedgerRolloverApiTest {
 
   @Autowired
   private LedgerRolloverService mockLedgerRolloverService;
+  @Autowired
+  private LedgerRolloverPreviewService mockLedgerRolloverPreviewService;
 
   @BeforeAll
   static void init() throws InterruptedException, ExecutionException, TimeoutException {
@@ -61,7 +67,7 @@ public class LedgerRolloverApiTest {
 
   @AfterEach
   void resetMocks() {
-    reset(mockLedgerRolloverService);
+    reset(mockLedgerRolloverService, mockLedgerRolloverPreviewService);
   }
 
   @Test
@@ -139,6 +145,33 @@ public class LedgerRolloverApiTest {
     assertThat(errors.getErrors().get(0).getCode(), is(GENERIC_ERROR_CODE.getCode()));
   }
 
+  @Test
+  void shouldReturnBudgetsDiffWhenCallGetBudgetsDiffAndPreviewServiceReturnDiff() {
+
+    String ledgerRolloverId = UUID.randomUUID().toString();
+    String baseRolloverId = UUID.randomUUID().toString();
+    LedgerRolloverBudgetsDiff diff = new LedgerRolloverBudgetsDiff()
+      .withRolloverId(ledgerRolloverId)
+      .withBaseRolloverId(baseRolloverId)
+      .withAdded(List.of(new LedgerFiscalYearRolloverBudget().withFundId(UUID.randomUUID().toString())))
+      .withRemoved(List.of())
+      .withChanged(List.of())
+      .withUnchangedRecords(2);
+
+    when(mockLedgerRolloverPreviewService.getLedgerRolloverBudgetsDiff(eq(ledgerRolloverId), eq(baseRolloverId), any()))
+      .thenReturn(succeededFuture(diff));
+
+    // When call getFinanceLedgerRolloversBudgetsDiffById successfully
+    LedgerRolloverBudgetsDiff result = verifyGet(TestEntities.LEDGER_ROLLOVER.getEndpointWithId(ledgerRolloverId)
+        + "/budgets-diff?baseRolloverId=" + baseRolloverId, APPLICATION_JSON, OK.getStatusCode())
+      .as(LedgerRolloverBudgetsDiff.class);
+
+    // Then return the diff of the rollovers
+    assertThat(result.getBaseRolloverId(), is(baseRolloverId));
+    assertThat(result.getAdded(), hasSize(1));
+    assertThat(result.getUnchangedRecords(), is(2));
+  }
+
   @Test
   void shouldReturnLedgerRolloverWhenCallPostAndRolloverServiceReturnLedgerRollover() {
 
@@ -187,5 +220,10 @@ public class LedgerRolloverApiTest {
     public LedgerRolloverService ledgerRolloverService() {
       return Mockito.mock(LedgerRolloverService.class);
     }
+
+    @Bean
+    public LedgerRolloverPreviewService ledgerRolloverPreviewService() {
+      return Mockito.mock(LedgerRolloverPreviewService.class);
+    }
   }
 }
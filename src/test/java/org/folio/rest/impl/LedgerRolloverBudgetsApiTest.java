@@ -5,16 +5,19 @@ import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 import static javax.ws.rs.core.Response.Status.OK;
 import static org.folio.rest.util.ErrorCodes.GENERIC_ERROR_CODE;
+import static org.folio.rest.util.RestTestUtils.prepareHeaders;
 import static org.folio.rest.util.RestTestUtils.verifyGet;
 import static org.folio.rest.util.TestConfig.autowireDependencies;
 import static org.folio.rest.util.TestConfig.initSpringContext;
 import static org.folio.rest.util.TestConfig.isVerticleNotDeployed;
+import static org.folio.rest.util.TestConstants.X_OKAPI_TENANT;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.when;
 
@@ -24,12 +27,18 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
 import org.folio.ApiTestSuite;
+import org.folio.rest.core.models.ETaggedEntity;
 import org.folio.rest.exception.HttpException;
 import org.folio.rest.jaxrs.model.Errors;
 import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverBudget;
 import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverBudgetCollection;
+import org.folio.rest.util.TestConfig;
 import org.folio.rest.util.TestEntities;
 import org.folio.services.ledger.LedgerRolloverBudgetsService;
+import org.folio.services.ledger.LedgerRolloverErrorsService;
+import org.folio.services.ledger.LedgerRolloverPreviewService;
+import org.folio.services.ledger.LedgerRolloverProgressService;
+import org.folio.services.ledger.LedgerRolloverService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +47,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 
+import io.restassured.http.Header;
 import io.vertx.core.Future;
 
 public class LedgerRolloverBudgetsApiTest {
@@ -81,6 +91,27 @@ public class LedgerRolloverBudgetsApiTest {
     assertThat(rolloverBudgetCollection.getLedgerFiscalYearRolloverBudgets(), hasSize(1));
   }
 
+  @Test
+  void shouldReturnNotModifiedWhenCallGetWithETagOfUnchangedRolloverBudgets() {
+    LedgerFiscalYearRolloverBudgetCollection ledgerBudgets = new LedgerFiscalYearRolloverBudgetCollection()
+      .withTotalRecords(1)
+      .withLedgerFiscalYearRolloverBudgets(List.of(new LedgerFiscalYearRolloverBudget().withFundId(UUID.randomUUID().toString())));
+    String etag = ETaggedEntity.of(ledgerBudgets).etag();
+
+    when(mockLedgerRolloverBudgetsService.retrieveLedgerRolloverBudgets(any(), anyInt(), anyInt(), any()))
+      .thenReturn(succeededFuture(ledgerBudgets));
+
+    // When call getFinanceLedgerRolloversBudgets without and with the ETag of the returned page
+    var response = verifyGet(TestEntities.LEDGER_ROLLOVER_BUDGETS.getEndpoint(), APPLICATION_JSON, OK.getStatusCode());
+    var notModifiedResponse = verifyGet(TestEntities.LEDGER_ROLLOVER_BUDGETS.getEndpoint(),
+      prepareHeaders(new Header("If-None-Match", etag), TestConfig.X_OKAPI_URL, X_OKAPI_TENANT), "", 304);
+
+    // Then the page is sent only once
+    assertThat(response.header("ETag"), is(etag));
+    assertThat(notModifiedResponse.header("ETag"), is(etag));
+    assertThat(notModifiedResponse.asString(), is(""));
+  }
+
   @Test
   void shouldReturnErrorWhenCallGetAndRolloverBudgetsServiceReturnError() {
 
@@ -141,6 +172,12 @@ public class LedgerRolloverBudgetsApiTest {
     public LedgerRolloverBudgetsService ledgerRolloverService() {
       return Mockito.mock(LedgerRolloverBudgetsService.class);
     }
+
+    @Bean
+    public LedgerRolloverPreviewService ledgerRolloverPreviewService(LedgerRolloverBudgetsService ledgerRolloverBudgetsService) {
+      return new LedgerRolloverPreviewService(mock(LedgerRolloverService.class), mock(LedgerRolloverProgressService.class),
+        ledgerRolloverBudgetsService, mock(LedgerRolloverErrorsService.class), false, 0, 0, 0);
+    }
   }
 
 }
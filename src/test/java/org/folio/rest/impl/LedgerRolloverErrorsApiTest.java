@@ -21,6 +21,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,7 +37,11 @@ import org.folio.rest.exception.HttpException;
 import org.folio.rest.jaxrs.model.Errors;
 import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverError;
 import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverErrorCollection;
+import org.folio.services.ledger.LedgerRolloverBudgetsService;
 import org.folio.services.ledger.LedgerRolloverErrorsService;
+import org.folio.services.ledger.LedgerRolloverPreviewService;
+import org.folio.services.ledger.LedgerRolloverProgressService;
+import org.folio.services.ledger.LedgerRolloverService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -147,5 +152,11 @@ public class LedgerRolloverErrorsApiTest {
     public LedgerRolloverErrorsService ledgerRolloverErrorsService() {
       return Mockito.mock(LedgerRolloverErrorsService.class);
     }
+
+    @Bean
+    public LedgerRolloverPreviewService ledgerRolloverPreviewService(LedgerRolloverErrorsService ledgerRolloverErrorsService) {
+      return new LedgerRolloverPreviewService(mock(LedgerRolloverService.class), mock(LedgerRolloverProgressService.class),
+        mock(LedgerRolloverBudgetsService.class), ledgerRolloverErrorsService, false, 0, 0, 0);
+    }
   }
 }
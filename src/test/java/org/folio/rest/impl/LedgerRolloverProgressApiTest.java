@@ -3,6 +3,7 @@ package org.folio.rest.impl;
 import static io.vertx.core.Future.succeededFuture;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
+import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static javax.ws.rs.core.Response.Status.OK;
 import static org.folio.rest.util.ErrorCodes.GENERIC_ERROR_CODE;
 import static org.folio.rest.util.RestTestUtils.verifyGet;
@@ -13,7 +14,9 @@ import static org.folio.rest.util.TestConfig.initSpringContext;
 import static org.folio.rest.util.TestConfig.isVerticleNotDeployed;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -32,6 +35,7 @@ import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverProgress;
 import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverProgressCollection;
 import org.folio.rest.util.TestEntities;
 import org.folio.services.ledger.LedgerRolloverProgressService;
+import org.folio.services.ledger.LedgerRolloverProgressStreamService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -41,6 +45,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 
 import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
 
 public class LedgerRolloverProgressApiTest {
 
@@ -140,6 +145,52 @@ public class LedgerRolloverProgressApiTest {
     assertThat(errors.getErrors().get(0).getCode(), is(GENERIC_ERROR_CODE.getCode()));
   }
 
+  @Test
+  void shouldStreamProgressEventsUntilRolloverIsFinishedWhenCallGetStream() {
+
+    String progressId = UUID.randomUUID().toString();
+    LedgerFiscalYearRolloverProgress inProgress = new JsonObject()
+      .put("id", progressId)
+      .put("overallRolloverStatus", "In Progress")
+      .mapTo(LedgerFiscalYearRolloverProgress.class);
+    LedgerFiscalYearRolloverProgress finished = new JsonObject()
+      .put("id", progressId)
+      .put("overallRolloverStatus", "Success")
+      .mapTo(LedgerFiscalYearRolloverProgress.class);
+
+    when(mockLedgerRolloverProgressService.retrieveLedgerRolloverProgressById(anyString(), any()))
+      .thenReturn(succeededFuture(inProgress))
+      .thenReturn(succeededFuture(finished));
+
+    // When call getFinanceLedgerRolloversProgressStreamById until the rollover is finished
+    String events = verifyGet(TestEntities.LEDGER_ROLLOVER_PROGRESS.getEndpointWithId(progressId) + "/stream", "text/event-stream",
+      OK.getStatusCode())
+      .asString();
+
+    // Then every change of the progress is sent as an event
+    assertThat(events, containsString("event: progress\ndata: " + JsonObject.mapFrom(inProgress).encode() + "\n\n"));
+    assertThat(events, containsString("event: progress\ndata: " + JsonObject.mapFrom(finished).encode() + "\n\n"));
+  }
+
+  @Test
+  void shouldReturnErrorWhenCallGetStreamAndRolloverProgressServiceReturnError() {
+
+    String progressId = UUID.randomUUID().toString();
+
+    when(mockLedgerRolloverProgressService.retrieveLedgerRolloverProgressById(anyString(), any()))
+      .thenReturn(Future.failedFuture(new HttpException(404, NOT_FOUND.getReasonPhrase())));
+
+    // When call getFinanceLedgerRolloversProgressStreamById but the progress is not found
+    String events = verifyGet(TestEntities.LEDGER_ROLLOVER_PROGRESS.getEndpointWithId(progressId) + "/stream", "text/event-stream",
+      OK.getStatusCode())
+      .asString();
+
+    // Then the stream, opened right away, ends with an error event
+    assertThat(events, startsWith("event: error\ndata: "));
+    Errors errors = new JsonObject(events.substring("event: error\ndata: ".length()).trim()).mapTo(Errors.class);
+    assertThat(errors.getErrors(), hasSize(1));
+  }
+
   @Test
   void shouldReturnLedgerRolloverProgressWhenCallPostAndRolloverProgressServiceReturnLedgerRolloverProgress() {
 
@@ -203,5 +254,10 @@ public class LedgerRolloverProgressApiTest {
     public LedgerRolloverProgressService ledgerRolloverProgressService() {
       return Mockito.mock(LedgerRolloverProgressService.class);
     }
+
+    @Bean
+    public LedgerRolloverProgressStreamService ledgerRolloverProgressStreamService(LedgerRolloverProgressService ledgerRolloverProgressService) {
+      return new LedgerRolloverProgressStreamService(ledgerRolloverProgressService, 10);
+    }
   }
 }
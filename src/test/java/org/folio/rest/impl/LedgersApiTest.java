@@ -53,6 +53,7 @@ import org.folio.rest.jaxrs.model.Ledger;
 import org.folio.rest.jaxrs.model.LedgersCollection;
 import org.folio.rest.util.RestTestUtils;
 import org.folio.rest.util.TestEntities;
+import org.folio.services.fund.FundCodeExpenseClassesService;
 import org.folio.services.ledger.LedgerDetailsService;
 import org.folio.services.ledger.LedgerService;
 import org.folio.services.protection.AcqUnitsService;
@@ -344,6 +345,11 @@ public class LedgersApiTest {
     @Bean AcqUnitsService acqUnitsService() {
       return mock(AcqUnitsService.class);
     }
+
+    @Bean
+    public FundCodeExpenseClassesService fundCodeExpenseClassesService() {
+      return mock(FundCodeExpenseClassesService.class);
+    }
   }
 
 }
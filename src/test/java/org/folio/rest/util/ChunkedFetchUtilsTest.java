@@ -0,0 +1,109 @@
+package org.folio.rest.util;
+
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.util.ChunkedFetchUtils.fetchInChunks;
+import static org.folio.rest.util.ChunkedFetchUtils.runWithConcurrencyLimit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+public class ChunkedFetchUtilsTest {
+
+  @Test
+  public void shouldKeepNoMoreThanMaxInFlightChunksRunning() {
+    List<Integer> values = IntStream.range(0, 10).boxed().toList();
+    List<Promise<List<Integer>>> started = new ArrayList<>();
+
+    Future<List<Integer>> future = fetchInChunks(values, 3, 2, chunk -> {
+      Promise<List<Integer>> promise = Promise.promise();
+      started.add(promise);
+      return promise.future().map(v -> chunk);
+    });
+
+    Assertions.assertEquals(2, started.size());
+    started.get(1).complete();
+    Assertions.assertEquals(3, started.size());
+    started.get(0).complete();
+    started.get(2).complete();
+    Assertions.assertEquals(4, started.size());
+    Assertions.assertFalse(future.isComplete());
+    started.get(3).complete();
+
+    Assertions.assertTrue(future.succeeded());
+    Assertions.assertEquals(values, future.result());
+  }
+
+  @Test
+  public void shouldFailWithFirstChunkFailureAndStopFetching() {
+    List<Integer> values = IntStream.range(0, 10).boxed().toList();
+    List<List<Integer>> requested = new ArrayList<>();
+
+    Future<List<Integer>> future = fetchInChunks(values, 2, 1, chunk -> {
+      requested.add(chunk);
+      return requested.size() == 2 ? failedFuture(new IllegalStateException("chunk failed")) : succeededFuture(chunk);
+    });
+
+    Assertions.assertTrue(future.failed());
+    Assertions.assertEquals("chunk failed", future.cause().getMessage());
+    Assertions.assertEquals(2, requested.size());
+  }
+
+  @Test
+  public void shouldReturnEmptyListWithoutRequestsForEmptyValues() {
+    Future<List<String>> future = fetchInChunks(List.<String>of(), 15, chunk -> failedFuture(new IllegalStateException()));
+
+    Assertions.assertTrue(future.succeeded());
+    Assertions.assertTrue(future.result().isEmpty());
+  }
+
+  @Test
+  public void shouldRunActionForEveryValueWithConcurrencyLimit() {
+    List<Integer> values = IntStream.range(0, 5).boxed().toList();
+    List<Promise<Void>> started = new ArrayList<>();
+
+    Future<Void> future = runWithConcurrencyLimit(values, 2, value -> {
+      Promise<Void> promise = Promise.promise();
+      started.add(promise);
+      return promise.future();
+    });
+
+    Assertions.assertEquals(2, started.size());
+    for (int i = 0; i < values.size(); i++) {
+      started.get(i).complete();
+    }
+
+    Assertions.assertEquals(5, started.size());
+    Assertions.assertTrue(future.succeeded());
+  }
+
+  @Test
+  public void shouldFailOnlyAfterRunningActionsAreSettled() {
+    List<Integer> values = IntStream.range(0, 5).boxed().toList();
+    List<Promise<Void>> started = new ArrayList<>();
+
+    Future<Void> future = runWithConcurrencyLimit(values, 3, value -> {
+      Promise<Void> promise = Promise.promise();
+      started.add(promise);
+      return promise.future();
+    });
+
+    started.get(0).fail(new IllegalStateException("action failed"));
+    Assertions.assertFalse(future.isComplete());
+    started.get(1).complete();
+    Assertions.assertFalse(future.isComplete());
+    started.get(2).complete();
+
+    // no new action is started after the failure
+    Assertions.assertEquals(3, started.size());
+    Assertions.assertTrue(future.failed());
+    Assertions.assertEquals("action failed", future.cause().getMessage());
+  }
+}
@@ -34,4 +34,21 @@ public class HelperUtilsTest {
     String actCql = HelperUtils.combineCqlExpressions("and", SORT_BY);
     Assertions.assertTrue(actCql.contains(SORT_BY));
   }
+
+  @Test
+  public void testIsValidUuid() {
+    Assertions.assertTrue(HelperUtils.isValidUuid("3c3a0e3a-5fc4-4a1b-8b7e-6f2e9d0c1a2B"));
+    Assertions.assertFalse(HelperUtils.isValidUuid(null));
+    Assertions.assertFalse(HelperUtils.isValidUuid(""));
+    Assertions.assertFalse(HelperUtils.isValidUuid("1-1-1-1-1"));
+    Assertions.assertFalse(HelperUtils.isValidUuid("3c3a0e3a-5fc4-4a1b-8b7e-6f2e9d0c1a2g"));
+    Assertions.assertFalse(HelperUtils.isValidUuid("3c3a0e3a5fc4-4a1b-8b7e-6f2e9d0c1a2b-"));
+  }
+
+  @Test
+  public void testRemoveCqlSorting() {
+    Assertions.assertEquals("fundCode==A", HelperUtils.removeCqlSorting("fundCode==A sortBy fundName"));
+    Assertions.assertEquals("fundCode==A", HelperUtils.removeCqlSorting("fundCode==A"));
+    Assertions.assertNull(HelperUtils.removeCqlSorting(null));
+  }
 }
@@ -20,6 +20,7 @@ import static org.folio.rest.util.ResourcePathResolver.BUDGETS_STORAGE;
 import static org.folio.rest.util.ResourcePathResolver.LOCALE_SETTINGS;
 import static org.folio.rest.util.ResourcePathResolver.EXPENSE_CLASSES_STORAGE_URL;
 import static org.folio.rest.util.ResourcePathResolver.FISCAL_YEARS_STORAGE;
+import static org.folio.rest.util.ResourcePathResolver.FUNDS_BATCH_STORAGE;
 import static org.folio.rest.util.ResourcePathResolver.FUNDS_STORAGE;
 import static org.folio.rest.util.ResourcePathResolver.FUND_TYPES;
 import static org.folio.rest.util.ResourcePathResolver.FUND_UPDATE_LOGS;
@@ -60,6 +61,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.rest.jaxrs.model.AwaitingPayment;
+import org.folio.rest.jaxrs.model.BatchIdCollection;
 import org.folio.rest.jaxrs.model.Budget;
 import org.folio.rest.jaxrs.model.BudgetsCollection;
 import org.folio.rest.jaxrs.model.ExpenseClass;
@@ -190,6 +192,8 @@ public class MockServer {
       .handler(ctx -> handlePostEntry(ctx, ExpenseClass.class, TestEntities.EXPENSE_CLASSES.name()));
     router.route(HttpMethod.POST, resourcesPath(ResourcePathResolver.BATCH_TRANSACTIONS_STORAGE))
       .handler(this::handlePostBatchTransactions);
+    router.route(HttpMethod.POST, resourcesPath(FUNDS_BATCH_STORAGE))
+      .handler(ctx -> handlePostBatchCollection(ctx, TestEntities.FUND));
 
     router.route(HttpMethod.GET, resourcesPath(BUDGETS_STORAGE))
       .handler(ctx -> handleGetCollection(ctx, TestEntities.BUDGET));
@@ -360,6 +364,28 @@ public class MockServer {
     }
   }
 
+  private void handlePostBatchCollection(RoutingContext ctx, TestEntities testEntity) {
+    logger.info("handlePostBatchCollection got: {}", ctx.body().asString());
+
+    List<String> ids = ctx.body().asJsonObject().mapTo(BatchIdCollection.class).getIds();
+    addServerRqQuery(testEntity.name(), String.join(",", ids));
+    if (ids.contains(ID_FOR_INTERNAL_SERVER_ERROR)) {
+      serverResponse(ctx, 500, APPLICATION_JSON, INTERNAL_SERVER_ERROR.getReasonPhrase());
+    } else {
+      try {
+        JsonObject collection = getCollectionOfRecords(testEntity, ids);
+        addServerRqRsData(HttpMethod.GET, testEntity.name(), collection);
+
+        ctx.response()
+          .setStatusCode(200)
+          .putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
+          .end(collection.encodePrettily());
+      } catch (Exception e) {
+        serverResponse(ctx, 500, APPLICATION_JSON, INTERNAL_SERVER_ERROR.getReasonPhrase());
+      }
+    }
+  }
+
   private void handleGetRecordById(RoutingContext ctx, TestEntities testEntity) {
     logger.info("handleGetRecordById got: {}", ctx.request().path());
     String id = ctx.request().getParam(ID);
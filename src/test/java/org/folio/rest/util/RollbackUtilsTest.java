@@ -0,0 +1,110 @@
+package org.folio.rest.util;
+
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.folio.rest.core.RestClient;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.exception.HttpException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+
+public class RollbackUtilsTest {
+
+  private static final String ENDPOINT = "/finance-storage/funds/" + UUID.randomUUID();
+
+  private RestClient restClient;
+  private RequestContext requestContext;
+  private final Exception cause = new IllegalStateException("group assignment failed");
+
+  @BeforeEach
+  public void initMocks() {
+    restClient = mock(RestClient.class);
+    requestContext = mock(RequestContext.class);
+  }
+
+  @Test
+  public void shouldRestorePreviousStateWithNextVersion() {
+    when(restClient.put(eq(ENDPOINT), any(), eq(requestContext))).thenReturn(succeededFuture());
+
+    Future<Void> future = RollbackUtils.rollbackUpdate(restClient, ENDPOINT, Map.of("name", "previous", "_version", 3),
+      cause, requestContext);
+
+    Assertions.assertTrue(future.failed());
+    Assertions.assertSame(cause, future.cause());
+    List<JsonObject> restored = capturePuts(1);
+    Assertions.assertEquals("previous", restored.getFirst().getString("name"));
+    Assertions.assertEquals(4, restored.getFirst().getInteger("_version"));
+    verify(restClient, never()).getAsJsonObject(any(), any());
+  }
+
+  @Test
+  public void shouldReadLatestVersionAndRetryRestoreOnConflict() {
+    when(restClient.put(eq(ENDPOINT), any(), eq(requestContext)))
+      .thenReturn(failedFuture(new HttpException(409, "version conflict")))
+      .thenReturn(succeededFuture());
+    when(restClient.getAsJsonObject(ENDPOINT, requestContext))
+      .thenReturn(succeededFuture(new JsonObject().put("name", "changed").put("_version", 7)));
+
+    Future<Void> future = RollbackUtils.rollbackUpdate(restClient, ENDPOINT, Map.of("name", "previous", "_version", 3),
+      cause, requestContext);
+
+    Assertions.assertTrue(future.failed());
+    Assertions.assertSame(cause, future.cause());
+    List<JsonObject> restored = capturePuts(2);
+    Assertions.assertEquals(4, restored.get(0).getInteger("_version"));
+    Assertions.assertEquals("previous", restored.get(1).getString("name"));
+    Assertions.assertEquals(7, restored.get(1).getInteger("_version"));
+    verify(restClient).getAsJsonObject(ENDPOINT, requestContext);
+  }
+
+  @Test
+  public void shouldNotRetryRestoreOnOtherFailures() {
+    when(restClient.put(eq(ENDPOINT), any(), eq(requestContext)))
+      .thenReturn(failedFuture(new HttpException(500, "Internal server error")));
+
+    Future<Void> future = RollbackUtils.rollbackUpdate(restClient, ENDPOINT, Map.of("name", "previous", "_version", 3),
+      cause, requestContext);
+
+    // the failure of the operation is reported, not the one of the rollback
+    Assertions.assertTrue(future.failed());
+    Assertions.assertSame(cause, future.cause());
+    capturePuts(1);
+    verify(restClient, never()).getAsJsonObject(any(), any());
+  }
+
+  @Test
+  public void shouldRestoreRecordWithoutVersionAsItWas() {
+    when(restClient.put(eq(ENDPOINT), any(), eq(requestContext))).thenReturn(succeededFuture());
+
+    Future<Void> future = RollbackUtils.rollbackUpdate(restClient, ENDPOINT, Map.of("name", "previous"), cause, requestContext);
+
+    Assertions.assertTrue(future.failed());
+    Assertions.assertSame(cause, future.cause());
+    List<JsonObject> restored = capturePuts(1);
+    Assertions.assertEquals(new JsonObject().put("name", "previous"), restored.getFirst());
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<JsonObject> capturePuts(int times) {
+    ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
+    verify(restClient, times(times)).put(eq(ENDPOINT), captor.capture(), eq(requestContext));
+    return captor.getAllValues().stream().map(JsonObject::new).toList();
+  }
+}
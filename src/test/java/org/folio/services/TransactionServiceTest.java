@@ -1,6 +1,8 @@
 package org.folio.services;
 
 import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.rest.util.BudgetUtils.EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES;
 import static org.folio.rest.util.ResourcePathResolver.BATCH_TRANSACTIONS_STORAGE;
 import static org.folio.rest.util.ResourcePathResolver.FISCAL_YEARS_STORAGE;
 import static org.folio.rest.util.ResourcePathResolver.resourceByIdPath;
@@ -19,6 +21,7 @@ import static org.mockito.Mockito.when;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -33,6 +36,7 @@ import org.folio.rest.jaxrs.model.SharedBudget;
 import org.folio.rest.jaxrs.model.Transaction;
 import org.folio.rest.jaxrs.model.TransactionCollection;
 import org.folio.services.fiscalyear.FiscalYearService;
+import org.folio.services.transactions.TransactionQueryCache;
 import org.folio.services.transactions.TransactionService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -95,6 +99,26 @@ public class TransactionServiceTest {
 
   }
 
+  @Test
+  void getBudgetTransactionsByTypes(VertxTestContext vertxTestContext) {
+    String fundId = UUID.randomUUID().toString();
+    String fiscalYearId = UUID.randomUUID().toString();
+    Budget budget = new Budget().withFundId(fundId).withFiscalYearId(fiscalYearId);
+
+    when(restClient.get(anyString(), any(), eq(requestContext)))
+      .thenReturn(succeededFuture(new TransactionCollection().withTotalRecords(0)));
+
+    Future<List<Transaction>> future = transactionService.getBudgetTransactions(budget, EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES, requestContext);
+
+    vertxTestContext.assertComplete(future)
+      .onComplete(result -> {
+        String expectedQuery = String.format("(fromFundId==%s OR toFundId==%s) AND fiscalYearId==%s AND "
+          + "transactionType==(\"Encumbrance\" or \"Pending payment\" or \"Payment\" or \"Credit\")", fundId, fundId, fiscalYearId);
+        verify(restClient).get(assertQueryContains(expectedQuery), eq(TransactionCollection.class), eq(requestContext));
+        vertxTestContext.completeNow();
+      });
+  }
+
   @Test
   void getTransactionsByExpenseClasses(VertxTestContext vertxTestContext) {
     String fundId = UUID.randomUUID().toString();
@@ -191,7 +215,8 @@ public class TransactionServiceTest {
       .thenReturn(succeededFuture(new TransactionCollection()))
       .thenReturn(succeededFuture(new TransactionCollection()));
 
-    Future<List<Transaction>> future = transactionService.getTransactionsByFundIds(fundIds, fiscalYearId, requestContext);
+    Future<List<Transaction>> future = transactionService.getTransactionsByFundIds(fundIds, fiscalYearId,
+      EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES, requestContext);
 
     vertxTestContext.assertComplete(future)
       .onComplete(result -> {
@@ -202,4 +227,36 @@ public class TransactionServiceTest {
       });
 
   }
+
+  @Test
+  void getBudgetTransactionsFromCacheUntilBatchTouchesBudget(VertxTestContext vertxTestContext) {
+    FiscalYearService fiscalYearService = new FiscalYearService(restClient);
+    TransactionService cachingTransactionService = new TransactionService(restClient, fiscalYearService,
+      new TransactionQueryCache(true, 30, 1000));
+    String fundId = UUID.randomUUID().toString();
+    String fiscalYearId = UUID.randomUUID().toString();
+    Budget budget = new Budget().withFundId(fundId).withFiscalYearId(fiscalYearId);
+    Transaction transaction = new Transaction().withId(UUID.randomUUID().toString())
+      .withToFundId(fundId).withFiscalYearId(fiscalYearId);
+    Batch batch = new Batch().withTransactionsToUpdate(List.of(transaction));
+
+    when(requestContext.headers()).thenReturn(Map.of(OKAPI_HEADER_TENANT, "diku"));
+    when(restClient.get(anyString(), eq(TransactionCollection.class), eq(requestContext)))
+      .thenReturn(succeededFuture(new TransactionCollection().withTransactions(List.of(transaction)).withTotalRecords(1)));
+    when(restClient.postEmptyResponse(eq(resourcesPath(BATCH_TRANSACTIONS_STORAGE)), any(Batch.class), eq(requestContext)))
+      .thenReturn(succeededFuture());
+
+    Future<List<Transaction>> future = cachingTransactionService.getBudgetTransactions(budget, requestContext)
+      .compose(v -> cachingTransactionService.getBudgetTransactions(budget, requestContext))
+      .onSuccess(v -> verify(restClient, times(1)).get(anyString(), eq(TransactionCollection.class), eq(requestContext)))
+      .compose(v -> cachingTransactionService.processBatch(batch, requestContext))
+      .compose(v -> cachingTransactionService.getBudgetTransactions(budget, requestContext));
+
+    vertxTestContext.assertComplete(future)
+      .onComplete(result -> {
+        assertThat(result.result(), hasSize(1));
+        verify(restClient, times(2)).get(anyString(), eq(TransactionCollection.class), eq(requestContext));
+        vertxTestContext.completeNow();
+      });
+  }
 }
@@ -55,6 +55,7 @@ import org.mockito.MockitoAnnotations;
 
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 
@@ -453,6 +454,33 @@ public class BudgetExpenseClassServiceTest {
       });
   }
 
+  @Test
+  void testUpdateBudgetExpenseClassesLinks_deletionProhibited_statusUpdatesRolledBack(VertxTestContext vertxTestContext) {
+    BudgetExpenseClass budgetExpenseClassToUpdate = getNewBudgetExpenseClass().withStatus(BudgetExpenseClass.Status.ACTIVE);
+    BudgetExpenseClass budgetExpenseClassToDelete = getNewBudgetExpenseClass().withStatus(BudgetExpenseClass.Status.ACTIVE);
+    sharedBudget.withStatusExpenseClasses(List.of(getNewStatusExpenseClass(budgetExpenseClassToUpdate.getExpenseClassId())
+      .withStatus(StatusExpenseClass.Status.INACTIVE)));
+    BudgetExpenseClassCollection budgetExpenseClassCollection = new BudgetExpenseClassCollection()
+      .withBudgetExpenseClasses(Arrays.asList(budgetExpenseClassToUpdate, budgetExpenseClassToDelete));
+
+    when(restClient.get(anyString(), any(), any())).thenReturn(succeededFuture(budgetExpenseClassCollection));
+    when(restClient.put(anyString(), any(), any())).thenReturn(succeededFuture(null));
+    when(transactionServiceMock.getBudgetTransactionsWithExpenseClasses(anyList(), any(), any())).thenReturn(succeededFuture(Collections.singletonList(new Transaction())));
+
+    Future<Void> future = budgetExpenseClassService.updateBudgetExpenseClassesLinks(sharedBudget, requestContextMock);
+
+    vertxTestContext.assertFailure(future)
+      .onComplete(result -> {
+        assertEquals(400, ((HttpException) result.cause()).getCode());
+        ArgumentCaptor<Object> putCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(restClient, times(2)).put(eq(resourceByIdPath(BUDGET_EXPENSE_CLASSES, budgetExpenseClassToUpdate.getId())), putCaptor.capture(), eq(requestContextMock));
+        assertEquals(BudgetExpenseClass.Status.INACTIVE, ((BudgetExpenseClass) putCaptor.getAllValues().get(0)).getStatus());
+        assertEquals(BudgetExpenseClass.Status.ACTIVE.value(), JsonObject.mapFrom(putCaptor.getAllValues().get(1)).getString("status"));
+        verify(restClient, never()).delete(anyString(), any());
+        vertxTestContext.completeNow();
+      });
+  }
+
   private BudgetExpenseClass getNewBudgetExpenseClass() {
     return new BudgetExpenseClass()
       .withId(UUID.randomUUID().toString())
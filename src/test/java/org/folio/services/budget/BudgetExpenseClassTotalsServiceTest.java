@@ -1,13 +1,16 @@
 package org.folio.services.budget;
 
 import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.util.BudgetUtils.EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES;
 import static org.folio.rest.util.TestUtils.assertQueryContains;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,6 +40,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 
@@ -123,8 +127,8 @@ public class BudgetExpenseClassTotalsServiceTest {
       pendingPayment3, payment1, payment2, credit, credit2);
 
     when(restClient.get(anyString(), any(), any())).thenReturn(succeededFuture(budget));
-    when(expenseClassServiceMock.getExpenseClassesByBudgetId(anyString(), any())).thenReturn(succeededFuture(expenseClasses));
-    when(transactionServiceMock.getBudgetTransactions(any(), any())).thenReturn(succeededFuture(transactions));
+    when(expenseClassServiceMock.getExpenseClassesByIds(anyList(), any())).thenReturn(succeededFuture(expenseClasses));
+    when(transactionServiceMock.getBudgetTransactions(any(), anyList(), any())).thenReturn(succeededFuture(transactions));
     when(budgetExpenseClassServiceMock.getBudgetExpenseClasses(anyString(), any())).thenReturn(succeededFuture(budgetExpenseClasses));
 
     Future<BudgetExpenseClassTotalsCollection> future = budgetExpenseClassTotalsService.getExpenseClassTotals(budget.getId(), requestContext);
@@ -132,8 +136,8 @@ public class BudgetExpenseClassTotalsServiceTest {
       .onComplete(result -> {
         var budgetExpenseClassTotalsCollection = result.result();
         verify(restClient).get(assertQueryContains(budget.getId()), eq(Budget.class), eq(requestContext));
-        verify(expenseClassServiceMock).getExpenseClassesByBudgetId(eq(budget.getId()), eq(requestContext));
-        verify(transactionServiceMock).getBudgetTransactions(eq(budget), eq(requestContext));
+        verify(expenseClassServiceMock).getExpenseClassesByIds(eq(List.of(expenseClass1.getId(), expenseClass2.getId())), eq(requestContext));
+        verify(transactionServiceMock).getBudgetTransactions(eq(budget), eq(EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES), eq(requestContext));
         verify(budgetExpenseClassServiceMock).getBudgetExpenseClasses(eq(budget.getId()), eq(requestContext));
 
         assertEquals(3, budgetExpenseClassTotalsCollection.getTotalRecords());
@@ -196,8 +200,8 @@ public class BudgetExpenseClassTotalsServiceTest {
     List<Transaction> transactions = Arrays.asList(payment, credit);
 
     when(restClient.get(anyString(), any(), any())).thenReturn(succeededFuture(budget));
-    when(expenseClassServiceMock.getExpenseClassesByBudgetId(anyString(), any())).thenReturn(succeededFuture(expenseClasses));
-    when(transactionServiceMock.getBudgetTransactions(any(), any())).thenReturn(succeededFuture(transactions));
+    when(expenseClassServiceMock.getExpenseClassesByIds(anyList(), any())).thenReturn(succeededFuture(expenseClasses));
+    when(transactionServiceMock.getBudgetTransactions(any(), anyList(), any())).thenReturn(succeededFuture(transactions));
     when(budgetExpenseClassServiceMock.getBudgetExpenseClasses(anyString(), any())).thenReturn(succeededFuture(budgetExpenseClasses));
 
     Future<BudgetExpenseClassTotalsCollection> future = budgetExpenseClassTotalsService.getExpenseClassTotals(budget.getId(), requestContext);
@@ -206,8 +210,8 @@ public class BudgetExpenseClassTotalsServiceTest {
         var budgetExpenseClassTotalsCollection = result.result();
 
         verify(restClient).get(assertQueryContains(budget.getId()), eq(Budget.class), eq(requestContext));
-        verify(expenseClassServiceMock).getExpenseClassesByBudgetId(assertQueryContains(budget.getId()), eq(requestContext));
-        verify(transactionServiceMock).getBudgetTransactions(eq(budget), eq(requestContext));
+        verify(expenseClassServiceMock).getExpenseClassesByIds(eq(List.of(expenseClass1.getId())), eq(requestContext));
+        verify(transactionServiceMock).getBudgetTransactions(eq(budget), eq(EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES), eq(requestContext));
         verify(budgetExpenseClassServiceMock).getBudgetExpenseClasses(assertQueryContains(budget.getId()), eq(requestContext));
 
         assertEquals(2, budgetExpenseClassTotalsCollection.getTotalRecords());
@@ -250,8 +254,8 @@ public class BudgetExpenseClassTotalsServiceTest {
     Transaction credit = buildTransaction(11d, Transaction.TransactionType.CREDIT, null);
 
     when(restClient.get(anyString(), any(), any())).thenReturn(succeededFuture(budget));
-    when(expenseClassServiceMock.getExpenseClassesByBudgetId(anyString(), any())).thenReturn(succeededFuture(new ArrayList<>()));
-    when(transactionServiceMock.getBudgetTransactions(any(), any())).thenReturn(succeededFuture(Collections.singletonList(credit)));
+    when(expenseClassServiceMock.getExpenseClassesByIds(anyList(), any())).thenReturn(succeededFuture(new ArrayList<>()));
+    when(transactionServiceMock.getBudgetTransactions(any(), anyList(), any())).thenReturn(succeededFuture(Collections.singletonList(credit)));
     when(budgetExpenseClassServiceMock.getBudgetExpenseClasses(anyString(), any())).thenReturn(succeededFuture(Collections.emptyList()));
 
     Future<BudgetExpenseClassTotalsCollection> future = budgetExpenseClassTotalsService.getExpenseClassTotals(budget.getId(), requestContext);
@@ -260,8 +264,8 @@ public class BudgetExpenseClassTotalsServiceTest {
       .onComplete(result -> {
         var budgetExpenseClassTotalsCollection = result.result();
         verify(restClient).get(assertQueryContains(budget.getId()), eq(Budget.class), eq(requestContext));
-        verify(expenseClassServiceMock).getExpenseClassesByBudgetId(assertQueryContains(budget.getId()), eq(requestContext));
-        verify(transactionServiceMock).getBudgetTransactions(eq(budget), eq(requestContext));
+        verify(expenseClassServiceMock, never()).getExpenseClassesByIds(anyList(), any());
+        verify(transactionServiceMock).getBudgetTransactions(eq(budget), eq(EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES), eq(requestContext));
         verify(budgetExpenseClassServiceMock).getBudgetExpenseClasses(assertQueryContains(budget.getId()), eq(requestContext));
 
         assertEquals(1, budgetExpenseClassTotalsCollection.getTotalRecords());
@@ -291,8 +295,8 @@ public class BudgetExpenseClassTotalsServiceTest {
     expenseClasses.add(expenseClass1);
     List<BudgetExpenseClass> budgetExpenseClasses = Collections.singletonList(budgetExpenseClass1);
     when(restClient.get(anyString(), any(), any())).thenReturn(succeededFuture(budget));
-    when(expenseClassServiceMock.getExpenseClassesByBudgetId(anyString(), any())).thenReturn(succeededFuture(expenseClasses));
-    when(transactionServiceMock.getBudgetTransactions(any(), any())).thenReturn(succeededFuture(Collections.emptyList()));
+    when(expenseClassServiceMock.getExpenseClassesByIds(anyList(), any())).thenReturn(succeededFuture(expenseClasses));
+    when(transactionServiceMock.getBudgetTransactions(any(), anyList(), any())).thenReturn(succeededFuture(Collections.emptyList()));
     when(budgetExpenseClassServiceMock.getBudgetExpenseClasses(anyString(), any())).thenReturn(succeededFuture(budgetExpenseClasses));
 
     var future = budgetExpenseClassTotalsService.getExpenseClassTotals(budget.getId(), requestContext);
@@ -301,8 +305,8 @@ public class BudgetExpenseClassTotalsServiceTest {
       .onComplete(result -> {
         var budgetExpenseClassTotalsCollection = result.result();
         verify(restClient).get(assertQueryContains(budget.getId()), eq(Budget.class), eq(requestContext));
-        verify(expenseClassServiceMock).getExpenseClassesByBudgetId(assertQueryContains(budget.getId()), eq(requestContext));
-        verify(transactionServiceMock).getBudgetTransactions(eq(budget), eq(requestContext));
+        verify(expenseClassServiceMock).getExpenseClassesByIds(eq(List.of(expenseClass1.getId())), eq(requestContext));
+        verify(transactionServiceMock).getBudgetTransactions(eq(budget), eq(EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES), eq(requestContext));
         verify(budgetExpenseClassServiceMock).getBudgetExpenseClasses(assertQueryContains(budget.getId()), eq(requestContext));
 
         assertEquals(2, budgetExpenseClassTotalsCollection.getTotalRecords());
@@ -340,6 +344,35 @@ public class BudgetExpenseClassTotalsServiceTest {
       });
   }
 
+  @Test
+  void getExpenseClassTotalsFetchesExpenseClassesWhileBudgetIsLoading(VertxTestContext vertxTestContext) {
+    Promise<Budget> budgetPromise = Promise.promise();
+    Transaction payment = buildTransaction(11d, Transaction.TransactionType.PAYMENT, expenseClass1.getId());
+    budget.withExpenditures(11d).withCredits(0d);
+    when(restClient.get(anyString(), eq(Budget.class), any())).thenReturn(budgetPromise.future());
+    when(budgetExpenseClassServiceMock.getBudgetExpenseClasses(anyString(), any()))
+      .thenReturn(succeededFuture(Collections.singletonList(budgetExpenseClass1)));
+    when(expenseClassServiceMock.getExpenseClassesByIds(anyList(), any())).thenReturn(succeededFuture(List.of(expenseClass1)));
+    when(transactionServiceMock.getBudgetTransactions(any(), anyList(), any())).thenReturn(succeededFuture(List.of(payment)));
+
+    var future = budgetExpenseClassTotalsService.getExpenseClassTotals(budget.getId(), requestContext);
+
+    verify(budgetExpenseClassServiceMock).getBudgetExpenseClasses(eq(budget.getId()), eq(requestContext));
+    verify(expenseClassServiceMock).getExpenseClassesByIds(eq(List.of(expenseClass1.getId())), eq(requestContext));
+    verify(transactionServiceMock, never()).getBudgetTransactions(any(), anyList(), any());
+    budgetPromise.complete(budget);
+
+    vertxTestContext.assertComplete(future)
+      .onComplete(result -> {
+        BudgetExpenseClassTotal expenseClassTotal = result.result().getBudgetExpenseClassTotals()
+          .stream().filter(totals -> totals.getId().equals(expenseClass1.getId()))
+          .findFirst().orElseThrow();
+        assertEquals(11d, expenseClassTotal.getExpended());
+        assertEquals(100d, expenseClassTotal.getPercentageExpended());
+        vertxTestContext.completeNow();
+      });
+  }
+
   private Transaction buildTransaction(double amount, Transaction.TransactionType type, String expenseClassId) {
     return new Transaction()
       .withAmount(amount)
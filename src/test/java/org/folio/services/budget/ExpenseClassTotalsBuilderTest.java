@@ -0,0 +1,65 @@
+package org.folio.services.budget;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.models.ExpenseClassUnassigned;
+import org.folio.rest.jaxrs.model.ExpenseClass;
+import org.folio.rest.jaxrs.model.Transaction;
+import org.folio.services.budget.ExpenseClassTotalsBuilder.ExpenseClassTotals;
+import org.junit.jupiter.api.Test;
+
+public class ExpenseClassTotalsBuilderTest {
+
+  @Test
+  void shouldAccumulateTotalsPerExpenseClassInCents() {
+    String expenseClassId = UUID.randomUUID().toString();
+    ExpenseClass expenseClass = new ExpenseClass().withId(expenseClassId);
+    ExpenseClass unassigned = new ExpenseClass().withId(ExpenseClassUnassigned.ID.getValue());
+    Transaction unassignedPayment = buildTransaction(Transaction.TransactionType.PAYMENT, 0.3, null);
+    List<Transaction> transactions = List.of(
+      buildTransaction(Transaction.TransactionType.PAYMENT, 0.1, expenseClassId),
+      buildTransaction(Transaction.TransactionType.PAYMENT, 0.2, expenseClassId),
+      buildTransaction(Transaction.TransactionType.CREDIT, 0.05, expenseClassId),
+      buildTransaction(Transaction.TransactionType.ENCUMBRANCE, 10.01, expenseClassId),
+      buildTransaction(Transaction.TransactionType.PENDING_PAYMENT, 2.5, expenseClassId),
+      unassignedPayment,
+      buildTransaction(Transaction.TransactionType.PAYMENT, 1d, UUID.randomUUID().toString()));
+
+    ExpenseClassTotalsBuilder builder = new ExpenseClassTotalsBuilder(List.of(expenseClass, unassigned))
+      .withTransactions(transactions);
+
+    assertEquals(1.6, builder.getExpendedGrandTotal());
+    assertEquals(0.05, builder.getCreditedGrandTotal());
+    ExpenseClassTotals totals = builder.build(expenseClassId, 1.6, 0.05);
+    assertEquals(0.3, totals.expended());
+    assertEquals(18.75, totals.expendedPercentage());
+    assertEquals(0.05, totals.credited());
+    assertEquals(100d, totals.creditedPercentage());
+    assertEquals(10.01, totals.encumbered());
+    assertEquals(2.5, totals.awaitingPayment());
+    assertEquals(0.3, builder.build(unassigned.getId(), 1.6, 0.05).expended());
+    assertNull(unassignedPayment.getExpenseClassId());
+  }
+
+  @Test
+  void shouldReturnZeroTotalsForExpenseClassWithoutTransactions() {
+    ExpenseClass expenseClass = new ExpenseClass().withId(UUID.randomUUID().toString());
+    ExpenseClassTotalsBuilder builder = new ExpenseClassTotalsBuilder(List.of(expenseClass)).withTransactions(List.of());
+
+    ExpenseClassTotals totals = builder.build(expenseClass.getId(), 0d, 0d);
+
+    assertEquals(new ExpenseClassTotals(0d, 0d, 0d, 0d, 0d, 0d), totals);
+  }
+
+  private Transaction buildTransaction(Transaction.TransactionType transactionType, double amount, String expenseClassId) {
+    return new Transaction()
+      .withTransactionType(transactionType)
+      .withAmount(amount)
+      .withCurrency("USD")
+      .withExpenseClassId(expenseClassId);
+  }
+}
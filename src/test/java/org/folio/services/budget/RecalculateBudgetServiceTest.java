@@ -88,13 +88,13 @@ public class RecalculateBudgetServiceTest {
 
     when(budgetServiceMock.getBudgetById(anyString(), any())).thenReturn(succeededFuture(BudgetUtils.convertToSharedBudget(budget)));
     when(budgetServiceMock.updateBudgetWithAmountFields(any(), any())).thenReturn(succeededFuture());
-    when(transactionServiceMock.getBudgetTransactions(any(), any())).thenReturn(succeededFuture(transactions));
+    when(transactionServiceMock.getBudgetTransactionsBypassingCache(any(), any())).thenReturn(succeededFuture(transactions));
 
     Future<Void> future = recalculateBudgetService.recalculateBudget(budget.getId(), requestContext);
     vertxTestContext.assertComplete(future)
       .onSuccess(result -> {
         verify(budgetServiceMock).getBudgetById(eq(budget.getId()), eq(requestContext));
-        verify(transactionServiceMock).getBudgetTransactions(eq(budget), eq(requestContext));
+        verify(transactionServiceMock).getBudgetTransactionsBypassingCache(eq(budget), eq(requestContext));
         verify(budgetServiceMock).updateBudgetWithAmountFields(budgetCaptor.capture(), eq(requestContext));
 
         SharedBudget capturedBudget = budgetCaptor.getValue();
@@ -120,13 +120,13 @@ public class RecalculateBudgetServiceTest {
 
     when(budgetServiceMock.getBudgetById(anyString(), any())).thenReturn(succeededFuture(BudgetUtils.convertToSharedBudget(budget)));
     when(budgetServiceMock.updateBudgetWithAmountFields(any(), any())).thenReturn(succeededFuture());
-    when(transactionServiceMock.getBudgetTransactions(any(), any())).thenReturn(succeededFuture(transactions));
+    when(transactionServiceMock.getBudgetTransactionsBypassingCache(any(), any())).thenReturn(succeededFuture(transactions));
 
     Future<Void> future = recalculateBudgetService.recalculateBudget(budget.getId(), requestContext);
     vertxTestContext.assertComplete(future)
       .onSuccess(result -> {
         verify(budgetServiceMock).getBudgetById(eq(budget.getId()), eq(requestContext));
-        verify(transactionServiceMock).getBudgetTransactions(eq(budget), eq(requestContext));
+        verify(transactionServiceMock).getBudgetTransactionsBypassingCache(eq(budget), eq(requestContext));
         verify(budgetServiceMock).updateBudgetWithAmountFields(budgetCaptor.capture(), eq(requestContext));
 
         SharedBudget capturedBudget = budgetCaptor.getValue();
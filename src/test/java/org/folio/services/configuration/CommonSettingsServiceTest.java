@@ -4,6 +4,7 @@ import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.exception.HttpException;
 import org.folio.util.CopilotGenerated;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,8 +16,11 @@ import static org.folio.services.configuration.CommonSettingsService.DEFAULT_CUR
 import static org.folio.services.configuration.CommonSettingsService.DEFAULT_TIMEZONE;
 import static org.folio.services.configuration.CommonSettingsService.TIMEZONE_SETTING;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @CopilotGenerated(model = "o3-mini")
@@ -115,4 +119,39 @@ public class CommonSettingsServiceTest {
     String result = commonSettingsService.getSystemTimeZone(requestContext).result();
     assertEquals(DEFAULT_TIMEZONE, result);
   }
+
+  @Test
+  void localeSettingsAreLoadedOncePerTenant() {
+    var localeResponse = new JsonObject()
+      .put(CURRENCY_SETTING, "EUR")
+      .put(TIMEZONE_SETTING, "Europe/Berlin");
+
+    when(restClient.getAsJsonObject(anyString(), eq(requestContext)))
+      .thenReturn(Future.succeededFuture(localeResponse));
+
+    assertEquals("Europe/Berlin", commonSettingsService.getSystemTimeZone(requestContext).result());
+    assertEquals("EUR", commonSettingsService.getSystemCurrency(requestContext).result());
+    verify(restClient, times(1)).getAsJsonObject(anyString(), eq(requestContext));
+  }
+
+  @Test
+  void localeSettingsNotFoundAreCachedAsDefaults() {
+    when(restClient.getAsJsonObject(anyString(), eq(requestContext)))
+      .thenReturn(Future.failedFuture(new HttpException(404, "Not found")));
+
+    assertEquals(DEFAULT_TIMEZONE, commonSettingsService.getSystemTimeZone(requestContext).result());
+    assertEquals(DEFAULT_CURRENCY, commonSettingsService.getSystemCurrency(requestContext).result());
+    verify(restClient, times(1)).getAsJsonObject(anyString(), eq(requestContext));
+  }
+
+  @Test
+  void localeSettingsFailureIsNotCached() {
+    when(restClient.getAsJsonObject(anyString(), eq(requestContext)))
+      .thenReturn(Future.failedFuture(new HttpException(500, "Internal error")))
+      .thenReturn(Future.succeededFuture(new JsonObject().put(CURRENCY_SETTING, "GBP")));
+
+    assertTrue(commonSettingsService.getSystemCurrency(requestContext).failed());
+    assertEquals("GBP", commonSettingsService.getSystemCurrency(requestContext).result());
+    verify(restClient, times(2)).getAsJsonObject(anyString(), eq(requestContext));
+  }
 }
@@ -0,0 +1,198 @@
+package org.folio.services.financedata;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.util.TestUtils.assertQueryContains;
+import static org.folio.services.protection.AcqUnitConstants.NO_FD_FUND_UNIT_ASSIGNED_CQL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import org.folio.rest.core.RestClient;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.exception.HttpException;
+import org.folio.rest.jaxrs.model.FyFinanceData;
+import org.folio.rest.jaxrs.model.FyFinanceDataCollection;
+import org.folio.services.protection.AcqUnitsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+@ExtendWith(VertxExtension.class)
+public class FinanceDataExportServiceTest {
+
+  private static final String FISCAL_YEAR_ID = UUID.randomUUID().toString();
+  private static final int PAGE_SIZE = 2;
+
+  @Mock private RestClient restClient;
+  @Mock private AcqUnitsService acqUnitsService;
+
+  private FinanceDataExportService financeDataExportService;
+  private RequestContext requestContext;
+  private AutoCloseable closeable;
+
+  @BeforeEach
+  void initMocks() {
+    closeable = MockitoAnnotations.openMocks(this);
+    financeDataExportService = new FinanceDataExportService(restClient, acqUnitsService, PAGE_SIZE);
+    requestContext = new RequestContext(Vertx.vertx().getOrCreateContext(), new HashMap<>());
+    when(acqUnitsService.buildAcqUnitsCqlClauseForFinanceData(any())).thenReturn(succeededFuture(NO_FD_FUND_UNIT_ASSIGNED_CQL));
+  }
+
+  @AfterEach
+  void closeMocks() throws Exception {
+    closeable.close();
+  }
+
+  @Test
+  void positive_exportFinanceData_WritesCsvPagesWithKeysetPagination(VertxTestContext vertxTestContext) {
+    var first = buildFinanceData("00000000-0000-4000-8000-000000000001", "FUND1", "Fund, first");
+    var second = buildFinanceData("00000000-0000-4000-8000-000000000002", "FUND2", "Fund \"second\"");
+    var third = buildFinanceData("00000000-0000-4000-8000-000000000003", "FUND3", "Fund third");
+    var target = new CollectingWriteStream(false);
+
+    when(restClient.get(anyString(), eq(FyFinanceDataCollection.class), any()))
+      .thenReturn(succeededFuture(new FyFinanceDataCollection().withFyFinanceData(List.of(first, second))))
+      .thenReturn(succeededFuture(new FyFinanceDataCollection().withFyFinanceData(List.of(third))));
+
+    var future = financeDataExportService.exportFinanceData("fiscalYearId==" + FISCAL_YEAR_ID + " sortBy fundName",
+      FinanceDataExportFormat.CSV, target, requestContext);
+    vertxTestContext.assertComplete(future)
+      .onComplete(ar -> {
+        var lines = target.content.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertEquals(String.join(",", FinanceDataExportFormat.CSV_COLUMNS), lines[0]);
+        assertEquals(FISCAL_YEAR_ID + ",,,," + first.getFundId() + ",FUND1,\"Fund, first\",,,,,,,,,,", lines[1]);
+        assertEquals(FISCAL_YEAR_ID + ",,,," + second.getFundId() + ",FUND2,\"Fund \"\"second\"\"\",,,,,,,,,,", lines[2]);
+        verify(acqUnitsService).buildAcqUnitsCqlClauseForFinanceData(requestContext);
+        verify(restClient, times(2)).get(assertQueryContains("sortBy fundId/sort.ascending fiscalYearId/sort.ascending"),
+          eq(FyFinanceDataCollection.class), eq(requestContext));
+        verify(restClient).get(assertQueryContains("(fundId > \"" + second.getFundId() + "\" or (fundId == \""
+          + second.getFundId() + "\" and fiscalYearId > \"" + FISCAL_YEAR_ID + "\"))"), eq(FyFinanceDataCollection.class), eq(requestContext));
+        verify(restClient, times(0)).get(assertQueryContains("sortBy fundName"), eq(FyFinanceDataCollection.class), any());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void positive_exportFinanceData_WritesNothingForEmptyNdjsonExport(VertxTestContext vertxTestContext) {
+    var target = new CollectingWriteStream(false);
+
+    when(restClient.get(anyString(), eq(FyFinanceDataCollection.class), any()))
+      .thenReturn(succeededFuture(new FyFinanceDataCollection().withFyFinanceData(List.of())));
+
+    var future = financeDataExportService.exportFinanceData(null, FinanceDataExportFormat.NDJSON, target, requestContext);
+    vertxTestContext.assertComplete(future)
+      .onComplete(ar -> {
+        assertEquals(0, target.content.length());
+        verify(restClient).get(assertQueryContains(NO_FD_FUND_UNIT_ASSIGNED_CQL), eq(FyFinanceDataCollection.class), eq(requestContext));
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void positive_exportFinanceData_ReadsNextPageWhenTargetIsDrained(VertxTestContext vertxTestContext) {
+    var first = buildFinanceData(UUID.randomUUID().toString(), "FUND1", "Fund 1");
+    var second = buildFinanceData(UUID.randomUUID().toString(), "FUND2", "Fund 2");
+    var target = new CollectingWriteStream(true);
+
+    when(restClient.get(anyString(), eq(FyFinanceDataCollection.class), any()))
+      .thenReturn(succeededFuture(new FyFinanceDataCollection().withFyFinanceData(List.of(first, second))))
+      .thenReturn(succeededFuture(new FyFinanceDataCollection().withFyFinanceData(List.of())));
+
+    var future = financeDataExportService.exportFinanceData(null, FinanceDataExportFormat.NDJSON, target, requestContext);
+    assertFalse(future.isComplete());
+    verify(restClient).get(anyString(), eq(FyFinanceDataCollection.class), any());
+
+    target.drain();
+    vertxTestContext.assertComplete(future)
+      .onComplete(ar -> {
+        assertEquals(2, target.content.toString().split("\n").length);
+        verify(restClient, times(2)).get(anyString(), eq(FyFinanceDataCollection.class), any());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void negative_exportFormat_UnsupportedFormat() {
+    var exception = assertThrows(HttpException.class, () -> FinanceDataExportFormat.fromValue("xlsx"));
+    assertEquals(400, exception.getCode());
+    assertEquals(FinanceDataExportFormat.CSV, FinanceDataExportFormat.fromValue(null));
+    assertEquals(FinanceDataExportFormat.NDJSON, FinanceDataExportFormat.fromValue("NDJSON"));
+  }
+
+  private FyFinanceData buildFinanceData(String fundId, String fundCode, String fundName) {
+    return new FyFinanceData()
+      .withFiscalYearId(FISCAL_YEAR_ID)
+      .withFundId(fundId)
+      .withFundCode(fundCode)
+      .withFundName(fundName);
+  }
+
+  private static class CollectingWriteStream implements WriteStream<Buffer> {
+    private final Buffer content = Buffer.buffer();
+    private boolean writeQueueFull;
+    private Handler<Void> drainHandler;
+
+    private CollectingWriteStream(boolean writeQueueFull) {
+      this.writeQueueFull = writeQueueFull;
+    }
+
+    private void drain() {
+      writeQueueFull = false;
+      drainHandler.handle(null);
+    }
+
+    @Override
+    public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public Future<Void> write(Buffer data) {
+      content.appendBuffer(data);
+      return succeededFuture();
+    }
+
+    @Override
+    public Future<Void> end() {
+      return succeededFuture();
+    }
+
+    @Override
+    public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+      return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+      return writeQueueFull;
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+      this.drainHandler = handler;
+      return this;
+    }
+  }
+}
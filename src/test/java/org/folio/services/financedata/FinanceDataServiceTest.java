@@ -3,6 +3,7 @@ package org.folio.services.financedata;
 import static io.vertx.core.Future.failedFuture;
 import static io.vertx.core.Future.succeededFuture;
 import static org.folio.HttpStatus.HTTP_NOT_FOUND;
+import static org.folio.rest.RestConstants.FINANCE_DATA_CHUNK_SIZE;
 import static org.folio.rest.util.TestUtils.assertQueryContains;
 import static org.folio.services.protection.AcqUnitConstants.NO_ACQ_UNIT_ASSIGNED_CQL;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -30,7 +31,9 @@ import java.util.stream.Stream;
 
 import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import lombok.SneakyThrows;
@@ -51,6 +54,7 @@ import org.folio.services.budget.BudgetService;
 import org.folio.services.fiscalyear.FiscalYearService;
 import org.folio.services.fund.FundService;
 import org.folio.services.fund.FundUpdateLogService;
+import org.folio.services.fund.FundUpdateLogWriter;
 import org.folio.services.ledger.LedgerService;
 import org.folio.services.protection.AcqUnitsService;
 import org.junit.jupiter.api.AfterEach;
@@ -60,7 +64,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -80,7 +83,7 @@ public class FinanceDataServiceTest {
   @Mock private FundService fundService;
   @Mock private BudgetService budgetService;
   @Mock private FinanceDataValidator financeDataValidator;
-  @InjectMocks private FinanceDataService financeDataService;
+  private FinanceDataService financeDataService;
 
   private RequestContext requestContextMock;
   private AutoCloseable closeable;
@@ -88,6 +91,8 @@ public class FinanceDataServiceTest {
   @BeforeEach
   void initMocks() {
     closeable = MockitoAnnotations.openMocks(this);
+    financeDataService = new FinanceDataService(restClient, ledgerService, acqUnitsService, fundUpdateLogService,
+      financeDataValidator, new FundUpdateLogWriter(fundUpdateLogService, 0, 0));
     Context context = Vertx.vertx().getOrCreateContext();
     Map<String, String> okapiHeaders = new HashMap<>();
     okapiHeaders.put("x-okapi-url", "http://localhost:9130"); // Ensure this URL is correct
@@ -244,6 +249,134 @@ public class FinanceDataServiceTest {
       });
   }
 
+  @Test
+  void positive_testPutFinanceData_UpdatesFinanceDataInChunks(VertxTestContext vertxTestContext) {
+    var financeData = Stream.generate(this::createValidFyFinanceData).limit(FINANCE_DATA_CHUNK_SIZE + 1).toList();
+    var financeDataCollection = new FyFinanceDataCollection()
+      .withFyFinanceData(financeData)
+      .withUpdateType(FyFinanceDataCollection.UpdateType.COMMIT)
+      .withTotalRecords(financeData.size());
+    var ledger = new Ledger()
+      .withId(LEDGER_ID)
+      .withAcqUnitIds(List.of());
+
+    when(ledgerService.retrieveLedgerById(eq(LEDGER_ID), any())).thenReturn(succeededFuture(ledger));
+    when(restClient.put(anyString(), any(FyFinanceDataCollection.class), eq(FyFinanceDataCollection.class), any()))
+      .thenAnswer(invocation -> succeededFuture(invocation.getArgument(1)));
+    when(fundUpdateLogService.createFundUpdateLog(any(), any())).thenReturn(succeededFuture());
+    when(fundUpdateLogService.getJobNumber(any())).thenReturn(succeededFuture(new JobNumber().withSequenceNumber("1")));
+    when(fundUpdateLogService.updateFundUpdateLog(any(), any())).thenReturn(succeededFuture());
+    when(financeDataValidator.compareWithExistingData(any(), any())).thenReturn(succeededFuture());
+
+    var future = financeDataService.putFinanceData(financeDataCollection, requestContextMock);
+    vertxTestContext.assertComplete(future)
+      .onComplete(result -> {
+        assertEquals(financeData.size(), result.result().getFyFinanceData().size());
+        verify(restClient).put(anyString(), argThat((FyFinanceDataCollection collection) ->
+          collection.getFyFinanceData().size() == FINANCE_DATA_CHUNK_SIZE), eq(FyFinanceDataCollection.class), any());
+        verify(restClient).put(anyString(), argThat((FyFinanceDataCollection collection) ->
+          collection.getFyFinanceData().size() == 1), eq(FyFinanceDataCollection.class), any());
+        verify(fundUpdateLogService, never()).getFundUpdateLogById(any(), any());
+        verify(fundUpdateLogService).updateFundUpdateLog(argThat(log ->
+          log.getStatus() == FundUpdateLog.Status.IN_PROGRESS && hasProcessedRecords(log, FINANCE_DATA_CHUNK_SIZE)), any());
+        verify(fundUpdateLogService).updateFundUpdateLog(argThat(log ->
+          log.getStatus() == FundUpdateLog.Status.COMPLETED && hasProcessedRecords(log, financeData.size())), any());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void negative_testPutFinanceData_LogsProcessedRecordsOfAppliedChunksOnError(VertxTestContext vertxTestContext) {
+    var financeData = Stream.generate(this::createValidFyFinanceData).limit(FINANCE_DATA_CHUNK_SIZE + 1).toList();
+    var financeDataCollection = new FyFinanceDataCollection()
+      .withFyFinanceData(financeData)
+      .withUpdateType(FyFinanceDataCollection.UpdateType.COMMIT)
+      .withTotalRecords(financeData.size());
+    var ledger = new Ledger()
+      .withId(LEDGER_ID)
+      .withAcqUnitIds(List.of());
+
+    when(ledgerService.retrieveLedgerById(eq(LEDGER_ID), any())).thenReturn(succeededFuture(ledger));
+    when(restClient.put(anyString(), any(FyFinanceDataCollection.class), eq(FyFinanceDataCollection.class), any()))
+      .thenAnswer(invocation -> succeededFuture(invocation.getArgument(1)))
+      .thenReturn(failedFuture(new HttpException(500, "Internal server error")));
+    when(fundUpdateLogService.createFundUpdateLog(any(), any())).thenReturn(succeededFuture());
+    when(fundUpdateLogService.getJobNumber(any())).thenReturn(succeededFuture(new JobNumber().withSequenceNumber("1")));
+    when(fundUpdateLogService.updateFundUpdateLog(any(), any())).thenReturn(succeededFuture());
+    when(financeDataValidator.compareWithExistingData(any(), any())).thenReturn(succeededFuture());
+
+    var future = financeDataService.putFinanceData(financeDataCollection, requestContextMock);
+    vertxTestContext.assertFailure(future)
+      .onComplete(result -> {
+        // the first chunk stays applied, the log tells from which row the update can be resumed
+        verify(fundUpdateLogService).updateFundUpdateLog(argThat(log ->
+          log.getStatus() == FundUpdateLog.Status.ERROR && hasProcessedRecords(log, FINANCE_DATA_CHUNK_SIZE)), any());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void positive_testPutFinanceDataAsync_ReturnsLogBeforeUpdateIsFinished(VertxTestContext vertxTestContext) {
+    var financeDataCollection = new FyFinanceDataCollection()
+      .withFyFinanceData(List.of(createValidFyFinanceData()))
+      .withUpdateType(FyFinanceDataCollection.UpdateType.COMMIT)
+      .withTotalRecords(1);
+    var ledger = new Ledger()
+      .withId(LEDGER_ID)
+      .withAcqUnitIds(List.of());
+    Promise<FyFinanceDataCollection> storageUpdate = Promise.promise();
+
+    when(ledgerService.retrieveLedgerById(eq(LEDGER_ID), any())).thenReturn(succeededFuture(ledger));
+    when(restClient.put(anyString(), any(), any(), any())).thenReturn(storageUpdate.future());
+    when(fundUpdateLogService.createFundUpdateLog(any(), any()))
+      .thenAnswer(invocation -> succeededFuture(invocation.getArgument(0)));
+    when(fundUpdateLogService.getFundUpdateLogById(any(), any())).thenReturn(succeededFuture(new FundUpdateLog()));
+    when(fundUpdateLogService.getJobNumber(any())).thenReturn(succeededFuture(new JobNumber().withSequenceNumber("1")));
+    when(fundUpdateLogService.updateFundUpdateLog(any(), any())).thenReturn(succeededFuture());
+    when(financeDataValidator.compareWithExistingData(any(), any())).thenReturn(succeededFuture());
+
+    var future = financeDataService.putFinanceDataAsync(financeDataCollection, requestContextMock);
+    vertxTestContext.assertComplete(future)
+      .onComplete(result -> {
+        assertEquals(FundUpdateLog.Status.IN_PROGRESS, result.result().getStatus());
+        verify(restClient).put(anyString(), any(), any(), any());
+        verify(fundUpdateLogService, never()).updateFundUpdateLog(any(), any());
+
+        storageUpdate.complete(financeDataCollection);
+        verify(fundUpdateLogService).updateFundUpdateLog(argThat(log ->
+          log.getStatus() == FundUpdateLog.Status.IN_PROGRESS && hasProcessedRecords(log, 1)
+        ), eq(requestContextMock));
+        verify(fundUpdateLogService).updateFundUpdateLog(argThat(log ->
+          log.getStatus() == FundUpdateLog.Status.COMPLETED
+        ), eq(requestContextMock));
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void negative_testPutFinanceDataAsync_NotStartedWhenComparisonFails(VertxTestContext vertxTestContext) {
+    var financeDataCollection = new FyFinanceDataCollection()
+      .withFyFinanceData(List.of(createValidFyFinanceData()))
+      .withUpdateType(FyFinanceDataCollection.UpdateType.COMMIT)
+      .withTotalRecords(1);
+
+    when(financeDataValidator.compareWithExistingData(any(), any()))
+      .thenReturn(failedFuture(new HttpException(422, "Fund ID not found")));
+
+    var future = financeDataService.putFinanceDataAsync(financeDataCollection, requestContextMock);
+    vertxTestContext.assertFailure(future)
+      .onComplete(result -> {
+        assertEquals(422, ((HttpException) result.cause()).getCode());
+        verify(fundUpdateLogService, never()).createFundUpdateLog(any(), any());
+        verify(restClient, never()).put(anyString(), any(), any(), any());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  private static boolean hasProcessedRecords(FundUpdateLog fundUpdateLog, int processedRecords) {
+    return Objects.equals(fundUpdateLog.getJobDetails().getAdditionalProperties().get("processedRecords"), processedRecords);
+  }
+
   private static Stream<Arguments> provideTestParameters() {
     return Stream.of(
       arguments("Test Worksheet", "Test Worksheet"),
@@ -328,7 +461,7 @@ public class FinanceDataServiceTest {
 
     when(fundUpdateLogService.getFundUpdateLogById(eq(fundUpdateLogId), eq(requestContextMock)))
       .thenReturn(succeededFuture(existingLog));
-    when(fundUpdateLogService.updateFundUpdateLog(eq(expectedUpdatedLog), eq(requestContextMock)))
+    when(fundUpdateLogService.updateFundUpdateLog(any(), eq(requestContextMock)))
       .thenReturn(succeededFuture());
 
     var updateLogsMethod = FinanceDataService.class.getDeclaredMethod("updateLogs", String.class, FundUpdateLog.Status.class,
@@ -340,7 +473,7 @@ public class FinanceDataServiceTest {
     verify(fundUpdateLogService).updateFundUpdateLog(argThat(log ->
       log.getId().equals(fundUpdateLogId) &&
         log.getStatus() == FundUpdateLog.Status.COMPLETED &&
-        log.getJobDetails().getAdditionalProperties().get("fyFinanceData").equals(updateFdCollection.getFyFinanceData())
+        JsonObject.mapFrom(log).equals(JsonObject.mapFrom(expectedUpdatedLog))
     ), eq(requestContextMock));
 
     vertxTestContext.completeNow();
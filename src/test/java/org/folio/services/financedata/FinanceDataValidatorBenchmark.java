@@ -0,0 +1,73 @@
+package org.folio.services.financedata;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.jaxrs.model.Fund;
+import org.folio.rest.jaxrs.model.FyFinanceData;
+import org.folio.rest.jaxrs.model.FyFinanceDataCollection;
+import org.folio.services.budget.BudgetService;
+import org.folio.services.fund.FundService;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Manual benchmark of {@link FinanceDataValidator#validateFinanceDataCollection(FyFinanceDataCollection, String)}
+ * on a synthetic worksheet. It is not a part of {@code ApiTestSuite}, run it with
+ * {@code mvn test -Dtest=FinanceDataValidatorBenchmark}.
+ */
+public class FinanceDataValidatorBenchmark {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final String FISCAL_YEAR_ID = UUID.randomUUID().toString();
+  private static final String LEDGER_ID = UUID.randomUUID().toString();
+  private static final int WARMUP_ITERATIONS = 3;
+  private static final int MEASURED_ITERATIONS = 5;
+
+  @ParameterizedTest
+  @ValueSource(ints = {1_000, 10_000, 50_000})
+  void validateFinanceDataCollection(int rowsCount) {
+    var validator = new FinanceDataValidator(mock(FundService.class), mock(BudgetService.class));
+    var collection = buildCollection(rowsCount);
+
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      validator.validateFinanceDataCollection(collection, FISCAL_YEAR_ID);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      validator.validateFinanceDataCollection(collection, FISCAL_YEAR_ID);
+    }
+    long averageMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / MEASURED_ITERATIONS;
+    logger.info("validateFinanceDataCollection:: {} rows: {} ms per validation", rowsCount, averageMillis);
+  }
+
+  private FyFinanceDataCollection buildCollection(int rowsCount) {
+    List<FyFinanceData> financeData = new ArrayList<>(rowsCount);
+    for (int i = 0; i < rowsCount; i++) {
+      financeData.add(new FyFinanceData()
+        .withFiscalYearId(FISCAL_YEAR_ID)
+        .withLedgerId(LEDGER_ID)
+        .withFundId(UUID.randomUUID().toString())
+        .withFundCode("FUND" + i)
+        .withFundName("Fund " + i)
+        .withFundStatus(Fund.FundStatus.ACTIVE.value())
+        .withBudgetId(UUID.randomUUID().toString())
+        .withBudgetName("Budget " + i)
+        .withBudgetStatus("Active")
+        .withBudgetInitialAllocation(100.0)
+        .withBudgetAllowableExpenditure(100.0)
+        .withBudgetAllowableEncumbrance(100.0));
+    }
+    return new FyFinanceDataCollection()
+      .withFyFinanceData(financeData)
+      .withUpdateType(FyFinanceDataCollection.UpdateType.PREVIEW)
+      .withTotalRecords(rowsCount);
+  }
+}
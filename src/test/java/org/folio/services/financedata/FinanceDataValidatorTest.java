@@ -1,6 +1,7 @@
 package org.folio.services.financedata;
 
 import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.RestConstants.FINANCE_DATA_CHUNK_SIZE;
 import static org.folio.rest.util.ErrorCodes.BUDGET_STATUS_INCORRECT;
 import static org.folio.rest.util.ErrorCodes.FUND_STATUS_INCORRECT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -8,8 +9,12 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -18,6 +23,7 @@ import java.util.UUID;
 import java.util.stream.Stream;
 
 import io.vertx.core.Context;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -57,6 +63,8 @@ public class FinanceDataValidatorTest {
   private FundService fundService;
   @Mock
   private BudgetService budgetService;
+  @Mock
+  private FinanceDataPreviewCache previewCache;
 
   private RequestContext requestContextMock;
   private AutoCloseable closeable;
@@ -85,8 +93,8 @@ public class FinanceDataValidatorTest {
       .withFyFinanceData(Collections.singletonList(financeData))
       .withUpdateType(FyFinanceDataCollection.UpdateType.PREVIEW);
 
-    when(fundService.getFundsBatch(any(), any())).thenReturn(succeededFuture(createValidFund()));
-    when(budgetService.getBudgetsBatch(any(), any())).thenReturn(succeededFuture(createValidBudget()));
+    when(fundService.getFundsByIds(any(), any())).thenReturn(succeededFuture(createValidFund().getFunds()));
+    when(budgetService.getBudgetsByIds(any(), any())).thenReturn(succeededFuture(createValidBudget().getBudgets()));
 
     financeDataValidator.validateFinanceDataCollection(financeDataCollection, FISCAL_YEAR_ID);
     vertxTestContext.completeNow();
@@ -101,8 +109,8 @@ public class FinanceDataValidatorTest {
       .withUpdateType(FyFinanceDataCollection.UpdateType.COMMIT)
       .withTotalRecords(2);
 
-    when(fundService.getFundsBatch(any(), any())).thenReturn(succeededFuture(createValidFund()));
-    when(budgetService.getBudgetsBatch(any(), any())).thenReturn(succeededFuture(createValidBudget()));
+    when(fundService.getFundsByIds(any(), any())).thenReturn(succeededFuture(createValidFund().getFunds()));
+    when(budgetService.getBudgetsByIds(any(), any())).thenReturn(succeededFuture(createValidBudget().getBudgets()));
 
     var exception = assertThrows(HttpException.class,
       () -> financeDataValidator.validateFinanceDataCollection(collection, FISCAL_YEAR_ID));
@@ -124,8 +132,8 @@ public class FinanceDataValidatorTest {
     var budgets = createValidBudget();
     budgets.getBudgets().getFirst().withAllocated(100.0);
 
-    when(fundService.getFundsBatch(any(), any())).thenReturn(succeededFuture(createValidFund()));
-    when(budgetService.getBudgetsBatch(any(), any())).thenReturn(succeededFuture(budgets));
+    when(fundService.getFundsByIds(any(), any())).thenReturn(succeededFuture(createValidFund().getFunds()));
+    when(budgetService.getBudgetsByIds(any(), any())).thenReturn(succeededFuture(budgets.getBudgets()));
 
     financeDataValidator.compareWithExistingData(collection, requestContextMock)
       .onComplete(ar -> {
@@ -145,14 +153,29 @@ public class FinanceDataValidatorTest {
       .withUpdateType(FyFinanceDataCollection.UpdateType.COMMIT)
       .withTotalRecords(1);
 
-    when(fundService.getFundsBatch(any(), any())).thenReturn(succeededFuture(createValidFund()));
-    when(budgetService.getBudgetsBatch(any(), any())).thenReturn(succeededFuture(createValidBudget()));
+    when(fundService.getFundsByIds(any(), any())).thenReturn(succeededFuture(createValidFund().getFunds()));
+    when(budgetService.getBudgetsByIds(any(), any())).thenReturn(succeededFuture(createValidBudget().getBudgets()));
 
     var exception = assertThrows(HttpException.class,
       () -> financeDataValidator.validateFinanceDataCollection(collection, FISCAL_YEAR_ID));
     assertEquals("budgetInitialAllocation is required", exception.getErrors().getErrors().getFirst().getMessage());
   }
 
+  @Test
+  void negative_validateFinanceDataCollection_InvalidBudgetId() {
+    var collection = new FyFinanceDataCollection()
+      .withFyFinanceData(List.of(createValidFyFinanceData(), createValidFyFinanceData().withBudgetId("invalid-budget-id")))
+      .withUpdateType(FyFinanceDataCollection.UpdateType.COMMIT)
+      .withTotalRecords(2);
+
+    var exception = assertThrows(HttpException.class,
+      () -> financeDataValidator.validateFinanceDataCollection(collection, FISCAL_YEAR_ID));
+    var error = exception.getErrors().getErrors().getFirst();
+    assertEquals("Invalid UUID format", error.getMessage());
+    assertEquals("financeData[1].budgetId", error.getParameters().getFirst().getKey());
+    assertEquals("invalid-budget-id", error.getParameters().getFirst().getValue());
+  }
+
   @Test
   void negative_validateFinanceDataCollection_NonNegativeAllowable() {
     var financeData = createValidFyFinanceData()
@@ -162,8 +185,8 @@ public class FinanceDataValidatorTest {
       .withUpdateType(FyFinanceDataCollection.UpdateType.COMMIT)
       .withTotalRecords(1);
 
-    when(fundService.getFundsBatch(any(), any())).thenReturn(succeededFuture(createValidFund()));
-    when(budgetService.getBudgetsBatch(any(), any())).thenReturn(succeededFuture(createValidBudget()));
+    when(fundService.getFundsByIds(any(), any())).thenReturn(succeededFuture(createValidFund().getFunds()));
+    when(budgetService.getBudgetsByIds(any(), any())).thenReturn(succeededFuture(createValidBudget().getBudgets()));
 
     var exception = assertThrows(HttpException.class,
       () -> financeDataValidator.validateFinanceDataCollection(collection, FISCAL_YEAR_ID));
@@ -181,8 +204,8 @@ public class FinanceDataValidatorTest {
       .withUpdateType(FyFinanceDataCollection.UpdateType.COMMIT)
       .withTotalRecords(1);
 
-    when(fundService.getFundsBatch(any(), any())).thenReturn(succeededFuture(createValidFund()));
-    when(budgetService.getBudgetsBatch(any(), any())).thenReturn(succeededFuture(createValidBudget()));
+    when(fundService.getFundsByIds(any(), any())).thenReturn(succeededFuture(createValidFund().getFunds()));
+    when(budgetService.getBudgetsByIds(any(), any())).thenReturn(succeededFuture(createValidBudget().getBudgets()));
 
     var exception = assertThrows(HttpException.class,
       () -> financeDataValidator.validateFinanceDataCollection(collection, FISCAL_YEAR_ID));
@@ -198,8 +221,8 @@ public class FinanceDataValidatorTest {
       .withFyFinanceData(Collections.singletonList(financeData))
       .withUpdateType(FyFinanceDataCollection.UpdateType.PREVIEW);
 
-    when(fundService.getFundsBatch(any(), any())).thenReturn(succeededFuture(createValidFund()));
-    when(budgetService.getBudgetsBatch(any(), any())).thenReturn(succeededFuture(createValidBudget()));
+    when(fundService.getFundsByIds(any(), any())).thenReturn(succeededFuture(createValidFund().getFunds()));
+    when(budgetService.getBudgetsByIds(any(), any())).thenReturn(succeededFuture(createValidBudget().getBudgets()));
 
     financeDataValidator.compareWithExistingData(financeDataCollection, requestContextMock)
       .onComplete(ar -> {
@@ -214,8 +237,8 @@ public class FinanceDataValidatorTest {
   @ParameterizedTest
   @MethodSource("provideFinanceDataCollections")
   void compareWithExistingData_checkIsChanged(FyFinanceDataCollection financeDataCollection, boolean expectedFundChanged, boolean expectedBudgetChanged, VertxTestContext vertxTestContext) {
-    when(fundService.getFundsBatch(any(), any())).thenReturn(succeededFuture(createValidFund()));
-    when(budgetService.getBudgetsBatch(any(), any())).thenReturn(succeededFuture(createValidBudget()));
+    when(fundService.getFundsByIds(any(), any())).thenReturn(succeededFuture(createValidFund().getFunds()));
+    when(budgetService.getBudgetsByIds(any(), any())).thenReturn(succeededFuture(createValidBudget().getBudgets()));
 
     financeDataValidator.compareWithExistingData(financeDataCollection, requestContextMock)
       .onComplete(ar -> {
@@ -320,8 +343,8 @@ public class FinanceDataValidatorTest {
       .withFyFinanceData(Collections.singletonList(financeData))
       .withUpdateType(FyFinanceDataCollection.UpdateType.PREVIEW);
 
-    when(fundService.getFundsBatch(any(), any())).thenReturn(succeededFuture(createValidFund()));
-    when(budgetService.getBudgetsBatch(any(), any())).thenReturn(succeededFuture(createValidBudget()));
+    when(fundService.getFundsByIds(any(), any())).thenReturn(succeededFuture(createValidFund().getFunds()));
+    when(budgetService.getBudgetsByIds(any(), any())).thenReturn(succeededFuture(createValidBudget().getBudgets()));
 
     financeDataValidator.compareWithExistingData(financeDataCollection, requestContextMock)
       .onComplete(ar -> {
@@ -351,8 +374,8 @@ public class FinanceDataValidatorTest {
       .withFyFinanceData(Collections.singletonList(financeData))
       .withUpdateType(FyFinanceDataCollection.UpdateType.PREVIEW);
 
-    when(fundService.getFundsBatch(any(), any())).thenReturn(succeededFuture(createValidFund()));
-    when(budgetService.getBudgetsBatch(any(), any())).thenReturn(succeededFuture(createValidBudget()));
+    when(fundService.getFundsByIds(any(), any())).thenReturn(succeededFuture(createValidFund().getFunds()));
+    when(budgetService.getBudgetsByIds(any(), any())).thenReturn(succeededFuture(createValidBudget().getBudgets()));
 
     financeDataValidator.compareWithExistingData(financeDataCollection, requestContextMock)
       .onComplete(ar -> {
@@ -373,6 +396,100 @@ public class FinanceDataValidatorTest {
       });
   }
 
+  @Test
+  void negative_compareWithExistingData_ReportsErrorsOfAllChunks(VertxTestContext vertxTestContext) {
+    var financeData = new ArrayList<FyFinanceData>();
+    for (int i = 0; i <= FINANCE_DATA_CHUNK_SIZE; i++) {
+      financeData.add(createValidFyFinanceData());
+    }
+    financeData.getLast().withBudgetName("Updated budget");
+    var financeDataCollection = new FyFinanceDataCollection()
+      .withFyFinanceData(financeData)
+      .withUpdateType(FyFinanceDataCollection.UpdateType.PREVIEW);
+
+    when(fundService.getFundsByIds(any(), any())).thenReturn(succeededFuture(createValidFund().getFunds()));
+    when(budgetService.getBudgetsByIds(any(), any())).thenReturn(succeededFuture(createValidBudget().getBudgets()));
+
+    financeDataValidator.compareWithExistingData(financeDataCollection, requestContextMock)
+      .onComplete(ar -> {
+        if (ar.failed()) {
+          var errors = ((HttpException) ar.cause()).getErrors().getErrors();
+          assertEquals(1, errors.size());
+          assertEquals(String.format("financeData[%s].budgetName", FINANCE_DATA_CHUNK_SIZE),
+            errors.getFirst().getParameters().getFirst().getKey());
+          verify(fundService, times(2)).getFundsByIds(any(), any());
+          verify(budgetService, times(2)).getBudgetsByIds(any(), any());
+          vertxTestContext.completeNow();
+        } else {
+          vertxTestContext.failNow(new AssertionError("Expected HttpException to be thrown, but nothing was thrown."));
+        }
+      });
+  }
+
+  @Test
+  void positive_compareWithExistingData_FetchesFundsAndBudgetsConcurrently(VertxTestContext vertxTestContext) {
+    var financeDataCollection = new FyFinanceDataCollection()
+      .withFyFinanceData(List.of(createValidFyFinanceData(), createValidFyFinanceData().withBudgetId(null)))
+      .withUpdateType(FyFinanceDataCollection.UpdateType.PREVIEW);
+    Promise<List<Fund>> funds = Promise.promise();
+
+    when(fundService.getFundsByIds(any(), any())).thenReturn(funds.future());
+    when(budgetService.getBudgetsByIds(any(), any())).thenReturn(succeededFuture(createValidBudget().getBudgets()));
+
+    var future = financeDataValidator.compareWithExistingData(financeDataCollection, requestContextMock);
+    verify(fundService).getFundsByIds(eq(List.of(FUND_ID)), any());
+    verify(budgetService).getBudgetsByIds(eq(List.of(BUDGET_ID)), any());
+    funds.complete(createValidFund().getFunds());
+
+    vertxTestContext.assertComplete(future)
+      .onComplete(ar -> vertxTestContext.completeNow());
+  }
+
+  @Test
+  void positive_compareWithExistingData_PreviewComparesOnlyChangedRows(VertxTestContext vertxTestContext) {
+    var validator = new FinanceDataValidator(fundService, budgetService, new FinanceDataPreviewCache(true, 60, 100));
+    var secondFundId = UUID.randomUUID().toString();
+
+    when(fundService.getFundsByIds(any(), any())).thenReturn(succeededFuture(createValidFund().getFunds()));
+    when(budgetService.getBudgetsByIds(any(), any())).thenReturn(succeededFuture(createValidBudget().getBudgets()));
+
+    var firstPreview = new FyFinanceDataCollection()
+      .withFyFinanceData(List.of(createValidFyFinanceData().withBudgetName("Updated budget"),
+        createValidFyFinanceData().withFundId(secondFundId).withBudgetId(null)))
+      .withUpdateType(FyFinanceDataCollection.UpdateType.PREVIEW);
+    // same rows in another order: nothing is fetched, the error moves with its row
+    var secondPreview = new FyFinanceDataCollection()
+      .withFyFinanceData(List.of(createValidFyFinanceData().withFundId(secondFundId).withBudgetId(null),
+        createValidFyFinanceData().withBudgetName("Updated budget")))
+      .withUpdateType(FyFinanceDataCollection.UpdateType.PREVIEW);
+    // the first row is fixed: only it is compared again
+    var thirdPreview = new FyFinanceDataCollection()
+      .withFyFinanceData(List.of(createValidFyFinanceData(),
+        createValidFyFinanceData().withFundId(secondFundId).withBudgetId(null)))
+      .withUpdateType(FyFinanceDataCollection.UpdateType.PREVIEW);
+
+    validator.compareWithExistingData(firstPreview, requestContextMock)
+      .recover(t -> validator.compareWithExistingData(secondPreview, requestContextMock))
+      .onComplete(ar -> {
+        var errors = ((HttpException) ar.cause()).getErrors().getErrors();
+        assertEquals(2, errors.size());
+        assertTrue(errors.stream().anyMatch(error -> "Fund ID not found".equals(error.getMessage())
+          && "financeData[0].fundId".equals(error.getParameters().getFirst().getKey())));
+        assertTrue(errors.stream().anyMatch(error -> "budgetName must be the same as existing budget name".equals(error.getMessage())
+          && "financeData[1].budgetName".equals(error.getParameters().getFirst().getKey())));
+        verify(fundService, times(1)).getFundsByIds(any(), any());
+      })
+      .recover(t -> validator.compareWithExistingData(thirdPreview, requestContextMock))
+      .onComplete(ar -> {
+        var errors = ((HttpException) ar.cause()).getErrors().getErrors();
+        assertEquals(1, errors.size());
+        assertEquals("financeData[1].fundId", errors.getFirst().getParameters().getFirst().getKey());
+        verify(fundService, times(2)).getFundsByIds(any(), any());
+        verify(fundService).getFundsByIds(eq(List.of(FUND_ID)), any());
+        vertxTestContext.completeNow();
+      });
+  }
+
   private FundsCollection createValidFund() {
     return new FundsCollection().withTotalRecords(1).withFunds(List.of(
       new Fund()
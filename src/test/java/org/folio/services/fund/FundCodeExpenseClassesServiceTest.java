@@ -2,6 +2,12 @@ package org.folio.services.fund;
 
 import static io.vertx.core.Future.succeededFuture;
 import static org.folio.rest.RestConstants.OKAPI_URL;
+import static org.folio.rest.util.ResourcePathResolver.BUDGETS_STORAGE;
+import static org.folio.rest.util.ResourcePathResolver.BUDGET_EXPENSE_CLASSES;
+import static org.folio.rest.util.ResourcePathResolver.EXPENSE_CLASSES_STORAGE_URL;
+import static org.folio.rest.util.ResourcePathResolver.FUNDS_BATCH_STORAGE;
+import static org.folio.rest.util.ResourcePathResolver.LEDGERS_STORAGE;
+import static org.folio.rest.util.ResourcePathResolver.resourcesPath;
 import static org.folio.rest.util.TestConfig.mockPort;
 import static org.folio.rest.util.TestConstants.X_OKAPI_TENANT;
 import static org.folio.rest.util.TestConstants.X_OKAPI_TOKEN;
@@ -11,6 +17,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -19,16 +28,28 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonObject;
+import one.util.streamex.StreamEx;
 import org.apache.commons.lang.StringUtils;
+import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.Budget;
 import org.folio.rest.jaxrs.model.BudgetExpenseClass;
+import org.folio.rest.jaxrs.model.BudgetExpenseClassCollection;
 import org.folio.rest.jaxrs.model.BudgetsCollection;
 import org.folio.rest.jaxrs.model.ExpenseClass;
+import org.folio.rest.jaxrs.model.ExpenseClassCollection;
 import org.folio.rest.jaxrs.model.FiscalYear;
 import org.folio.rest.jaxrs.model.Fund;
+import org.folio.rest.jaxrs.model.FundCodeVsExpClassesType;
+import org.folio.rest.jaxrs.model.FundsCollection;
 import org.folio.rest.jaxrs.model.Ledger;
 import org.folio.rest.jaxrs.model.LedgersCollection;
 import org.folio.services.ExpenseClassService;
@@ -40,7 +61,6 @@ import org.folio.services.ledger.LedgerService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -50,7 +70,6 @@ import io.vertx.junit5.VertxTestContext;
 @ExtendWith(VertxExtension.class)
 public class FundCodeExpenseClassesServiceTest {
 
-  @InjectMocks
   private FundCodeExpenseClassesService fundCodeExpenseClassesService;
 
   @Mock
@@ -81,6 +100,8 @@ public class FundCodeExpenseClassesServiceTest {
   @BeforeEach
   public void initMocks() {
     MockitoAnnotations.openMocks(this);
+    fundCodeExpenseClassesService = new FundCodeExpenseClassesService(budgetService, budgetExpenseClassService, fundService,
+      ledgerService, fiscalYearService, ledgerDetailsService, expenseClassService, 600);
     Map<String, String> okapiHeaders = new HashMap<>();
     okapiHeaders.put(OKAPI_URL, "http://localhost:" + mockPort);
     okapiHeaders.put(X_OKAPI_TOKEN.getName(), X_OKAPI_TOKEN.getValue());
@@ -174,7 +195,7 @@ public class FundCodeExpenseClassesServiceTest {
       .withId(fundId2);
 
     List<Fund> funds = Arrays.asList(fund1, fund2);
-    when(fundService.getFundsByIds(any(), eq(requestContext))).thenReturn(succeededFuture(funds));
+    when(fundService.getFundsBatch(any(), eq(requestContext))).thenReturn(succeededFuture(new FundsCollection().withFunds(funds)));
 
     Ledger ledger1 = new Ledger()
       .withLedgerStatus(Ledger.LedgerStatus.ACTIVE)
@@ -318,7 +339,7 @@ public class FundCodeExpenseClassesServiceTest {
       .withId(fundId2);
 
     List<Fund> funds = Arrays.asList(fund1, fund2);
-    when(fundService.getFundsByIds(any(), eq(requestContext))).thenReturn(succeededFuture(funds));
+    when(fundService.getFundsBatch(any(), eq(requestContext))).thenReturn(succeededFuture(new FundsCollection().withFunds(funds)));
 
     when(ledgerService.getLedgers(any(), eq(requestContext))).thenReturn(succeededFuture(ledgers));
 
@@ -412,7 +433,8 @@ public class FundCodeExpenseClassesServiceTest {
     when(expenseClassService.getExpenseClassesByBudgetIds(eq(budgetIds), eq(requestContext)))
       .thenReturn(succeededFuture(expenseClassList));
 
-    var future = fundCodeExpenseClassesService.retrieveCombinationFundCodeExpClasses(null, requestContext);
+    var future = fundCodeExpenseClassesService.retrieveCombinationFundCodeExpClasses(null, requestContext)
+      .compose(collection -> fundCodeExpenseClassesService.retrieveCombinationFundCodeExpClasses(null, requestContext));
 
     vertxTestContext.assertComplete(future)
       .onComplete(result -> {
@@ -423,8 +445,132 @@ public class FundCodeExpenseClassesServiceTest {
         assertEquals("ONETIME", fundCodeExpenseClassesCollectionReceived.getFundCodeVsExpClassesTypes().get(0).getLedgerCode());
         assertEquals(":", fundCodeExpenseClassesCollectionReceived.getDelimiter());
         assertEquals("ENDOW-SUBN:Elec", fundCodeExpenseClassesCollectionReceived.getFundCodeVsExpClassesTypes().get(0).getActiveFundCodeVsExpClasses().get(0));
+        // both ledgers resolve to the same current fiscal year, the second call is served from cache
+        verify(ledgerDetailsService, times(2)).getCurrentFiscalYear(any(), eq(requestContext));
+        verify(budgetService, times(1)).getBudgets(anyString(), eq(0), eq(Integer.MAX_VALUE), eq(requestContext));
         vertxTestContext.completeNow();
       });
 
   }
+
+  @Test
+  public void shouldNotMixResultsOfFiscalYearsProcessedConcurrently(Vertx vertx, VertxTestContext vertxTestContext) {
+    int fiscalYearsCount = 8;
+    int fundsPerFiscalYear = 5;
+    var storage = new FundCodeExpenseClassesStorage(fiscalYearsCount, fundsPerFiscalYear);
+
+    vertx.createHttpServer()
+      .requestHandler(request -> request.body()
+        // random delays make the pipelines of different fiscal years interleave
+        .onSuccess(body -> vertx.setTimer(ThreadLocalRandom.current().nextLong(1, 20),
+          id -> request.response().end(storage.handle(request, body.toString())))))
+      .listen(0)
+      .compose(server -> {
+        var headers = new HashMap<String, String>();
+        headers.put(OKAPI_URL, "http://localhost:" + server.actualPort());
+        headers.put(X_OKAPI_TENANT.getName(), X_OKAPI_TENANT.getValue());
+        var storageRequestContext = new RequestContext(vertx.getOrCreateContext(), headers);
+        return storage.buildService(storageRequestContext)
+          .retrieveCombinationFundCodeExpClasses(null, storageRequestContext);
+      })
+      .onComplete(vertxTestContext.succeeding(collection -> vertxTestContext.verify(() -> {
+        var fundCodeVsExpClassesTypes = collection.getFundCodeVsExpClassesTypes();
+        assertEquals(fiscalYearsCount * fundsPerFiscalYear, fundCodeVsExpClassesTypes.size());
+        for (FundCodeVsExpClassesType type : fundCodeVsExpClassesTypes) {
+          // fund code is FY<n>-FUND<m>, its ledger is LEDGER<n> and its only expense class is EC<n>
+          String fiscalYearPrefix = StringUtils.substringBefore(type.getFundCode(), "-");
+          assertEquals("LEDGER" + fiscalYearPrefix.substring(2), type.getLedgerCode());
+          assertEquals(List.of(type.getFundCode() + ":EC" + fiscalYearPrefix.substring(2)), type.getActiveFundCodeVsExpClasses());
+        }
+        assertEquals(fundCodeVsExpClassesTypes.size(), StreamEx.of(fundCodeVsExpClassesTypes).map(FundCodeVsExpClassesType::getFundCode).distinct().count());
+        vertxTestContext.completeNow();
+      })));
+  }
+
+  /**
+   * Minimal finance storage serving one ledger, one expense class and several funds with active budgets per fiscal year
+   */
+  private static class FundCodeExpenseClassesStorage {
+    private static final Pattern IDS_PATTERN = Pattern.compile("==\\(([^)]*)\\)");
+    private static final Pattern FISCAL_YEAR_ID_PATTERN = Pattern.compile("fiscalYearId=([\\w-]+)");
+
+    private final List<FiscalYear> fiscalYears = new ArrayList<>();
+    private final List<Ledger> ledgers = new ArrayList<>();
+    private final List<Fund> funds = new ArrayList<>();
+    private final List<Budget> budgets = new ArrayList<>();
+    private final List<BudgetExpenseClass> budgetExpenseClasses = new ArrayList<>();
+    private final Map<String, ExpenseClass> expenseClassesByBudgetId = new HashMap<>();
+
+    FundCodeExpenseClassesStorage(int fiscalYearsCount, int fundsPerFiscalYear) {
+      for (int i = 0; i < fiscalYearsCount; i++) {
+        var fiscalYear = new FiscalYear().withId(UUID.randomUUID().toString()).withCode("FY" + i);
+        var ledger = new Ledger().withId(UUID.randomUUID().toString()).withCode("LEDGER" + i)
+          .withFiscalYearOneId(fiscalYear.getId());
+        var expenseClass = new ExpenseClass().withId(UUID.randomUUID().toString()).withCode("EC" + i);
+        fiscalYears.add(fiscalYear);
+        ledgers.add(ledger);
+        for (int j = 0; j < fundsPerFiscalYear; j++) {
+          var fund = new Fund().withId(UUID.randomUUID().toString()).withCode("FY" + i + "-FUND" + j)
+            .withLedgerId(ledger.getId());
+          var budget = new Budget().withId(UUID.randomUUID().toString()).withFundId(fund.getId())
+            .withFiscalYearId(fiscalYear.getId());
+          funds.add(fund);
+          budgets.add(budget);
+          budgetExpenseClasses.add(new BudgetExpenseClass().withId(UUID.randomUUID().toString())
+            .withBudgetId(budget.getId()).withExpenseClassId(expenseClass.getId())
+            .withStatus(BudgetExpenseClass.Status.ACTIVE));
+          expenseClassesByBudgetId.put(budget.getId(), expenseClass);
+        }
+      }
+    }
+
+    FundCodeExpenseClassesService buildService(RequestContext requestContext) {
+      var restClient = new RestClient();
+      var ledgerDetailsService = mock(LedgerDetailsService.class);
+      for (int i = 0; i < ledgers.size(); i++) {
+        when(ledgerDetailsService.getCurrentFiscalYear(ledgers.get(i).getId(), requestContext))
+          .thenReturn(succeededFuture(fiscalYears.get(i)));
+      }
+      var budgetExpenseClassService = new BudgetExpenseClassService(restClient, null);
+      return new FundCodeExpenseClassesService(new BudgetService(restClient, budgetExpenseClassService),
+        budgetExpenseClassService, new FundService(restClient, null), new LedgerService(restClient, null, null),
+        new FiscalYearService(restClient), ledgerDetailsService, new ExpenseClassService(restClient), 600);
+    }
+
+    String handle(HttpServerRequest request, String body) {
+      String path = request.path();
+      String query = StringUtils.defaultString(request.getParam("query"));
+      if (path.equals(resourcesPath(BUDGETS_STORAGE))) {
+        Matcher matcher = FISCAL_YEAR_ID_PATTERN.matcher(query);
+        String fiscalYearId = matcher.find() ? matcher.group(1) : null;
+        var result = StreamEx.of(budgets).filter(budget -> budget.getFiscalYearId().equals(fiscalYearId)).toList();
+        return JsonObject.mapFrom(new BudgetsCollection().withBudgets(result).withTotalRecords(result.size())).encode();
+      }
+      if (path.equals(resourcesPath(FUNDS_BATCH_STORAGE))) {
+        var ids = new JsonObject(body).getJsonArray("ids").getList();
+        var result = StreamEx.of(funds).filter(fund -> ids.contains(fund.getId())).toList();
+        return JsonObject.mapFrom(new FundsCollection().withFunds(result).withTotalRecords(result.size())).encode();
+      }
+      var ids = extractIds(query);
+      if (path.equals(resourcesPath(LEDGERS_STORAGE))) {
+        var result = StreamEx.of(ledgers).filter(ledger -> ids.isEmpty() || ids.contains(ledger.getId())).toList();
+        return JsonObject.mapFrom(new LedgersCollection().withLedgers(result).withTotalRecords(result.size())).encode();
+      }
+      if (path.equals(resourcesPath(BUDGET_EXPENSE_CLASSES))) {
+        var result = StreamEx.of(budgetExpenseClasses).filter(link -> ids.contains(link.getBudgetId())).toList();
+        return JsonObject.mapFrom(new BudgetExpenseClassCollection().withBudgetExpenseClasses(result)
+          .withTotalRecords(result.size())).encode();
+      }
+      if (path.equals(resourcesPath(EXPENSE_CLASSES_STORAGE_URL))) {
+        var result = StreamEx.of(ids).map(expenseClassesByBudgetId::get).nonNull().distinct().toList();
+        return JsonObject.mapFrom(new ExpenseClassCollection().withExpenseClasses(result).withTotalRecords(result.size())).encode();
+      }
+      throw new IllegalStateException("Unexpected request: " + request.uri());
+    }
+
+    private static List<String> extractIds(String query) {
+      Matcher matcher = IDS_PATTERN.matcher(query);
+      return matcher.find() ? List.of(matcher.group(1).split(" or ")) : List.of();
+    }
+  }
 }
@@ -33,6 +33,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.exception.HttpException;
+import org.folio.rest.jaxrs.model.BatchIdCollection;
 import org.folio.rest.jaxrs.model.Error;
 import org.folio.rest.jaxrs.model.Fund;
 import org.folio.rest.jaxrs.model.FundsCollection;
@@ -197,7 +198,7 @@ public class FundServiceTest {
     fundsList.add(fund2);
     fundsCollection.setFunds(fundsList);
     // When
-    when(restClient.get(anyString(), eq(FundsCollection.class), any())).thenReturn(succeededFuture(fundsCollection));
+    when(restClient.postBatch(anyString(), any(BatchIdCollection.class), eq(FundsCollection.class), any())).thenReturn(succeededFuture(fundsCollection));
     var future = fundService.getFundsByIds(ids, requestContext);
 
     vertxTestContext.assertComplete(future)
@@ -225,7 +226,7 @@ public class FundServiceTest {
     fundsList.add(fund2);
     fundsCollection.setFunds(fundsList);
     // When
-    when(restClient.get(anyString(), eq(FundsCollection.class), eq(requestContext))).thenReturn(succeededFuture(fundsCollection));
+    when(restClient.postBatch(anyString(), any(BatchIdCollection.class), eq(FundsCollection.class), eq(requestContext))).thenReturn(succeededFuture(fundsCollection));
     var future = fundService.getFundsByIds(ids, requestContext);
 
     vertxTestContext.assertComplete(future)
@@ -254,7 +255,7 @@ public class FundServiceTest {
     fundsList.add(fund2);
     fundsCollection.setFunds(fundsList);
     // When
-    when(restClient.get(anyString(), eq(FundsCollection.class), any())).thenReturn(succeededFuture(fundsCollection));
+    when(restClient.postBatch(anyString(), any(BatchIdCollection.class), eq(FundsCollection.class), any())).thenReturn(succeededFuture(fundsCollection));
     var future = fundService.getFundsByIds(ids, requestContext);
     // Then
     vertxTestContext.assertComplete(future)
@@ -0,0 +1,138 @@
+package org.folio.services.fund;
+
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.UUID;
+
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.exception.HttpException;
+import org.folio.rest.jaxrs.model.FundUpdateLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+@ExtendWith(VertxExtension.class)
+public class FundUpdateLogWriterTest {
+
+  @Mock private FundUpdateLogService fundUpdateLogService;
+
+  private FundUpdateLogWriter fundUpdateLogWriter;
+  private AutoCloseable openMocks;
+  private RequestContext requestContext;
+
+  @BeforeEach
+  void setUp() {
+    openMocks = MockitoAnnotations.openMocks(this);
+    fundUpdateLogWriter = new FundUpdateLogWriter(fundUpdateLogService, 2, 0);
+    requestContext = new RequestContext(Vertx.vertx().getOrCreateContext(), new HashMap<>());
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    openMocks.close();
+  }
+
+  @Test
+  void shouldCoalesceChangesMadeWhileWriteIsInFlight(VertxTestContext vertxTestContext) {
+    var fundUpdateLog = new FundUpdateLog().withId(UUID.randomUUID().toString()).withStatus(FundUpdateLog.Status.IN_PROGRESS);
+    Promise<Void> firstWrite = Promise.promise();
+
+    when(fundUpdateLogService.createFundUpdateLog(any(), any())).thenReturn(succeededFuture(fundUpdateLog));
+    when(fundUpdateLogService.updateFundUpdateLog(any(), any()))
+      .thenReturn(firstWrite.future())
+      .thenReturn(succeededFuture());
+
+    fundUpdateLogWriter.createFundUpdateLog(fundUpdateLog, requestContext);
+    fundUpdateLogWriter.updateFundUpdateLog(fundUpdateLog.getId(), log -> log.setRecordsCount(1), requestContext);
+    fundUpdateLogWriter.updateFundUpdateLog(fundUpdateLog.getId(), log -> log.setRecordsCount(2), requestContext);
+    var lastChange = fundUpdateLogWriter.updateFundUpdateLog(fundUpdateLog.getId(),
+      log -> log.setStatus(FundUpdateLog.Status.COMPLETED), requestContext);
+    assertEquals(1, fundUpdateLogWriter.getQueueDepth());
+
+    firstWrite.complete();
+    vertxTestContext.assertComplete(lastChange)
+      .onComplete(ar -> {
+        verify(fundUpdateLogService, times(2)).updateFundUpdateLog(any(), any());
+        verify(fundUpdateLogService).updateFundUpdateLog(argThat(log -> log.getRecordsCount() == 1
+          && log.getStatus() == FundUpdateLog.Status.IN_PROGRESS), any());
+        verify(fundUpdateLogService).updateFundUpdateLog(argThat(log -> log.getRecordsCount() == 2
+          && log.getStatus() == FundUpdateLog.Status.COMPLETED), any());
+        verify(fundUpdateLogService, never()).getFundUpdateLogById(any(), any());
+        assertEquals(0, fundUpdateLogWriter.getQueueDepth());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldRetryFailedWrite(VertxTestContext vertxTestContext) {
+    var fundUpdateLog = new FundUpdateLog().withId(UUID.randomUUID().toString()).withStatus(FundUpdateLog.Status.IN_PROGRESS);
+
+    when(fundUpdateLogService.getFundUpdateLogById(any(), any())).thenReturn(succeededFuture(fundUpdateLog));
+    when(fundUpdateLogService.updateFundUpdateLog(any(), any()))
+      .thenReturn(failedFuture(new HttpException(500, "Internal error")))
+      .thenReturn(succeededFuture());
+
+    var future = fundUpdateLogWriter.updateFundUpdateLog(fundUpdateLog.getId(),
+      log -> log.setStatus(FundUpdateLog.Status.ERROR), requestContext);
+    vertxTestContext.assertComplete(future)
+      .onComplete(ar -> {
+        verify(fundUpdateLogService).getFundUpdateLogById(any(), any());
+        verify(fundUpdateLogService, times(2)).updateFundUpdateLog(argThat(log ->
+          log.getStatus() == FundUpdateLog.Status.ERROR), any());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldFailAfterAllRetries(VertxTestContext vertxTestContext) {
+    var fundUpdateLog = new FundUpdateLog().withId(UUID.randomUUID().toString()).withStatus(FundUpdateLog.Status.IN_PROGRESS);
+
+    when(fundUpdateLogService.getFundUpdateLogById(any(), any())).thenReturn(succeededFuture(fundUpdateLog));
+    when(fundUpdateLogService.updateFundUpdateLog(any(), any()))
+      .thenReturn(failedFuture(new HttpException(500, "Internal error")));
+
+    var future = fundUpdateLogWriter.updateFundUpdateLog(fundUpdateLog.getId(),
+      log -> log.setStatus(FundUpdateLog.Status.COMPLETED), requestContext);
+    vertxTestContext.assertFailure(future)
+      .onComplete(ar -> {
+        verify(fundUpdateLogService, times(3)).updateFundUpdateLog(any(), any());
+        assertEquals(0, fundUpdateLogWriter.getQueueDepth());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldNotRetryWriteRejectedByStorage(VertxTestContext vertxTestContext) {
+    var fundUpdateLog = new FundUpdateLog().withId(UUID.randomUUID().toString()).withStatus(FundUpdateLog.Status.IN_PROGRESS);
+
+    when(fundUpdateLogService.getFundUpdateLogById(any(), any())).thenReturn(succeededFuture(fundUpdateLog));
+    when(fundUpdateLogService.updateFundUpdateLog(any(), any()))
+      .thenReturn(failedFuture(new HttpException(422, "Invalid fund update log")));
+
+    var future = fundUpdateLogWriter.updateFundUpdateLog(fundUpdateLog.getId(),
+      log -> log.setStatus(FundUpdateLog.Status.COMPLETED), requestContext);
+    vertxTestContext.assertFailure(future)
+      .onComplete(ar -> {
+        assertEquals(422, ((HttpException) ar.cause()).getCode());
+        verify(fundUpdateLogService, times(1)).updateFundUpdateLog(any(), any());
+        vertxTestContext.completeNow();
+      });
+  }
+}
@@ -1,6 +1,7 @@
 package org.folio.services.group;
 
 import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.util.BudgetUtils.EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
@@ -87,7 +88,7 @@ public class GroupExpenseClassTotalsServiceTest {
         var groupExpenseClassTotalsCollection = result.result();
         assertEquals(new GroupExpenseClassTotalsCollection().withTotalRecords(0), groupExpenseClassTotalsCollection);
         verify(groupFundFiscalYearServiceMock).getGroupFundFiscalYearsWithBudgetId(groupId, fiscalYearId, requestContext);
-        verify(transactionServiceMock, never()).getTransactionsByFundIds(anyList(), anyString(), any());
+        verify(transactionServiceMock, never()).getTransactionsByFundIds(anyList(), anyString(), anyList(), any());
         verify(expenseClassServiceMock, never()).getExpenseClassesByBudgetIds(anyList(), any());
 
         vertxTestContext.completeNow();
@@ -112,7 +113,7 @@ public class GroupExpenseClassTotalsServiceTest {
 
     when(groupFundFiscalYearServiceMock.getGroupFundFiscalYearsWithBudgetId(anyString(), anyString(), any()))
       .thenReturn(succeededFuture(Collections.singletonList(groupFundFiscalYear)));
-    when(transactionServiceMock.getTransactionsByFundIds(anyList(), anyString(), any()))
+    when(transactionServiceMock.getTransactionsByFundIds(anyList(), anyString(), anyList(), any()))
       .thenReturn(succeededFuture(Collections.singletonList(transaction)));
     when(expenseClassServiceMock.getExpenseClassesByBudgetIds(anyList(), any()))
       .thenReturn(succeededFuture(new ArrayList<>()));
@@ -135,7 +136,7 @@ public class GroupExpenseClassTotalsServiceTest {
         assertEquals(expected, groupExpenseClassTotalsCollection);
 
         verify(groupFundFiscalYearServiceMock).getGroupFundFiscalYearsWithBudgetId(eq(groupId), eq(fiscalYearId), eq(requestContext));
-        verify(transactionServiceMock).getTransactionsByFundIds(eq(Collections.singletonList(groupFundFiscalYear.getFundId())), eq(fiscalYearId), eq(requestContext));
+        verify(transactionServiceMock).getTransactionsByFundIds(eq(Collections.singletonList(groupFundFiscalYear.getFundId())), eq(fiscalYearId), eq(EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES), eq(requestContext));
         verify(expenseClassServiceMock).getExpenseClassesByBudgetIds(eq(Collections.singletonList(groupFundFiscalYear.getBudgetId())), eq(requestContext));
 
         vertxTestContext.completeNow();
@@ -158,7 +159,7 @@ public class GroupExpenseClassTotalsServiceTest {
 
     when(groupFundFiscalYearServiceMock.getGroupFundFiscalYearsWithBudgetId(anyString(), anyString(), any()))
       .thenReturn(succeededFuture(Collections.singletonList(groupFundFiscalYear)));
-    when(transactionServiceMock.getTransactionsByFundIds(anyList(), anyString(), any()))
+    when(transactionServiceMock.getTransactionsByFundIds(anyList(), anyString(), anyList(), any()))
       .thenReturn(succeededFuture(Collections.emptyList()));
     when(expenseClassServiceMock.getExpenseClassesByBudgetIds(anyList(), any()))
       .thenReturn(succeededFuture(expenseClasses));
@@ -177,7 +178,7 @@ public class GroupExpenseClassTotalsServiceTest {
         assertEquals(0d, groupExpenseClassTotal.getPercentageCredited());
 
         verify(groupFundFiscalYearServiceMock).getGroupFundFiscalYearsWithBudgetId(eq(groupId), eq(fiscalYearId), eq(requestContext));
-        verify(transactionServiceMock).getTransactionsByFundIds(eq(Collections.singletonList(groupFundFiscalYear.getFundId())), eq(fiscalYearId), eq(requestContext));
+        verify(transactionServiceMock).getTransactionsByFundIds(eq(Collections.singletonList(groupFundFiscalYear.getFundId())), eq(fiscalYearId), eq(EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES), eq(requestContext));
         verify(expenseClassServiceMock).getExpenseClassesByBudgetIds(eq(Collections.singletonList(groupFundFiscalYear.getBudgetId())), eq(requestContext));
 
         vertxTestContext.completeNow();
@@ -278,7 +279,7 @@ public class GroupExpenseClassTotalsServiceTest {
 
     when(groupFundFiscalYearServiceMock.getGroupFundFiscalYearsWithBudgetId(anyString(), anyString(), any()))
       .thenReturn(succeededFuture(Arrays.asList(groupFundFiscalYear1, groupFundFiscalYear2)));
-    when(transactionServiceMock.getTransactionsByFundIds(anyList(), anyString(), any()))
+    when(transactionServiceMock.getTransactionsByFundIds(anyList(), anyString(), anyList(), any()))
       .thenReturn(succeededFuture(transactions));
     when(expenseClassServiceMock.getExpenseClassesByBudgetIds(anyList(), any()))
       .thenReturn(succeededFuture(expenseClasses));
@@ -326,7 +327,7 @@ public class GroupExpenseClassTotalsServiceTest {
         List<String> expectedFundIds = new ArrayList<>();
         expectedFundIds.add(fundId1);
         expectedFundIds.add(fundId2);
-        verify(transactionServiceMock).getTransactionsByFundIds(eq(expectedFundIds), eq(fiscalYearId), eq(requestContext));
+        verify(transactionServiceMock).getTransactionsByFundIds(eq(expectedFundIds), eq(fiscalYearId), eq(EXPENSE_CLASS_TOTALS_TRANSACTION_TYPES), eq(requestContext));
 
         List<String> expectedBudgetIds = new ArrayList<>();
         expectedBudgetIds.add(budgetId1);
@@ -0,0 +1,276 @@
+package org.folio.services.ledger;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.model.LedgerFiscalYearRollover;
+import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverBudget;
+import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverBudgetCollection;
+import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverErrorCollection;
+import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverProgress;
+import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverProgressCollection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+@ExtendWith(VertxExtension.class)
+public class LedgerRolloverPreviewServiceTest {
+
+  private static final String ROLLOVER_ID = UUID.randomUUID().toString();
+  private static final String BASE_ROLLOVER_ID = UUID.randomUUID().toString();
+  private static final String ROLLOVER_QUERY = "ledgerRolloverId==" + ROLLOVER_ID;
+  private static final String DIFF_SORTING = " sortBy fundId";
+
+  @Mock
+  private LedgerRolloverService ledgerRolloverService;
+  @Mock
+  private LedgerRolloverProgressService ledgerRolloverProgressService;
+  @Mock
+  private LedgerRolloverBudgetsService ledgerRolloverBudgetsService;
+  @Mock
+  private LedgerRolloverErrorsService ledgerRolloverErrorsService;
+
+  private LedgerRolloverPreviewService ledgerRolloverPreviewService;
+  private RequestContext requestContext;
+  private AutoCloseable mockitoMocks;
+
+  @BeforeEach
+  public void initMocks() {
+    mockitoMocks = MockitoAnnotations.openMocks(this);
+    ledgerRolloverPreviewService = new LedgerRolloverPreviewService(ledgerRolloverService, ledgerRolloverProgressService,
+      ledgerRolloverBudgetsService, ledgerRolloverErrorsService, true, 60, 10, 60_000);
+    requestContext = new RequestContext(Vertx.vertx().getOrCreateContext(), new HashMap<>(Map.of(OKAPI_HEADER_TENANT, "diku")));
+  }
+
+  @AfterEach
+  public void afterEach() throws Exception {
+    mockitoMocks.close();
+  }
+
+  @Test
+  void shouldServeBudgetsOfFinishedPreviewRolloverFromSnapshot(VertxTestContext vertxTestContext) {
+    givenRollover(LedgerFiscalYearRollover.RolloverType.PREVIEW, "Success");
+    var budgets = new LedgerFiscalYearRolloverBudgetCollection().withTotalRecords(0);
+    when(ledgerRolloverBudgetsService.retrieveLedgerRolloverBudgets(anyString(), anyInt(), anyInt(), any()))
+      .thenReturn(succeededFuture(budgets));
+
+    var future = ledgerRolloverPreviewService.getLedgerRolloverBudgets(ROLLOVER_QUERY, 0, 10, requestContext)
+      .compose(first -> ledgerRolloverPreviewService.getLedgerRolloverBudgets(ROLLOVER_QUERY + " ", 0, 10, requestContext)
+        .map(second -> List.of(first.etag(), second.etag())));
+
+    vertxTestContext.assertComplete(future)
+      .onComplete(ar -> {
+        assertThat(ar.result().get(0), is(ar.result().get(1)));
+        verify(ledgerRolloverBudgetsService, times(1)).retrieveLedgerRolloverBudgets(eq(ROLLOVER_QUERY), eq(0), eq(10), any());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldNotCacheBudgetsOfCommitRollover(VertxTestContext vertxTestContext) {
+    givenRollover(LedgerFiscalYearRollover.RolloverType.COMMIT, "Success");
+    when(ledgerRolloverBudgetsService.retrieveLedgerRolloverBudgets(anyString(), anyInt(), anyInt(), any()))
+      .thenReturn(succeededFuture(new LedgerFiscalYearRolloverBudgetCollection()));
+
+    var future = ledgerRolloverPreviewService.getLedgerRolloverBudgets(ROLLOVER_QUERY, 0, 10, requestContext)
+      .compose(first -> ledgerRolloverPreviewService.getLedgerRolloverBudgets(ROLLOVER_QUERY, 0, 10, requestContext));
+
+    vertxTestContext.assertComplete(future)
+      .onComplete(ar -> {
+        verify(ledgerRolloverBudgetsService, times(2)).retrieveLedgerRolloverBudgets(eq(ROLLOVER_QUERY), eq(0), eq(10), any());
+        verify(ledgerRolloverService, times(1)).retrieveLedgerRolloverById(eq(ROLLOVER_ID), any());
+        verify(ledgerRolloverProgressService, never()).retrieveLedgerRolloverProgresses(anyString(), anyInt(), anyInt(), any());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldNotCacheErrorsOfRunningPreviewRollover(VertxTestContext vertxTestContext) {
+    givenRollover(LedgerFiscalYearRollover.RolloverType.PREVIEW, "In Progress");
+    when(ledgerRolloverErrorsService.getLedgerRolloverErrors(anyString(), anyInt(), anyInt(), anyString(), any()))
+      .thenReturn(succeededFuture(new LedgerFiscalYearRolloverErrorCollection()));
+
+    var future = ledgerRolloverPreviewService.getLedgerRolloverErrors(ROLLOVER_QUERY, 0, 10, "application/json", requestContext)
+      .compose(first -> ledgerRolloverPreviewService.getLedgerRolloverErrors(ROLLOVER_QUERY, 0, 10, "application/json", requestContext));
+
+    vertxTestContext.assertComplete(future)
+      .onComplete(ar -> {
+        verify(ledgerRolloverErrorsService, times(2)).getLedgerRolloverErrors(eq(ROLLOVER_QUERY), eq(0), eq(10), eq("application/json"), any());
+        // the running state is remembered for the check interval
+        verify(ledgerRolloverService, times(1)).retrieveLedgerRolloverById(anyString(), any());
+        verify(ledgerRolloverProgressService, times(1)).retrieveLedgerRolloverProgresses(anyString(), anyInt(), anyInt(), any());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldCheckOnlyProgressOfRunningPreviewRolloverAfterCheckInterval(VertxTestContext vertxTestContext) {
+    var service = new LedgerRolloverPreviewService(ledgerRolloverService, ledgerRolloverProgressService,
+      ledgerRolloverBudgetsService, ledgerRolloverErrorsService, true, 60, 10, 0);
+    givenRollover(LedgerFiscalYearRollover.RolloverType.PREVIEW, "In Progress");
+    when(ledgerRolloverBudgetsService.retrieveLedgerRolloverBudgets(anyString(), anyInt(), anyInt(), any()))
+      .thenReturn(succeededFuture(new LedgerFiscalYearRolloverBudgetCollection()));
+
+    var future = service.getLedgerRolloverBudgets(ROLLOVER_QUERY, 0, 10, requestContext)
+      .compose(first -> service.getLedgerRolloverBudgets(ROLLOVER_QUERY, 0, 10, requestContext));
+
+    vertxTestContext.assertComplete(future)
+      .onComplete(ar -> {
+        verify(ledgerRolloverBudgetsService, times(2)).retrieveLedgerRolloverBudgets(eq(ROLLOVER_QUERY), eq(0), eq(10), any());
+        // the type of the rollover is read once, its progress is checked again once the running state expired
+        verify(ledgerRolloverService, times(1)).retrieveLedgerRolloverById(anyString(), any());
+        verify(ledgerRolloverProgressService, times(2)).retrieveLedgerRolloverProgresses(anyString(), anyInt(), anyInt(), any());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldNotCacheBudgetsOfQueryNotRestrictedToRollover(VertxTestContext vertxTestContext) {
+    String query = ROLLOVER_QUERY + " or fundId==" + UUID.randomUUID();
+    when(ledgerRolloverBudgetsService.retrieveLedgerRolloverBudgets(anyString(), anyInt(), anyInt(), any()))
+      .thenReturn(succeededFuture(new LedgerFiscalYearRolloverBudgetCollection()));
+
+    var future = ledgerRolloverPreviewService.getLedgerRolloverBudgets(query, 0, 10, requestContext);
+
+    vertxTestContext.assertComplete(future)
+      .onComplete(ar -> {
+        verify(ledgerRolloverService, never()).retrieveLedgerRolloverById(anyString(), any());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldReturnAddedRemovedAndChangedBudgetsWhenCompareRollovers(VertxTestContext vertxTestContext) {
+    givenRollover(LedgerFiscalYearRollover.RolloverType.COMMIT, "Success");
+    String unchangedFundId = UUID.randomUUID().toString();
+    String changedFundId = UUID.randomUUID().toString();
+    String addedFundId = UUID.randomUUID().toString();
+    String removedFundId = UUID.randomUUID().toString();
+    var budgets = sortedByFundId(List.of(buildBudget(ROLLOVER_ID, unchangedFundId, 100d), buildBudget(ROLLOVER_ID, changedFundId, 200d),
+      buildBudget(ROLLOVER_ID, addedFundId, 300d)));
+    var baseBudgets = sortedByFundId(List.of(buildBudget(BASE_ROLLOVER_ID, unchangedFundId, 100d),
+      buildBudget(BASE_ROLLOVER_ID, changedFundId, 150d), buildBudget(BASE_ROLLOVER_ID, removedFundId, 50d)));
+    when(ledgerRolloverBudgetsService.retrieveLedgerRolloverBudgets(eq(ROLLOVER_QUERY + DIFF_SORTING), anyInt(), anyInt(), any()))
+      .thenReturn(succeededFuture(new LedgerFiscalYearRolloverBudgetCollection().withLedgerFiscalYearRolloverBudgets(budgets)));
+    when(ledgerRolloverBudgetsService.retrieveLedgerRolloverBudgets(eq("ledgerRolloverId==" + BASE_ROLLOVER_ID + DIFF_SORTING), anyInt(),
+      anyInt(), any()))
+      .thenReturn(succeededFuture(new LedgerFiscalYearRolloverBudgetCollection().withLedgerFiscalYearRolloverBudgets(baseBudgets)));
+
+    var future = ledgerRolloverPreviewService.getLedgerRolloverBudgetsDiff(ROLLOVER_ID, BASE_ROLLOVER_ID, requestContext);
+
+    vertxTestContext.assertComplete(future)
+      .onComplete(ar -> {
+        var diff = ar.result();
+        assertThat(diff.getAdded().stream().map(LedgerFiscalYearRolloverBudget::getFundId).toList(), contains(addedFundId));
+        assertThat(diff.getRemoved().stream().map(LedgerFiscalYearRolloverBudget::getFundId).toList(), contains(removedFundId));
+        assertThat(diff.getChanged().stream().map(LedgerFiscalYearRolloverBudget::getFundId).toList(), contains(changedFundId));
+        assertThat(diff.getUnchangedRecords(), is(1));
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldReturnEmptyDiffWhenCompareRolloverWithItself(VertxTestContext vertxTestContext) {
+    givenRollover(LedgerFiscalYearRollover.RolloverType.PREVIEW, "Success");
+    var budgets = List.of(buildBudget(ROLLOVER_ID, UUID.randomUUID().toString(), 100d));
+    when(ledgerRolloverBudgetsService.retrieveLedgerRolloverBudgets(eq(ROLLOVER_QUERY + DIFF_SORTING), anyInt(), anyInt(), any()))
+      .thenReturn(succeededFuture(new LedgerFiscalYearRolloverBudgetCollection().withLedgerFiscalYearRolloverBudgets(budgets)));
+
+    var future = ledgerRolloverPreviewService.getLedgerRolloverBudgetsDiff(ROLLOVER_ID, ROLLOVER_ID, requestContext);
+
+    vertxTestContext.assertComplete(future)
+      .onComplete(ar -> {
+        assertThat(ar.result().getAdded(), empty());
+        assertThat(ar.result().getRemoved(), empty());
+        assertThat(ar.result().getChanged(), empty());
+        assertThat(ar.result().getUnchangedRecords(), is(1));
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldReadBudgetsPageByPageWithoutCachingWhenCompareRollovers(VertxTestContext vertxTestContext) {
+    givenRollover(LedgerFiscalYearRollover.RolloverType.PREVIEW, "Success");
+    int pageSize = 1000;
+    var budgets = sortedByFundId(Stream.generate(() -> buildBudget(ROLLOVER_ID, UUID.randomUUID().toString(), 100d))
+      .limit(pageSize + 1)
+      .toList());
+    String lastFundIdOfFirstPage = budgets.get(pageSize - 1).getFundId();
+    when(ledgerRolloverBudgetsService.retrieveLedgerRolloverBudgets(eq(ROLLOVER_QUERY + DIFF_SORTING), eq(0), eq(pageSize), any()))
+      .thenReturn(succeededFuture(new LedgerFiscalYearRolloverBudgetCollection()
+        .withLedgerFiscalYearRolloverBudgets(budgets.subList(0, pageSize))));
+    when(ledgerRolloverBudgetsService.retrieveLedgerRolloverBudgets(
+        eq(ROLLOVER_QUERY + " and fundId > \"" + lastFundIdOfFirstPage + "\"" + DIFF_SORTING), eq(0), eq(pageSize), any()))
+      .thenReturn(succeededFuture(new LedgerFiscalYearRolloverBudgetCollection()
+        .withLedgerFiscalYearRolloverBudgets(budgets.subList(pageSize, pageSize + 1))));
+
+    var future = ledgerRolloverPreviewService.getLedgerRolloverBudgetsDiff(ROLLOVER_ID, ROLLOVER_ID, requestContext)
+      .compose(first -> ledgerRolloverPreviewService.getLedgerRolloverBudgetsDiff(ROLLOVER_ID, ROLLOVER_ID, requestContext));
+
+    vertxTestContext.assertComplete(future)
+      .onComplete(ar -> {
+        assertThat(ar.result().getUnchangedRecords(), is(pageSize + 1));
+        assertThat(ar.result().getAdded(), empty());
+        assertThat(ar.result().getRemoved(), empty());
+        // both rollovers of both comparisons are read from the storage
+        verify(ledgerRolloverBudgetsService, times(8)).retrieveLedgerRolloverBudgets(anyString(), anyInt(), anyInt(), any());
+        verify(ledgerRolloverService, never()).retrieveLedgerRolloverById(anyString(), any());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  private List<LedgerFiscalYearRolloverBudget> sortedByFundId(List<LedgerFiscalYearRolloverBudget> budgets) {
+    return budgets.stream()
+      .sorted(Comparator.comparing(LedgerFiscalYearRolloverBudget::getFundId))
+      .toList();
+  }
+
+  private void givenRollover(LedgerFiscalYearRollover.RolloverType rolloverType, String overallRolloverStatus) {
+    when(ledgerRolloverService.retrieveLedgerRolloverById(anyString(), any()))
+      .thenAnswer(invocation -> succeededFuture(new LedgerFiscalYearRollover()
+        .withId(invocation.getArgument(0))
+        .withRolloverType(rolloverType)));
+    var progress = new JsonObject()
+      .put("ledgerRolloverId", ROLLOVER_ID)
+      .put("overallRolloverStatus", overallRolloverStatus)
+      .mapTo(LedgerFiscalYearRolloverProgress.class);
+    when(ledgerRolloverProgressService.retrieveLedgerRolloverProgresses(anyString(), anyInt(), anyInt(), any()))
+      .thenReturn(succeededFuture(new LedgerFiscalYearRolloverProgressCollection().withLedgerFiscalYearRolloverProgresses(List.of(progress))));
+  }
+
+  private LedgerFiscalYearRolloverBudget buildBudget(String rolloverId, String fundId, double allocated) {
+    return new LedgerFiscalYearRolloverBudget()
+      .withId(UUID.randomUUID().toString())
+      .withLedgerRolloverId(rolloverId)
+      .withFundId(fundId)
+      .withAllocated(allocated);
+  }
+}
@@ -0,0 +1,155 @@
+package org.folio.services.ledger;
+
+import static io.vertx.core.Future.failedFuture;
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.exception.HttpException;
+import org.folio.rest.jaxrs.model.LedgerFiscalYearRolloverProgress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+@ExtendWith(VertxExtension.class)
+public class LedgerRolloverProgressStreamServiceTest {
+
+  private static final String PROGRESS_ID = UUID.randomUUID().toString();
+  private static final long POLL_INTERVAL_MILLIS = 20;
+  private static final String KEEPALIVE = "keepalive";
+
+  @Mock
+  private LedgerRolloverProgressService ledgerRolloverProgressService;
+
+  private LedgerRolloverProgressStreamService ledgerRolloverProgressStreamService;
+  private RequestContext requestContext;
+  private AutoCloseable mockitoMocks;
+
+  @BeforeEach
+  public void initMocks(Vertx vertx) {
+    mockitoMocks = MockitoAnnotations.openMocks(this);
+    ledgerRolloverProgressStreamService = new LedgerRolloverProgressStreamService(ledgerRolloverProgressService, POLL_INTERVAL_MILLIS);
+    requestContext = new RequestContext(vertx.getOrCreateContext(), new HashMap<>(Map.of(OKAPI_HEADER_TENANT, "diku")));
+  }
+
+  @AfterEach
+  public void afterEach() throws Exception {
+    mockitoMocks.close();
+  }
+
+  @Test
+  void shouldPollProgressOnceForAllSubscribersUntilRolloverIsFinished(VertxTestContext vertxTestContext) {
+    var notStarted = buildProgress("Not Started");
+    var inProgress = buildProgress("In Progress");
+    var finished = buildProgress("Success");
+    when(ledgerRolloverProgressService.retrieveLedgerRolloverProgressById(eq(PROGRESS_ID), any()))
+      .thenReturn(succeededFuture(notStarted))
+      .thenReturn(succeededFuture(inProgress))
+      .thenReturn(succeededFuture(inProgress))
+      .thenReturn(succeededFuture(finished));
+    List<String> firstEvents = new CopyOnWriteArrayList<>();
+    List<String> secondEvents = new CopyOnWriteArrayList<>();
+
+    var first = ledgerRolloverProgressStreamService.subscribe(PROGRESS_ID, progress -> firstEvents.add(status(progress)),
+      v -> firstEvents.add(KEEPALIVE), requestContext);
+    var second = ledgerRolloverProgressStreamService.subscribe(PROGRESS_ID, progress -> secondEvents.add(status(progress)),
+      v -> secondEvents.add(KEEPALIVE), requestContext);
+
+    vertxTestContext.assertComplete(Future.all(first.future(), second.future()))
+      .onComplete(ar -> {
+        // the unchanged progress of the third poll is not sent again, the subscribers are kept alive instead
+        assertEquals(List.of("Not Started", "In Progress", KEEPALIVE, "Success"), firstEvents);
+        assertEquals(List.of("Not Started", "In Progress", KEEPALIVE, "Success"), secondEvents);
+        verify(ledgerRolloverProgressService, times(4)).retrieveLedgerRolloverProgressById(eq(PROGRESS_ID), any());
+        assertEquals(0, ledgerRolloverProgressStreamService.getPollerCount());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldStopPollingWhenLastSubscriptionIsCancelled(Vertx vertx, VertxTestContext vertxTestContext) {
+    when(ledgerRolloverProgressService.retrieveLedgerRolloverProgressById(eq(PROGRESS_ID), any()))
+      .thenReturn(succeededFuture(buildProgress("In Progress")));
+
+    var subscription = ledgerRolloverProgressStreamService.subscribe(PROGRESS_ID, progress -> { }, v -> { }, requestContext);
+    assertEquals(1, ledgerRolloverProgressStreamService.getPollerCount());
+    subscription.cancel();
+    assertEquals(0, ledgerRolloverProgressStreamService.getPollerCount());
+
+    vertx.setTimer(POLL_INTERVAL_MILLIS * 5, id -> vertxTestContext.verify(() -> {
+      verify(ledgerRolloverProgressService, times(1)).retrieveLedgerRolloverProgressById(eq(PROGRESS_ID), any());
+      vertxTestContext.completeNow();
+    }));
+  }
+
+  @Test
+  void shouldFailSubscriptionsWhenProgressCannotBeRead(VertxTestContext vertxTestContext) {
+    when(ledgerRolloverProgressService.retrieveLedgerRolloverProgressById(eq(PROGRESS_ID), any()))
+      .thenReturn(failedFuture(new HttpException(404, "Not found")));
+
+    var subscription = ledgerRolloverProgressStreamService.subscribe(PROGRESS_ID, progress -> { }, v -> { }, requestContext);
+
+    vertxTestContext.assertFailure(subscription.future())
+      .onComplete(ar -> {
+        assertEquals(404, ((HttpException) ar.cause()).getCode());
+        assertEquals(0, ledgerRolloverProgressStreamService.getPollerCount());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldPollWithHeadersOfMostRecentSubscriberAndDropOnlyUnauthorizedOne(Vertx vertx, VertxTestContext vertxTestContext) {
+    var secondRequestContext = new RequestContext(vertx.getOrCreateContext(), new HashMap<>(Map.of(OKAPI_HEADER_TENANT, "diku")));
+    when(ledgerRolloverProgressService.retrieveLedgerRolloverProgressById(eq(PROGRESS_ID), eq(requestContext)))
+      .thenReturn(succeededFuture(buildProgress("In Progress")))
+      .thenReturn(succeededFuture(buildProgress("Success")));
+    when(ledgerRolloverProgressService.retrieveLedgerRolloverProgressById(eq(PROGRESS_ID), eq(secondRequestContext)))
+      .thenReturn(failedFuture(new HttpException(401, "Token expired")));
+
+    var first = ledgerRolloverProgressStreamService.subscribe(PROGRESS_ID, progress -> { }, v -> { }, requestContext);
+    // the next poll is made with the headers of the most recent subscriber, its token is rejected
+    var second = ledgerRolloverProgressStreamService.subscribe(PROGRESS_ID, progress -> { }, v -> { }, secondRequestContext);
+
+    vertxTestContext.assertFailure(second.future())
+      .compose(ar -> vertxTestContext.assertComplete(first.future()))
+      .onComplete(ar -> {
+        assertEquals(401, ((HttpException) second.future().cause()).getCode());
+        verify(ledgerRolloverProgressService).retrieveLedgerRolloverProgressById(eq(PROGRESS_ID), eq(secondRequestContext));
+        verify(ledgerRolloverProgressService, times(2)).retrieveLedgerRolloverProgressById(eq(PROGRESS_ID), eq(requestContext));
+        assertEquals(0, ledgerRolloverProgressStreamService.getPollerCount());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  private LedgerFiscalYearRolloverProgress buildProgress(String overallRolloverStatus) {
+    return new JsonObject()
+      .put("id", PROGRESS_ID)
+      .put("overallRolloverStatus", overallRolloverStatus)
+      .mapTo(LedgerFiscalYearRolloverProgress.class);
+  }
+
+  private String status(LedgerFiscalYearRolloverProgress progress) {
+    return JsonObject.mapFrom(progress).getString("overallRolloverStatus");
+  }
+}
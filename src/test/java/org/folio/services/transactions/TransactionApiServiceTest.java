@@ -1,8 +1,16 @@
 package org.folio.services.transactions;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.json.JsonObject;
+import org.folio.rest.exception.HttpException;
 import org.folio.rest.jaxrs.model.AwaitingPayment;
+import org.folio.rest.jaxrs.model.BatchIdCollection;
+import org.folio.rest.jaxrs.model.Encumbrance;
+import org.folio.rest.jaxrs.model.EncumbrancesStatusUpdate;
+import org.folio.rest.jaxrs.model.EncumbrancesStatusUpdateResult;
+import org.folio.rest.jaxrs.model.Fund;
+import org.folio.rest.jaxrs.model.FundsCollection;
 import org.folio.rest.jaxrs.model.Transaction;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
@@ -15,6 +23,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -24,13 +33,23 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
+import static org.folio.rest.jaxrs.model.Transaction.TransactionType.ENCUMBRANCE;
 import static org.folio.rest.jaxrs.model.Transaction.TransactionType.PENDING_PAYMENT;
+import static org.folio.rest.jaxrs.model.Transaction.TransactionType.TRANSFER;
+import static org.folio.rest.util.ErrorCodes.CONFLICT;
+import static org.folio.rest.util.ErrorCodes.ENCUMBRANCE_NOT_FOUND;
 import static org.folio.rest.util.ResourcePathResolver.BATCH_TRANSACTIONS_STORAGE;
+import static org.folio.rest.util.ResourcePathResolver.FUNDS_BATCH_STORAGE;
 import static org.folio.rest.util.ResourcePathResolver.resourcesPath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -97,4 +116,182 @@ public class TransactionApiServiceTest {
     Future<Void> result = transactionApiService.processBatch(batch, requestContext);
     assertTrue(result.succeeded());
   }
+
+  @Test
+  void testProcessBatchRunsValidationsConcurrently() {
+    String encumbranceId = UUID.randomUUID().toString();
+    Fund fromFund = new Fund().withId(UUID.randomUUID().toString());
+    Fund toFund = new Fund().withId(UUID.randomUUID().toString());
+    Transaction transfer = new Transaction()
+      .withId(UUID.randomUUID().toString())
+      .withTransactionType(TRANSFER)
+      .withFromFundId(fromFund.getId())
+      .withToFundId(toFund.getId());
+    Batch batch = new Batch()
+      .withIdsOfTransactionsToDelete(List.of(encumbranceId))
+      .withTransactionsToCreate(List.of(transfer));
+    Promise<TransactionCollection> pendingPaymentsPromise = Promise.promise();
+    Promise<FundsCollection> fundsPromise = Promise.promise();
+
+    when(restClient.get(anyString(), eq(TransactionCollection.class), eq(requestContext)))
+      .thenReturn(pendingPaymentsPromise.future());
+    when(restClient.postBatch(eq(resourcesPath(FUNDS_BATCH_STORAGE)), any(BatchIdCollection.class), eq(FundsCollection.class), eq(requestContext)))
+      .thenReturn(fundsPromise.future());
+    when(restClient.postEmptyResponse(eq(resourcesPath(BATCH_TRANSACTIONS_STORAGE)), any(Batch.class), eq(requestContext)))
+      .thenReturn(Future.succeededFuture());
+
+    Future<Void> result = transactionApiService.processBatch(batch, requestContext);
+
+    verify(restClient).get(anyString(), eq(TransactionCollection.class), eq(requestContext));
+    verify(restClient).postBatch(eq(resourcesPath(FUNDS_BATCH_STORAGE)), any(BatchIdCollection.class), eq(FundsCollection.class), eq(requestContext));
+    verify(restClient, never()).postEmptyResponse(anyString(), any(), any());
+
+    pendingPaymentsPromise.complete(new TransactionCollection());
+    fundsPromise.complete(new FundsCollection().withFunds(List.of(fromFund, toFund)));
+
+    assertTrue(result.succeeded());
+    verify(restClient).postEmptyResponse(eq(resourcesPath(BATCH_TRANSACTIONS_STORAGE)), eq(batch), eq(requestContext));
+  }
+
+  @Test
+  void testReleaseEncumbrancesSkipsReleasedAndReportsMissing() {
+    Transaction unreleased = buildEncumbrance(Encumbrance.Status.UNRELEASED);
+    Transaction released = buildEncumbrance(Encumbrance.Status.RELEASED);
+    String missingId = UUID.randomUUID().toString();
+    TransactionCollection encumbrances = new TransactionCollection()
+      .withTransactions(List.of(unreleased, released))
+      .withTotalRecords(2);
+    EncumbrancesStatusUpdate encumbrancesStatusUpdate = new EncumbrancesStatusUpdate()
+      .withIds(List.of(unreleased.getId(), released.getId(), missingId));
+
+    when(restClient.get(anyString(), eq(TransactionCollection.class), eq(requestContext)))
+      .thenReturn(Future.succeededFuture(encumbrances));
+    when(restClient.postEmptyResponse(eq(resourcesPath(BATCH_TRANSACTIONS_STORAGE)), any(Batch.class), eq(requestContext)))
+      .thenReturn(Future.succeededFuture());
+
+    Future<EncumbrancesStatusUpdateResult> future = transactionApiService.releaseEncumbrances(encumbrancesStatusUpdate, requestContext);
+
+    assertTrue(future.succeeded());
+    EncumbrancesStatusUpdateResult result = future.result();
+    assertEquals(3, result.getTotalRecords());
+    assertEquals(1, result.getUpdated());
+    assertEquals(1, result.getSkipped());
+    assertEquals(1, result.getFailed());
+    assertEquals(ENCUMBRANCE_NOT_FOUND.getCode(), result.getErrors().getErrors().get(0).getCode());
+    assertEquals(missingId, result.getErrors().getErrors().get(0).getParameters().get(0).getValue());
+
+    ArgumentCaptor<Batch> batchCaptor = ArgumentCaptor.forClass(Batch.class);
+    verify(restClient).postEmptyResponse(eq(resourcesPath(BATCH_TRANSACTIONS_STORAGE)), batchCaptor.capture(), eq(requestContext));
+    assertEquals(List.of(unreleased.getId()), batchCaptor.getValue().getTransactionsToUpdate().stream().map(Transaction::getId).toList());
+    assertEquals(Encumbrance.Status.RELEASED, batchCaptor.getValue().getTransactionsToUpdate().get(0).getEncumbrance().getStatus());
+  }
+
+  @Test
+  void testUnreleaseEncumbrancesReportsFailedBatchPerItem() {
+    transactionApiService = new TransactionApiService(new TransactionService(restClient, fiscalYearService),
+      new FundService(restClient, acqUnitsService), 1, 1);
+    Transaction first = buildEncumbrance(Encumbrance.Status.RELEASED);
+    Transaction second = buildEncumbrance(Encumbrance.Status.RELEASED);
+    EncumbrancesStatusUpdate encumbrancesStatusUpdate = new EncumbrancesStatusUpdate()
+      .withQuery("encumbrance.sourcePurchaseOrderId==" + UUID.randomUUID());
+
+    // with a batch size of 1 and no concurrency the encumbrances are read one page of 1 at a time
+    when(restClient.get(anyString(), eq(TransactionCollection.class), eq(requestContext)))
+      .thenReturn(Future.succeededFuture(new TransactionCollection().withTransactions(List.of(first)).withTotalRecords(1)))
+      .thenReturn(Future.succeededFuture(new TransactionCollection().withTransactions(List.of(second)).withTotalRecords(1)))
+      .thenReturn(Future.succeededFuture(new TransactionCollection().withTransactions(List.of()).withTotalRecords(0)));
+    when(restClient.postEmptyResponse(eq(resourcesPath(BATCH_TRANSACTIONS_STORAGE)), any(Batch.class), eq(requestContext)))
+      .thenReturn(Future.failedFuture(new HttpException(409, CONFLICT)))
+      .thenReturn(Future.succeededFuture());
+
+    Future<EncumbrancesStatusUpdateResult> future = transactionApiService.unreleaseEncumbrances(encumbrancesStatusUpdate, requestContext);
+
+    assertTrue(future.succeeded());
+    EncumbrancesStatusUpdateResult result = future.result();
+    assertEquals(2, result.getTotalRecords());
+    assertEquals(1, result.getUpdated());
+    assertEquals(0, result.getSkipped());
+    assertEquals(1, result.getFailed());
+    assertEquals(CONFLICT.getCode(), result.getErrors().getErrors().get(0).getCode());
+    assertEquals(first.getId(), result.getErrors().getErrors().get(0).getParameters().get(0).getValue());
+    verify(restClient, times(2)).postEmptyResponse(eq(resourcesPath(BATCH_TRANSACTIONS_STORAGE)), any(Batch.class), eq(requestContext));
+    verify(restClient, times(3)).get(anyString(), eq(TransactionCollection.class), eq(requestContext));
+    verify(restClient).get(contains(URLEncoder.encode("id > \"" + first.getId() + "\"", StandardCharsets.UTF_8)),
+      eq(TransactionCollection.class), eq(requestContext));
+  }
+
+  @Test
+  void testUnreleaseEncumbrancesRetriesRejectedBatchToReportOnlyFailedItems() {
+    transactionApiService = new TransactionApiService(new TransactionService(restClient, fiscalYearService),
+      new FundService(restClient, acqUnitsService), 3, 1);
+    Transaction first = buildEncumbrance(Encumbrance.Status.RELEASED);
+    Transaction second = buildEncumbrance(Encumbrance.Status.RELEASED);
+    Transaction third = buildEncumbrance(Encumbrance.Status.RELEASED);
+    EncumbrancesStatusUpdate encumbrancesStatusUpdate = new EncumbrancesStatusUpdate()
+      .withQuery("encumbrance.sourcePurchaseOrderId==" + UUID.randomUUID());
+
+    when(restClient.get(anyString(), eq(TransactionCollection.class), eq(requestContext)))
+      .thenReturn(Future.succeededFuture(new TransactionCollection().withTransactions(List.of(first, second, third)).withTotalRecords(3)))
+      .thenReturn(Future.succeededFuture(new TransactionCollection().withTransactions(List.of()).withTotalRecords(0)));
+    // any batch containing the second encumbrance is rejected
+    when(restClient.postEmptyResponse(eq(resourcesPath(BATCH_TRANSACTIONS_STORAGE)), any(Batch.class), eq(requestContext)))
+      .thenAnswer(invocation -> {
+        Batch batch = invocation.getArgument(1);
+        return batch.getTransactionsToUpdate().stream().anyMatch(transaction -> transaction.getId().equals(second.getId()))
+          ? Future.failedFuture(new HttpException(409, CONFLICT))
+          : Future.succeededFuture();
+      });
+
+    Future<EncumbrancesStatusUpdateResult> future = transactionApiService.unreleaseEncumbrances(encumbrancesStatusUpdate, requestContext);
+
+    assertTrue(future.succeeded());
+    EncumbrancesStatusUpdateResult result = future.result();
+    assertEquals(3, result.getTotalRecords());
+    assertEquals(2, result.getUpdated());
+    assertEquals(1, result.getFailed());
+    assertEquals(1, result.getErrors().getErrors().size());
+    assertEquals(CONFLICT.getCode(), result.getErrors().getErrors().get(0).getCode());
+    assertEquals(second.getId(), result.getErrors().getErrors().get(0).getParameters().get(0).getValue());
+    // [first, second, third] -> [first], [second, third] -> [second], [third]
+    verify(restClient, times(5)).postEmptyResponse(eq(resourcesPath(BATCH_TRANSACTIONS_STORAGE)), any(Batch.class), eq(requestContext));
+  }
+
+  @Test
+  void testUnreleaseEncumbrancesReportsWholeBatchOnServerError() {
+    transactionApiService = new TransactionApiService(new TransactionService(restClient, fiscalYearService),
+      new FundService(restClient, acqUnitsService), 2, 1);
+    Transaction first = buildEncumbrance(Encumbrance.Status.RELEASED);
+    Transaction second = buildEncumbrance(Encumbrance.Status.RELEASED);
+    EncumbrancesStatusUpdate encumbrancesStatusUpdate = new EncumbrancesStatusUpdate()
+      .withQuery("encumbrance.sourcePurchaseOrderId==" + UUID.randomUUID());
+
+    when(restClient.get(anyString(), eq(TransactionCollection.class), eq(requestContext)))
+      .thenReturn(Future.succeededFuture(new TransactionCollection().withTransactions(List.of(first, second)).withTotalRecords(2)))
+      .thenReturn(Future.succeededFuture(new TransactionCollection().withTransactions(List.of()).withTotalRecords(0)));
+    when(restClient.postEmptyResponse(eq(resourcesPath(BATCH_TRANSACTIONS_STORAGE)), any(Batch.class), eq(requestContext)))
+      .thenReturn(Future.failedFuture(new HttpException(500, "Internal server error")));
+
+    Future<EncumbrancesStatusUpdateResult> future = transactionApiService.unreleaseEncumbrances(encumbrancesStatusUpdate, requestContext);
+
+    assertTrue(future.succeeded());
+    assertEquals(0, future.result().getUpdated());
+    assertEquals(2, future.result().getFailed());
+    verify(restClient, times(1)).postEmptyResponse(eq(resourcesPath(BATCH_TRANSACTIONS_STORAGE)), any(Batch.class), eq(requestContext));
+  }
+
+  @Test
+  void testReleaseEncumbrancesFailsWithoutIdsAndQuery() {
+    Future<EncumbrancesStatusUpdateResult> future = transactionApiService.releaseEncumbrances(new EncumbrancesStatusUpdate(), requestContext);
+
+    assertTrue(future.failed());
+    assertEquals(400, ((HttpException) future.cause()).getCode());
+    verify(restClient, never()).get(anyString(), any(), any());
+  }
+
+  private Transaction buildEncumbrance(Encumbrance.Status status) {
+    return new Transaction()
+      .withId(UUID.randomUUID().toString())
+      .withTransactionType(ENCUMBRANCE)
+      .withEncumbrance(new Encumbrance().withStatus(status));
+  }
 }